@@ -0,0 +1,29 @@
+package com.focusflow.backend.config;
+
+import com.focusflow.backend.id.IdGenerator;
+import com.focusflow.backend.id.UuidV7Generator;
+import java.time.Clock;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Responsibility: Selects the primary key generation strategy. Architecture: Configuration layer
+ * supplying the IdGenerator bean to services. Why: Keeps the id layout a deployment choice,
+ * defaulting to time-ordered UUIDv7.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+  @Bean
+  public IdGenerator idGenerator(@Value("${app.ids.version:7}") int version, Clock clock) {
+    if (version == 4) {
+      return UUID::randomUUID;
+    }
+    if (version != 7) {
+      throw new IllegalStateException("app.ids.version must be 4 or 7, got " + version);
+    }
+    return new UuidV7Generator(clock);
+  }
+}
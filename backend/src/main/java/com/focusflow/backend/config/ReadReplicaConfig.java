@@ -0,0 +1,81 @@
+package com.focusflow.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+/**
+ * Responsibility: Wires read-replica routing when replicas are configured. Architecture:
+ * Configuration layer replacing the auto-configured datasource with a lazy proxy that sends
+ * read-only transactions to replicas. Why: Pulls and listings dominate DB traffic and do not need
+ * the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReadYourWritesTracker readYourWritesTracker(
+      Clock clock,
+      @Value("${app.datasource.replica.read-your-writes-millis:5000}") long windowMillis,
+      @Value("${app.datasource.replica.max-pinned-users:50000}") int maxPinnedUsers) {
+    return new ReadYourWritesTracker(clock, Duration.ofMillis(windowMillis), maxPinnedUsers);
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      HikariDataSource primaryDataSource,
+      ReadYourWritesTracker readYourWritesTracker,
+      DataSourceProperties properties,
+      @Value("${app.datasource.replica.urls}") List<String> urls,
+      @Value("${app.datasource.replica.username:}") String username,
+      @Value("${app.datasource.replica.password:}") String password,
+      @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+    List<HikariDataSource> replicas = new ArrayList<>();
+    for (String url : urls) {
+      if (!StringUtils.hasText(url)) {
+        continue;
+      }
+      HikariDataSource replica = new HikariDataSource();
+      replica.setPoolName("replica-" + (replicas.size() + 1));
+      replica.setJdbcUrl(url.trim());
+      replica.setUsername(StringUtils.hasText(username) ? username : properties.getUsername());
+      replica.setPassword(StringUtils.hasText(password) ? password : properties.getPassword());
+      replica.setMaximumPoolSize(maximumPoolSize);
+      replica.setReadOnly(true);
+      replicas.add(replica);
+    }
+    return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker);
+  }
+
+  /**
+   * The proxy defers fetching a physical connection until the first statement, by which point the
+   * transaction's read-only flag is known and picks the replica side.
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+    proxy.setReadOnlyDataSource(replicaRoutingDataSource);
+    return proxy;
+  }
+}
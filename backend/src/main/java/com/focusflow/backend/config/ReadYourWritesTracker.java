@@ -0,0 +1,82 @@
+package com.focusflow.backend.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Responsibility: Remembers which users committed a write recently. Architecture: Transaction
+ * listener feeding the replica routing datasource. Why: A user must read their own writes, so reads
+ * stay on the primary until replicas have had time to catch up. Pins live in this node's memory
+ * only: a load balancer that sends the user's next read to another node routes it to a replica,
+ * which may still lag, so the guarantee needs session affinity.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+  private final Clock clock;
+  private final Duration window;
+  private final int maxEntries;
+  private final Map<String, Instant> pinnedUntil = new ConcurrentHashMap<>();
+
+  public ReadYourWritesTracker(Clock clock, Duration window, int maxEntries) {
+    this.clock = clock;
+    this.window = window;
+    this.maxEntries = maxEntries;
+  }
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+    if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+      String user = currentUser();
+      if (user != null) {
+        pin(user);
+      }
+    }
+  }
+
+  /** True when the current request's user wrote within the window. */
+  public boolean isCurrentUserPinned() {
+    String user = currentUser();
+    if (user == null) {
+      return false;
+    }
+    Instant until = pinnedUntil.get(user);
+    if (until == null) {
+      return false;
+    }
+    if (!until.isAfter(Instant.now(clock))) {
+      pinnedUntil.remove(user, until);
+      return false;
+    }
+    return true;
+  }
+
+  void pin(String user) {
+    Instant now = Instant.now(clock);
+    if (pinnedUntil.size() >= maxEntries) {
+      pinnedUntil.values().removeIf(until -> !until.isAfter(now));
+      if (pinnedUntil.size() >= maxEntries) {
+        // Dropping pins only risks a stale read, never a wrong write.
+        pinnedUntil.clear();
+      }
+    }
+    pinnedUntil.put(user, now.plus(window));
+  }
+
+  private String currentUser() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken) {
+      return null;
+    }
+    return authentication.getName();
+  }
+}
@@ -0,0 +1,59 @@
+package com.focusflow.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Responsibility: Picks the datasource for read-only connections. Architecture: Routing datasource
+ * used as the read-only target of the lazy connection proxy. Why: Spreads reads round-robin across
+ * replicas while keeping recent writers on the primary. Targets are set and resolved in {@code
+ * afterPropertiesSet()}, which the container calls on the bean.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  private static final String PRIMARY = "primary";
+
+  private final DataSource primary;
+  private final List<HikariDataSource> replicas;
+  private final ReadYourWritesTracker tracker;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(
+      DataSource primary, List<HikariDataSource> replicas, ReadYourWritesTracker tracker) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+    this.tracker = tracker;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (int i = 0; i < replicas.size(); i++) {
+      targets.put(i, replicas.get(i));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    setLenientFallback(false);
+    super.afterPropertiesSet();
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (replicas.isEmpty() || tracker.isCurrentUserPinned()) {
+      return PRIMARY;
+    }
+    return Math.floorMod(next.getAndIncrement(), replicas.size());
+  }
+
+  @Override
+  public void destroy() {
+    replicas.forEach(HikariDataSource::close);
+  }
+}
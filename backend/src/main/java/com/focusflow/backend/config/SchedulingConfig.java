@@ -0,0 +1,13 @@
+package com.focusflow.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Responsibility: Enables Spring's scheduled task support. Architecture: Configuration layer for
+ * background jobs such as telemetry flushing and retention. Why: Keeps periodic maintenance off
+ * request threads.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
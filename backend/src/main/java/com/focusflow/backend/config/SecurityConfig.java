@@ -1,9 +1,12 @@
 package com.focusflow.backend.config;
 
 import com.focusflow.backend.security.JwtAuthenticationFilter;
+import com.focusflow.backend.security.RateLimitFilter;
 import com.focusflow.backend.security.RestAccessDeniedHandler;
 import com.focusflow.backend.security.RestAuthenticationEntryPoint;
 import com.focusflow.backend.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,19 +30,25 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
+  private final RateLimitFilter rateLimitFilter;
   private final UserDetailsServiceImpl userDetailsService;
   private final RestAuthenticationEntryPoint authenticationEntryPoint;
   private final RestAccessDeniedHandler accessDeniedHandler;
+  private final int bcryptStrength;
 
   public SecurityConfig(
       JwtAuthenticationFilter jwtAuthenticationFilter,
+      RateLimitFilter rateLimitFilter,
       UserDetailsServiceImpl userDetailsService,
       RestAuthenticationEntryPoint authenticationEntryPoint,
-      RestAccessDeniedHandler accessDeniedHandler) {
+      RestAccessDeniedHandler accessDeniedHandler,
+      @Value("${app.security.bcrypt.strength:10}") int bcryptStrength) {
     this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+    this.rateLimitFilter = rateLimitFilter;
     this.userDetailsService = userDetailsService;
     this.authenticationEntryPoint = authenticationEntryPoint;
     this.accessDeniedHandler = accessDeniedHandler;
+    this.bcryptStrength = bcryptStrength;
   }
 
   @Bean
@@ -54,9 +63,14 @@ public class SecurityConfig {
                     .accessDeniedHandler(accessDeniedHandler))
         .authorizeHttpRequests(
             auth ->
-                auth.requestMatchers(
+                // Async dispatches resume a request that was authorized on its first dispatch;
+                // the stateless JWT context is not carried over to them.
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .requestMatchers(
                         "/api/v1/auth/register",
                         "/api/v1/auth/login",
+                        "/api/v1/auth/refresh",
                         "/api/v1/health",
                         "/swagger-ui/**",
                         "/v3/api-docs/**")
@@ -64,7 +78,8 @@ public class SecurityConfig {
                     .anyRequest()
                     .authenticated())
         .authenticationProvider(authenticationProvider())
-        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
     return http.build();
   }
@@ -79,7 +94,8 @@ public class SecurityConfig {
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    // Stored hashes below this cost are re-hashed on the next successful login.
+    return new BCryptPasswordEncoder(bcryptStrength);
   }
 
   @Bean
@@ -0,0 +1,52 @@
+package com.focusflow.backend.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Responsibility: Holds the shard the current thread's database work goes to. Architecture:
+ * Thread-bound context read by the shard routing datasource and set by the request interceptor or
+ * by background jobs. Why: Lets repositories stay shard-agnostic while every connection still lands
+ * on the right database.
+ */
+public final class ShardContext {
+
+  private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+  private ShardContext() {}
+
+  /** The current shard, or null for the directory database. */
+  public static Integer current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Runs {@code work} against {@code shard} (null for the directory) and restores the previous
+   * shard afterwards. Has no effect on a transaction that already holds a connection.
+   */
+  public static <T> T call(Integer shard, Supplier<T> work) {
+    Integer previous = CURRENT.get();
+    set(shard);
+    try {
+      return work.get();
+    } finally {
+      set(previous);
+    }
+  }
+
+  public static void run(Integer shard, Runnable work) {
+    call(
+        shard,
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+
+  static void set(Integer shard) {
+    if (shard == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(shard);
+    }
+  }
+}
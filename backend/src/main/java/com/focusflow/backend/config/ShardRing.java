@@ -0,0 +1,60 @@
+package com.focusflow.backend.config;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Responsibility: Maps user ids to shards on a consistent-hash ring. Architecture: Immutable value
+ * shared by the shard resolver and the rebalancer. Why: Adding a shard moves only the users that
+ * land on its new ring points instead of reshuffling everyone, as modulo hashing would.
+ */
+public final class ShardRing {
+
+  private final long[] points;
+  private final int[] owners;
+
+  public ShardRing(int shardCount, int virtualNodes) {
+    if (shardCount < 1 || virtualNodes < 1) {
+      throw new IllegalArgumentException("A ring needs at least one shard and one virtual node");
+    }
+    // A point depends only on (shard, virtual node), so existing shards keep their points when
+    // the ring grows.
+    TreeMap<Long, Integer> ring = new TreeMap<>();
+    for (int shard = 0; shard < shardCount; shard++) {
+      for (int node = 0; node < virtualNodes; node++) {
+        ring.putIfAbsent(mix(((long) shard << 32) | node), shard);
+      }
+    }
+    points = new long[ring.size()];
+    owners = new int[ring.size()];
+    int i = 0;
+    for (Map.Entry<Long, Integer> point : ring.entrySet()) {
+      points[i] = point.getKey();
+      owners[i] = point.getValue();
+      i++;
+    }
+  }
+
+  /** The shard owning the first ring point at or after the user's hash, wrapping around. */
+  public int shardFor(UUID userId) {
+    long hash = mix(userId.getMostSignificantBits() ^ mix(userId.getLeastSignificantBits()));
+    int index = Arrays.binarySearch(points, hash);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return owners[index == points.length ? 0 : index];
+  }
+
+  // MurmurHash3's 64-bit finalizer: cheap, and spreads UUIDv7's time-ordered bits evenly.
+  private static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,57 @@
+package com.focusflow.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Responsibility: Picks the database for each new connection from the shard context. Architecture:
+ * Primary datasource when sharding is enabled; shard 0 and the no-shard default are the directory
+ * database. Why: JPA and JDBC repositories reach the current user's shard without knowing that
+ * shards exist. Targets are set and resolved in {@code afterPropertiesSet()}, which the container
+ * calls on the bean.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  private final DataSource directory;
+  private final List<HikariDataSource> shards;
+
+  /** {@code shards} are shards 1..n; shard 0 is {@code directory}. */
+  public ShardRoutingDataSource(DataSource directory, List<HikariDataSource> shards) {
+    this.directory = directory;
+    this.shards = List.copyOf(shards);
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(0, directory);
+    for (int i = 0; i < shards.size(); i++) {
+      targets.put(i + 1, shards.get(i));
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(directory);
+    // An unknown shard must fail rather than silently fall back to the directory.
+    setLenientFallback(false);
+    super.afterPropertiesSet();
+  }
+
+  /** Shards 1..n, for work that has to run on every database, such as migrations. */
+  public List<HikariDataSource> shards() {
+    return shards;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return ShardContext.current();
+  }
+
+  @Override
+  public void destroy() {
+    shards.forEach(HikariDataSource::close);
+  }
+}
@@ -0,0 +1,48 @@
+package com.focusflow.backend.config;
+
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.service.UserShardResolver;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Responsibility: Routes user-data requests to the authenticated user's shard. Architecture: MVC
+ * interceptor setting the shard context around {@link UserSharded} handlers. Why: The user is only
+ * known after authentication, and the context must be set before the handler opens a transaction.
+ */
+public class ShardRoutingInterceptor implements HandlerInterceptor {
+
+  private final UserShardResolver resolver;
+
+  public ShardRoutingInterceptor(UserShardResolver resolver) {
+    this.resolver = resolver;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!(handler instanceof HandlerMethod method) || !isSharded(method)) {
+      return true;
+    }
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null && authentication.getPrincipal() instanceof User user) {
+      ShardContext.set(resolver.shardFor(user.getId()));
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    ShardContext.set(null);
+  }
+
+  private static boolean isSharded(HandlerMethod method) {
+    return method.hasMethodAnnotation(UserSharded.class)
+        || method.getBeanType().isAnnotationPresent(UserSharded.class);
+  }
+}
@@ -0,0 +1,103 @@
+package com.focusflow.backend.config;
+
+import com.focusflow.backend.service.UserShardResolver;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Responsibility: Wires per-user sharding across several Postgres databases when shards are
+ * configured. Architecture: Configuration layer replacing the auto-configured datasource with a
+ * shard routing datasource, migrating every shard and routing user-data requests. Why: Spreads user
+ * data and write load over databases while users, tokens and placements stay in one directory.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.shards.enabled", havingValue = "true")
+public class ShardingConfig implements WebMvcConfigurer {
+
+  private final ObjectProvider<UserShardResolver> userShardResolver;
+
+  /**
+   * The resolver is looked up lazily: it reads placements through the datasource this class
+   * defines.
+   */
+  public ShardingConfig(
+      ObjectProvider<UserShardResolver> userShardResolver,
+      @Value("${app.datasource.replica.enabled:false}") boolean replicasEnabled) {
+    if (replicasEnabled) {
+      // Both features replace the primary datasource; combining them needs replicas per shard.
+      throw new IllegalStateException(
+          "app.datasource.shards and app.datasource.replica cannot be enabled together");
+    }
+    this.userShardResolver = userShardResolver;
+  }
+
+  /** The directory database, which also serves as shard 0. */
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource directoryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  @Primary
+  public ShardRoutingDataSource dataSource(
+      HikariDataSource directoryDataSource,
+      DataSourceProperties properties,
+      @Value("${app.datasource.shards.urls}") List<String> urls,
+      @Value("${app.datasource.shards.username:}") String username,
+      @Value("${app.datasource.shards.password:}") String password,
+      @Value("${app.datasource.shards.maximum-pool-size:10}") int maximumPoolSize) {
+    List<HikariDataSource> shards = new ArrayList<>();
+    for (String url : urls) {
+      if (!StringUtils.hasText(url)) {
+        continue;
+      }
+      HikariDataSource shard = new HikariDataSource();
+      shard.setPoolName("shard-" + (shards.size() + 1));
+      shard.setJdbcUrl(url.trim());
+      shard.setUsername(StringUtils.hasText(username) ? username : properties.getUsername());
+      shard.setPassword(StringUtils.hasText(password) ? password : properties.getPassword());
+      shard.setMaximumPoolSize(maximumPoolSize);
+      shards.add(shard);
+    }
+    return new ShardRoutingDataSource(directoryDataSource, shards);
+  }
+
+  /**
+   * Migrates the directory first, then every shard with the same configuration, so all databases
+   * share one schema and hibernate validation holds wherever a request is routed.
+   */
+  @Bean
+  public FlywayMigrationStrategy shardedFlywayMigrationStrategy(ShardRoutingDataSource dataSource) {
+    return flyway -> {
+      flyway.migrate();
+      for (DataSource shard : dataSource.shards()) {
+        Flyway.configure()
+            .configuration(flyway.getConfiguration())
+            .dataSource(shard)
+            .load()
+            .migrate();
+      }
+    };
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new ShardRoutingInterceptor(userShardResolver.getObject()));
+  }
+}
@@ -0,0 +1,15 @@
+package com.focusflow.backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Responsibility: Marks handlers whose database work belongs on the caller's shard. Architecture:
+ * Annotation read by the shard routing interceptor on controller classes or methods. Why: Auth,
+ * account and admin endpoints touch the global directory tables and must not be routed.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UserSharded {}
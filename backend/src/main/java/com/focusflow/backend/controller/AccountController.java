@@ -0,0 +1,128 @@
+package com.focusflow.backend.controller;
+
+import com.focusflow.backend.dto.AccountDeletionResponse;
+import com.focusflow.backend.dto.ExportFormat;
+import com.focusflow.backend.dto.HistoryImportResponse;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.service.AccountDeletionService;
+import com.focusflow.backend.service.HistoryImportService;
+import com.focusflow.backend.service.UserExportService;
+import com.focusflow.backend.service.UserExportService.UserExport;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.Callable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Responsibility: Exposes account lifecycle endpoints. Architecture: API layer controller
+ * delegating to the account deletion, export and import services. Why: Lets users bring their
+ * history in, take their data with them, and delete their account without waiting for every row to
+ * be removed.
+ */
+@RestController
+@RequestMapping("/api/v1/account")
+@Tag(name = "Account")
+public class AccountController {
+
+  private final AccountDeletionService accountDeletionService;
+  private final UserExportService userExportService;
+  private final HistoryImportService historyImportService;
+
+  public AccountController(
+      AccountDeletionService accountDeletionService,
+      UserExportService userExportService,
+      HistoryImportService historyImportService) {
+    this.accountDeletionService = accountDeletionService;
+    this.userExportService = userExportService;
+    this.historyImportService = historyImportService;
+  }
+
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export account data",
+      description =
+          "Streams a ZIP with one file per entity type holding every live row of the account.")
+  @ApiResponse(responseCode = "200", description = "Export streamed")
+  @ApiResponse(responseCode = "503", description = "Too many exports running; honor Retry-After")
+  public ResponseEntity<StreamingResponseBody> export(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "File format inside the ZIP") @RequestParam(defaultValue = "CSV")
+          ExportFormat format,
+      HttpServletRequest request) {
+    UserExport export = userExportService.open(user, format);
+    // The streaming task may never run if the request times out or fails first; completion fires
+    // either way and frees the export slot unless writing already started.
+    WebAsyncUtils.getAsyncManager(request)
+        .registerCallableInterceptor(
+            export,
+            new CallableProcessingInterceptor() {
+              @Override
+              public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                export.abandon();
+              }
+            });
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/zip"))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename("focusflow-export-" + format.extension() + ".zip")
+                .build()
+                .toString())
+        .body(export::writeTo);
+  }
+
+  @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+  @Operation(
+      summary = "Import history",
+      description =
+          "Loads routines and check-ins from CSV files in one transaction. Days the account"
+              + " already has are skipped; any invalid row rejects the whole import.")
+  @ApiResponse(responseCode = "200", description = "History imported")
+  @ApiResponse(responseCode = "400", description = "Invalid file; the message names the line")
+  @ApiResponse(responseCode = "409", description = "A routine id belongs to another account")
+  @ApiResponse(responseCode = "503", description = "Too many imports running; honor Retry-After")
+  public HistoryImportResponse importHistory(
+      @AuthenticationPrincipal User user,
+      @Parameter(
+              description = "CSV with id, title, schedule_days and optional color_tag, is_active")
+          @RequestPart(required = false)
+          MultipartFile routines,
+      @Parameter(description = "CSV with routine_id, date, completed and optional completed_at")
+          @RequestPart(required = false)
+          MultipartFile checkIns) {
+    return historyImportService.importHistory(user, routines, checkIns);
+  }
+
+  @DeleteMapping
+  @Operation(
+      summary = "Delete account",
+      description =
+          "Disables the account and ends every session immediately; data is purged in the"
+              + " background.")
+  @ApiResponse(responseCode = "202", description = "Account disabled and queued for deletion")
+  public ResponseEntity<AccountDeletionResponse> delete(@AuthenticationPrincipal User user) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(accountDeletionService.requestDeletion(user));
+  }
+}
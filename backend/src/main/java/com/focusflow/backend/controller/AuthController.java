@@ -2,6 +2,8 @@ package com.focusflow.backend.controller;
 
 import com.focusflow.backend.dto.AuthResponse;
 import com.focusflow.backend.dto.LoginRequest;
+import com.focusflow.backend.dto.LogoutRequest;
+import com.focusflow.backend.dto.RefreshTokenRequest;
 import com.focusflow.backend.dto.RegisterRequest;
 import com.focusflow.backend.dto.UserResponse;
 import com.focusflow.backend.entity.User;
@@ -10,10 +12,13 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -34,7 +39,9 @@ public class AuthController {
   }
 
   @PostMapping("/register")
-  @Operation(summary = "Register", description = "Registers a user and returns a JWT.")
+  @Operation(
+      summary = "Register",
+      description = "Registers a user and returns a JWT and refresh token.")
   @ApiResponse(responseCode = "200", description = "User registered")
   @ApiResponse(responseCode = "409", description = "Email already registered")
   public AuthResponse register(@Valid @RequestBody RegisterRequest request) {
@@ -42,13 +49,47 @@ public class AuthController {
   }
 
   @PostMapping("/login")
-  @Operation(summary = "Login", description = "Authenticates a user and returns a JWT.")
+  @Operation(
+      summary = "Login",
+      description = "Authenticates a user and returns a JWT and refresh token.")
   @ApiResponse(responseCode = "200", description = "User authenticated")
   @ApiResponse(responseCode = "401", description = "Invalid credentials")
   public AuthResponse login(@Valid @RequestBody LoginRequest request) {
     return authService.login(request);
   }
 
+  @PostMapping("/refresh")
+  @Operation(
+      summary = "Refresh",
+      description = "Exchanges a refresh token for a new JWT and a rotated refresh token.")
+  @ApiResponse(responseCode = "200", description = "Session renewed")
+  @ApiResponse(responseCode = "401", description = "Invalid, expired, or reused refresh token")
+  public AuthResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+    return authService.refresh(request);
+  }
+
+  @PostMapping("/logout")
+  @Operation(
+      summary = "Logout",
+      description = "Revokes the current JWT and, when provided, the refresh token.")
+  @ApiResponse(responseCode = "204", description = "Session ended")
+  public ResponseEntity<Void> logout(
+      @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+      @RequestBody(required = false) LogoutRequest request) {
+    authService.logout(authorization.substring("Bearer ".length()), request);
+    return ResponseEntity.noContent().build();
+  }
+
+  @PostMapping("/logout-all")
+  @Operation(
+      summary = "Logout everywhere",
+      description = "Invalidates every JWT and refresh token issued to the user.")
+  @ApiResponse(responseCode = "204", description = "All sessions ended")
+  public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal User user) {
+    authService.logoutAll(user);
+    return ResponseEntity.noContent().build();
+  }
+
   @GetMapping("/me")
   @Operation(summary = "Get current user", description = "Returns the authenticated user profile.")
   @ApiResponse(responseCode = "200", description = "User profile returned")
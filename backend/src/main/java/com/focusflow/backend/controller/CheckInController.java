@@ -1,9 +1,14 @@
 package com.focusflow.backend.controller;
 
+import com.focusflow.backend.config.UserSharded;
+import com.focusflow.backend.dto.CheckInMonthResponse;
 import com.focusflow.backend.dto.CheckInRequest;
 import com.focusflow.backend.dto.CheckInResponse;
+import com.focusflow.backend.dto.CursorPage;
+import com.focusflow.backend.entity.CheckIn;
 import com.focusflow.backend.entity.User;
 import com.focusflow.backend.mapper.CheckInMapper;
+import com.focusflow.backend.service.CheckInArchiveService;
 import com.focusflow.backend.service.CheckInService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,10 +16,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -34,16 +40,22 @@ import org.springframework.web.bind.annotation.RestController;
  * services.
  */
 @RestController
+@UserSharded
 @RequestMapping("/api/v1/checkins")
 @Tag(name = "Check-ins")
 public class CheckInController {
 
   private final CheckInService checkInService;
   private final CheckInMapper checkInMapper;
+  private final CheckInArchiveService checkInArchiveService;
 
-  public CheckInController(CheckInService checkInService, CheckInMapper checkInMapper) {
+  public CheckInController(
+      CheckInService checkInService,
+      CheckInMapper checkInMapper,
+      CheckInArchiveService checkInArchiveService) {
     this.checkInService = checkInService;
     this.checkInMapper = checkInMapper;
+    this.checkInArchiveService = checkInArchiveService;
   }
 
   @GetMapping
@@ -51,7 +63,7 @@ public class CheckInController {
       summary = "List check-ins",
       description = "Lists check-ins with optional routine and date filters.")
   @ApiResponse(responseCode = "200", description = "Check-ins returned")
-  public Page<CheckInResponse> list(
+  public Slice<CheckInResponse> list(
       @AuthenticationPrincipal User user,
       @Parameter(description = "Filter by routine ID") @RequestParam(required = false)
           UUID routineId,
@@ -63,12 +75,65 @@ public class CheckInController {
           @RequestParam(required = false)
           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
           LocalDate endDate,
+      @Parameter(description = "Include total counts; false returns a slice without a count query")
+          @RequestParam(defaultValue = "true")
+          boolean count,
       @ParameterObject Pageable pageable) {
+    Slice<CheckIn> checkIns =
+        count
+            ? checkInService.listCheckIns(user, routineId, startDate, endDate, pageable)
+            : checkInService.sliceCheckIns(user, routineId, startDate, endDate, pageable);
+    return checkIns.map(checkInMapper::toResponse);
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll check-ins",
+      description = "Lists check-ins newest date first using a keyset cursor instead of offsets.")
+  @ApiResponse(responseCode = "200", description = "Check-ins returned")
+  public CursorPage<CheckInResponse> scroll(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Filter by routine ID") @RequestParam(required = false)
+          UUID routineId,
+      @Parameter(description = "Filter start date (inclusive)")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate startDate,
+      @Parameter(description = "Filter end date (inclusive)")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate endDate,
+      @Parameter(description = "Cursor from the previous page; omit for the first page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size (max 200)") @RequestParam(required = false)
+          Integer size) {
     return checkInService
-        .listCheckIns(user, routineId, startDate, endDate, pageable)
+        .scrollCheckIns(user, routineId, startDate, endDate, cursor, size)
         .map(checkInMapper::toResponse);
   }
 
+  @GetMapping("/history")
+  @Operation(
+      summary = "Monthly check-in history",
+      description =
+          "Returns per-routine day bitmaps for each month, covering archived and live check-ins.")
+  @ApiResponse(responseCode = "200", description = "History returned")
+  public List<CheckInMonthResponse> history(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Filter by routine ID") @RequestParam(required = false)
+          UUID routineId,
+      @Parameter(description = "Any date in the first month; defaults to eleven months before to")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate from,
+      @Parameter(description = "Any date in the last month; defaults to the current month")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate to) {
+    return checkInArchiveService.monthlyHistory(user, routineId, from, to);
+  }
+
   @PostMapping
   @Operation(summary = "Create check-in", description = "Creates a check-in for a routine.")
   @ApiResponse(responseCode = "200", description = "Check-in created")
@@ -1,7 +1,10 @@
 package com.focusflow.backend.controller;
 
+import com.focusflow.backend.config.UserSharded;
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.GoalRequest;
 import com.focusflow.backend.dto.GoalResponse;
+import com.focusflow.backend.entity.Goal;
 import com.focusflow.backend.entity.GoalStatus;
 import com.focusflow.backend.entity.User;
 import com.focusflow.backend.mapper.GoalMapper;
@@ -13,8 +16,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.UUID;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -32,6 +35,7 @@ import org.springframework.web.bind.annotation.RestController;
  * services and mappers. Why: Keeps HTTP concerns separate from goal business logic.
  */
 @RestController
+@UserSharded
 @RequestMapping("/api/v1/goals")
 @Tag(name = "Goals")
 public class GoalController {
@@ -47,12 +51,36 @@ public class GoalController {
   @GetMapping
   @Operation(summary = "List goals", description = "Lists goals for the authenticated user.")
   @ApiResponse(responseCode = "200", description = "Goals returned")
-  public Page<GoalResponse> list(
+  public Slice<GoalResponse> list(
       @AuthenticationPrincipal User user,
       @Parameter(description = "Filter by status") @RequestParam(required = false)
           GoalStatus status,
+      @Parameter(description = "Include total counts; false returns a slice without a count query")
+          @RequestParam(defaultValue = "true")
+          boolean count,
       @ParameterObject Pageable pageable) {
-    return goalService.listGoals(user, status, pageable).map(goalMapper::toResponse);
+    Slice<Goal> goals =
+        count
+            ? goalService.listGoals(user, status, pageable)
+            : goalService.sliceGoals(user, status, pageable);
+    return goals.map(goalMapper::toResponse);
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll goals",
+      description = "Lists goals newest first using a keyset cursor instead of page offsets.")
+  @ApiResponse(responseCode = "200", description = "Goals returned")
+  public CursorPage<GoalResponse> scroll(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Filter by status") @RequestParam(required = false)
+          GoalStatus status,
+      @Parameter(description = "Cursor from the previous page; omit for the first page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size (max 200)") @RequestParam(required = false)
+          Integer size) {
+    return goalService.scrollGoals(user, status, cursor, size).map(goalMapper::toResponse);
   }
 
   @PostMapping
@@ -1,7 +1,10 @@
 package com.focusflow.backend.controller;
 
+import com.focusflow.backend.config.UserSharded;
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.JobApplicationRequest;
 import com.focusflow.backend.dto.JobApplicationResponse;
+import com.focusflow.backend.entity.JobApplication;
 import com.focusflow.backend.entity.JobApplicationSource;
 import com.focusflow.backend.entity.JobApplicationStatus;
 import com.focusflow.backend.entity.User;
@@ -14,8 +17,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.UUID;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -34,6 +37,7 @@ import org.springframework.web.bind.annotation.RestController;
  * enforced in services.
  */
 @RestController
+@UserSharded
 @RequestMapping("/api/v1/applications")
 @Tag(name = "Job Applications")
 public class JobApplicationController {
@@ -52,15 +56,41 @@ public class JobApplicationController {
       summary = "List job applications",
       description = "Lists job applications with optional filtering.")
   @ApiResponse(responseCode = "200", description = "Job applications returned")
-  public Page<JobApplicationResponse> list(
+  public Slice<JobApplicationResponse> list(
       @AuthenticationPrincipal User user,
       @Parameter(description = "Filter by status") @RequestParam(required = false)
           JobApplicationStatus status,
       @Parameter(description = "Filter by source") @RequestParam(required = false)
           JobApplicationSource source,
+      @Parameter(description = "Include total counts; false returns a slice without a count query")
+          @RequestParam(defaultValue = "true")
+          boolean count,
       @ParameterObject Pageable pageable) {
+    Slice<JobApplication> applications =
+        count
+            ? jobApplicationService.listApplications(user, status, source, pageable)
+            : jobApplicationService.sliceApplications(user, status, source, pageable);
+    return applications.map(jobApplicationMapper::toResponse);
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll job applications",
+      description = "Lists job applications newest first using a keyset cursor.")
+  @ApiResponse(responseCode = "200", description = "Job applications returned")
+  public CursorPage<JobApplicationResponse> scroll(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Filter by status") @RequestParam(required = false)
+          JobApplicationStatus status,
+      @Parameter(description = "Filter by source") @RequestParam(required = false)
+          JobApplicationSource source,
+      @Parameter(description = "Cursor from the previous page; omit for the first page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size (max 200)") @RequestParam(required = false)
+          Integer size) {
     return jobApplicationService
-        .listApplications(user, status, source, pageable)
+        .scrollApplications(user, status, source, cursor, size)
         .map(jobApplicationMapper::toResponse);
   }
 
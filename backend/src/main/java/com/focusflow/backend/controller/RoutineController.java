@@ -1,7 +1,10 @@
 package com.focusflow.backend.controller;
 
+import com.focusflow.backend.config.UserSharded;
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.RoutineRequest;
 import com.focusflow.backend.dto.RoutineResponse;
+import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
 import com.focusflow.backend.mapper.RoutineMapper;
 import com.focusflow.backend.service.RoutineService;
@@ -12,8 +15,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.UUID;
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -32,6 +35,7 @@ import org.springframework.web.bind.annotation.RestController;
  * logic.
  */
 @RestController
+@UserSharded
 @RequestMapping("/api/v1/routines")
 @Tag(name = "Routines")
 public class RoutineController {
@@ -49,12 +53,36 @@ public class RoutineController {
       summary = "List routines",
       description = "Lists routines for the authenticated user with optional filtering.")
   @ApiResponse(responseCode = "200", description = "Routines returned")
-  public Page<RoutineResponse> list(
+  public Slice<RoutineResponse> list(
       @AuthenticationPrincipal User user,
       @Parameter(description = "Filter by active flag") @RequestParam(required = false)
           Boolean active,
+      @Parameter(description = "Include total counts; false returns a slice without a count query")
+          @RequestParam(defaultValue = "true")
+          boolean count,
       @ParameterObject Pageable pageable) {
-    return routineService.listRoutines(user, active, pageable).map(routineMapper::toResponse);
+    Slice<Routine> routines =
+        count
+            ? routineService.listRoutines(user, active, pageable)
+            : routineService.sliceRoutines(user, active, pageable);
+    return routines.map(routineMapper::toResponse);
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll routines",
+      description = "Lists routines newest first using a keyset cursor instead of page offsets.")
+  @ApiResponse(responseCode = "200", description = "Routines returned")
+  public CursorPage<RoutineResponse> scroll(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Filter by active flag") @RequestParam(required = false)
+          Boolean active,
+      @Parameter(description = "Cursor from the previous page; omit for the first page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Page size (max 200)") @RequestParam(required = false)
+          Integer size) {
+    return routineService.scrollRoutines(user, active, cursor, size).map(routineMapper::toResponse);
   }
 
   @PostMapping
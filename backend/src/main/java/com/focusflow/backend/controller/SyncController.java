@@ -1,62 +1,163 @@
 package com.focusflow.backend.controller;
 
+import com.focusflow.backend.config.UserSharded;
+import com.focusflow.backend.dto.ConflictReportResponse;
+import com.focusflow.backend.dto.SyncEntityType;
+import com.focusflow.backend.dto.SyncExchangeRequest;
+import com.focusflow.backend.dto.SyncExchangeResponse;
 import com.focusflow.backend.dto.SyncPullResponse;
 import com.focusflow.backend.dto.SyncPushRequest;
 import com.focusflow.backend.dto.SyncPushResponse;
+import com.focusflow.backend.dto.SyncScope;
 import com.focusflow.backend.entity.User;
+import com.focusflow.backend.service.SyncConflictTelemetryService;
+import com.focusflow.backend.service.SyncPacingService;
+import com.focusflow.backend.service.SyncPullCoalescer;
 import com.focusflow.backend.service.SyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Set;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * Responsibility: Exposes offline sync push/pull endpoints. Architecture: API layer controller
- * delegating sync workflows to SyncService. Why: Keeps sync HTTP surface thin while enforcing
- * security context ownership.
+ * Responsibility: Exposes offline sync push/pull/exchange endpoints. Architecture: API layer
+ * controller delegating sync workflows to SyncService. Why: Keeps sync HTTP surface thin while
+ * enforcing security context ownership.
  */
 @RestController
 @RequestMapping("/api/v1/sync")
 @Tag(name = "Sync")
 public class SyncController {
 
+  private static final String CLIENT_VERSION_HEADER = "X-Client-Version";
+
   private final SyncService syncService;
+  private final SyncPacingService syncPacingService;
+  private final SyncPullCoalescer syncPullCoalescer;
+  private final SyncConflictTelemetryService conflictTelemetryService;
 
-  public SyncController(SyncService syncService) {
+  public SyncController(
+      SyncService syncService,
+      SyncPacingService syncPacingService,
+      SyncPullCoalescer syncPullCoalescer,
+      SyncConflictTelemetryService conflictTelemetryService) {
     this.syncService = syncService;
+    this.syncPacingService = syncPacingService;
+    this.syncPullCoalescer = syncPullCoalescer;
+    this.conflictTelemetryService = conflictTelemetryService;
   }
 
   @PostMapping("/push")
+  @UserSharded
   @Operation(
       summary = "Sync push",
       description = "Pushes client changes and returns accepted updates plus conflicts.")
   @ApiResponse(responseCode = "200", description = "Sync push processed")
+  @ApiResponse(responseCode = "503", description = "Server overloaded; honor Retry-After")
   public SyncPushResponse push(
-      @AuthenticationPrincipal User user, @Valid @RequestBody SyncPushRequest request) {
-    return syncService.push(user, request);
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Client build identifier for conflict telemetry")
+          @RequestHeader(value = CLIENT_VERSION_HEADER, required = false)
+          String clientVersion,
+      @Valid @RequestBody SyncPushRequest request) {
+    syncPacingService.ensureCapacity();
+    SyncPushResponse response = syncService.push(user, request);
+    syncPullCoalescer.evict(user.getId());
+    conflictTelemetryService.record(user.getId(), clientVersion, response.conflicts());
+    return response;
   }
 
   @GetMapping("/pull")
+  @UserSharded
   @Operation(
       summary = "Sync pull",
-      description = "Pulls server changes since the provided timestamp.")
-  @ApiResponse(responseCode = "200", description = "Sync pull returned")
-  public SyncPullResponse pull(
+      description =
+          "Pulls server changes since the provided timestamp, optionally limited to a scope.")
+  @ApiResponse(
+      responseCode = "200",
+      description = "Sync pull returned",
+      content = @Content(schema = @Schema(implementation = SyncPullResponse.class)))
+  @ApiResponse(responseCode = "503", description = "Server overloaded; honor Retry-After")
+  public ResponseEntity<byte[]> pull(
       @AuthenticationPrincipal User user,
       @Parameter(description = "ISO-8601 timestamp for incremental sync")
           @RequestParam(required = false)
           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-          Instant since) {
-    return syncService.pull(user, since);
+          Instant since,
+      @Parameter(description = "Entity types to include; defaults to all")
+          @RequestParam(required = false)
+          Set<SyncEntityType> types,
+      @Parameter(description = "Earliest check-in date to include (inclusive)")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate checkInsFrom,
+      @Parameter(description = "Latest check-in date to include (inclusive)")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate checkInsTo) {
+    syncPacingService.ensureCapacity();
+    // Identical concurrent pulls share one query run and one serialized JSON buffer.
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(syncPullCoalescer.pull(user, since, SyncScope.of(types, checkInsFrom, checkInsTo)));
+  }
+
+  @PostMapping("/exchange")
+  @UserSharded
+  @Operation(
+      summary = "Sync exchange",
+      description =
+          "Pushes client changes and pulls server changes since the cursor in one transaction.")
+  @ApiResponse(responseCode = "200", description = "Sync exchange processed")
+  @ApiResponse(responseCode = "503", description = "Server overloaded; honor Retry-After")
+  public SyncExchangeResponse exchange(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Client build identifier for conflict telemetry")
+          @RequestHeader(value = CLIENT_VERSION_HEADER, required = false)
+          String clientVersion,
+      @Valid @RequestBody SyncExchangeRequest request) {
+    syncPacingService.ensureCapacity();
+    SyncExchangeResponse response = syncService.exchange(user, request);
+    syncPullCoalescer.evict(user.getId());
+    conflictTelemetryService.record(user.getId(), clientVersion, response.push().conflicts());
+    return response;
+  }
+
+  @GetMapping("/conflicts/report")
+  @Operation(
+      summary = "Sync conflict report",
+      description =
+          "Aggregates recorded sync conflicts by entity type, reason, field, client version, and"
+              + " signup cohort. Restricted to configured report admins.")
+  @ApiResponse(responseCode = "200", description = "Conflict report returned")
+  @ApiResponse(responseCode = "403", description = "Caller is not a report admin")
+  public ConflictReportResponse conflictReport(
+      @AuthenticationPrincipal User user,
+      @Parameter(description = "Range start (inclusive); defaults to seven days before to")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant from,
+      @Parameter(description = "Range end (exclusive); defaults to now")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          Instant to) {
+    return conflictTelemetryService.report(user, from, to);
   }
 }
@@ -0,0 +1,11 @@
+package com.focusflow.backend.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Responsibility: Acknowledges an account deletion request. Architecture: Response DTO for the
+ * account endpoint. Why: Tells the client the account is already disabled while its data is purged
+ * in the background.
+ */
+public record AccountDeletionResponse(UUID userId, Instant disabledAt) {}
@@ -1,5 +1,6 @@
 package com.focusflow.backend.dto;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -7,4 +8,10 @@ import java.util.UUID;
  * API response DTO for auth endpoints. Why: Gives clients the token and identity info they need
  * without exposing sensitive fields.
  */
-public record AuthResponse(String token, UUID userId, String email) {}
+public record AuthResponse(
+    String token,
+    long expiresInSeconds,
+    String refreshToken,
+    Instant refreshTokenExpiresAt,
+    UUID userId,
+    String email) {}
@@ -0,0 +1,41 @@
+package com.focusflow.backend.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Responsibility: Represents one routine's check-ins for one month as day bitmaps. Architecture:
+ * Response DTO for the check-in history endpoint. Why: Covers live and archived months in one
+ * compact shape, since archived months keep no per-row data.
+ */
+public record CheckInMonthResponse(
+    UUID routineId,
+    LocalDate month,
+    int completedDays,
+    int recordedDays,
+    int completedCount,
+    int recordedCount) {
+
+  /** Builds a month from bitmaps where bit {@code n} stands for day {@code n + 1}. */
+  public static CheckInMonthResponse of(
+      UUID routineId, LocalDate month, int completedDays, int recordedDays) {
+    return new CheckInMonthResponse(
+        routineId,
+        month,
+        completedDays,
+        recordedDays,
+        Integer.bitCount(completedDays),
+        Integer.bitCount(recordedDays));
+  }
+
+  /** Returns the completed dates of this month in ascending order. */
+  public List<LocalDate> completedDates() {
+    List<LocalDate> dates = new ArrayList<>(Integer.bitCount(completedDays));
+    for (int bits = completedDays; bits != 0; bits &= bits - 1) {
+      dates.add(month.plusDays(Integer.numberOfTrailingZeros(bits)));
+    }
+    return dates;
+  }
+}
@@ -0,0 +1,19 @@
+package com.focusflow.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Responsibility: Returns aggregated sync conflict telemetry for a time range. Architecture:
+ * Response DTO for the conflict report endpoint. Why: Shows which entity types, reasons, fields,
+ * client versions, and signup cohorts drive repeated conflict round trips.
+ */
+public record ConflictReportResponse(
+    Instant from,
+    Instant to,
+    long totalConflicts,
+    List<ConflictReportRow> byEntityType,
+    List<ConflictReportRow> byReason,
+    List<ConflictReportRow> byField,
+    List<ConflictReportRow> byClientVersion,
+    List<ConflictReportRow> byCohort) {}
@@ -0,0 +1,7 @@
+package com.focusflow.backend.dto;
+
+/**
+ * Responsibility: Represents one aggregated bucket in the conflict report. Architecture: Response
+ * DTO nested in ConflictReportResponse. Why: Gives a uniform shape to every report dimension.
+ */
+public record ConflictReportRow(String key, long conflicts, long users, double share) {}
@@ -0,0 +1,16 @@
+package com.focusflow.backend.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Responsibility: Carries one page of a keyset listing and the cursor for the next one.
+ * Architecture: Generic API response DTO shared by the list endpoints' scroll mode. Why: Lets
+ * clients page deep histories without offsets or total counts.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasNext) {
+
+  public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+    return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor, hasNext);
+  }
+}
@@ -0,0 +1,21 @@
+package com.focusflow.backend.dto;
+
+/**
+ * Responsibility: Enumerates the file formats of a data export. Architecture: API enum bound from
+ * the export endpoint's query parameter. Why: Spreadsheets want CSV while scripts and compliance
+ * tooling prefer one JSON object per line.
+ */
+public enum ExportFormat {
+  CSV("csv"),
+  NDJSON("ndjson");
+
+  private final String extension;
+
+  ExportFormat(String extension) {
+    this.extension = extension;
+  }
+
+  public String extension() {
+    return extension;
+  }
+}
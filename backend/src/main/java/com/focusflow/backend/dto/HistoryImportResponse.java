@@ -0,0 +1,9 @@
+package com.focusflow.backend.dto;
+
+/**
+ * Responsibility: Reports the outcome of a history import. Architecture: Response DTO for the
+ * account import endpoint. Why: Tells the client how much was added and how much was already on the
+ * account and left unchanged.
+ */
+public record HistoryImportResponse(
+    int routinesImported, int routinesSkipped, int checkInsImported, int checkInsSkipped) {}
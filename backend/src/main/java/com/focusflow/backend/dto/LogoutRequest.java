@@ -0,0 +1,8 @@
+package com.focusflow.backend.dto;
+
+/**
+ * Responsibility: Optionally carries the refresh token to end alongside the access token.
+ * Architecture: DTO in the API layer for the logout endpoint. Why: Lets one call end the whole
+ * session instead of leaving a usable refresh token behind.
+ */
+public record LogoutRequest(String refreshToken) {}
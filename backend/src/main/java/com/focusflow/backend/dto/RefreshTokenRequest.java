@@ -0,0 +1,10 @@
+package com.focusflow.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Responsibility: Carries the refresh token presented to renew a session. Architecture: DTO in the
+ * API layer for input validation. Why: Keeps the refresh payload explicit and separate from login.
+ */
+public record RefreshTokenRequest(
+    @NotBlank(message = "refreshToken is required") String refreshToken) {}
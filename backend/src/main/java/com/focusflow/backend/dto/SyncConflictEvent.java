@@ -0,0 +1,18 @@
+package com.focusflow.backend.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Responsibility: Captures one persisted sync conflict for telemetry. Architecture: Internal DTO
+ * passed from the conflict telemetry service to its repository. Why: Decouples the append-only log
+ * format from the client-facing SyncConflict payload.
+ */
+public record SyncConflictEvent(
+    UUID userId,
+    String entityType,
+    UUID entityId,
+    String reason,
+    String fields,
+    String clientVersion,
+    Instant occurredAt) {}
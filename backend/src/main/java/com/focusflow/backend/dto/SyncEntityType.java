@@ -0,0 +1,12 @@
+package com.focusflow.backend.dto;
+
+/**
+ * Responsibility: Enumerates the entity families that participate in sync. Architecture: Sync DTO
+ * enum used by pull scopes. Why: Lets lightweight clients request only the data they render.
+ */
+public enum SyncEntityType {
+  GOAL,
+  ROUTINE,
+  CHECK_IN,
+  JOB_APPLICATION
+}
@@ -0,0 +1,15 @@
+package com.focusflow.backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+
+/**
+ * Responsibility: Bundles a sync push with the client's pull cursor. Architecture: Sync DTO
+ * consumed by the combined exchange endpoint. Why: Lets clients push and pull in a single round
+ * trip instead of two sequential requests.
+ */
+public record SyncExchangeRequest(
+    @NotNull(message = "push is required") @Valid SyncPushRequest push,
+    Instant since,
+    SyncScope scope) {}
@@ -0,0 +1,8 @@
+package com.focusflow.backend.dto;
+
+/**
+ * Responsibility: Returns push results and server-side changes from one exchange. Architecture:
+ * Sync response DTO emitted by the combined exchange endpoint. Why: Reuses the push and pull
+ * contracts so clients can share parsing logic across all sync calls.
+ */
+public record SyncExchangeResponse(SyncPushResponse push, SyncPullResponse pull) {}
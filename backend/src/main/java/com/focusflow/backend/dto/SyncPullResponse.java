@@ -13,4 +13,6 @@ public record SyncPullResponse(
     List<RoutineResponse> routines,
     List<CheckInResponse> checkIns,
     List<JobApplicationResponse> applications,
-    Instant serverTime) {}
+    Instant serverTime,
+    Instant nextSyncAfter,
+    SyncScope scope) {}
@@ -14,4 +14,5 @@ public record SyncPushResponse(
     List<CheckInResponse> checkIns,
     List<JobApplicationResponse> applications,
     List<SyncConflict> conflicts,
-    Instant serverTime) {}
+    Instant serverTime,
+    Instant nextSyncAfter) {}
@@ -0,0 +1,33 @@
+package com.focusflow.backend.dto;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Responsibility: Describes which entity types and check-in dates a pull should return.
+ * Architecture: Sync DTO accepted by pull/exchange and echoed in pull responses. Why: Gives clients
+ * a stable key to track one cursor per scope, so widening a window only fetches the new slice.
+ */
+public record SyncScope(Set<SyncEntityType> types, LocalDate checkInsFrom, LocalDate checkInsTo) {
+
+  public static SyncScope all() {
+    return new SyncScope(EnumSet.allOf(SyncEntityType.class), null, null);
+  }
+
+  public static SyncScope of(Set<SyncEntityType> types, LocalDate from, LocalDate to) {
+    Set<SyncEntityType> effective =
+        types == null || types.isEmpty()
+            ? EnumSet.allOf(SyncEntityType.class)
+            : EnumSet.copyOf(types);
+    return new SyncScope(effective, from, to);
+  }
+
+  public boolean includes(SyncEntityType type) {
+    return types.contains(type);
+  }
+
+  public boolean hasCheckInWindow() {
+    return checkInsFrom != null || checkInsTo != null;
+  }
+}
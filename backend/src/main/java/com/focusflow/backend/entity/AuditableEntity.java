@@ -1,12 +1,18 @@
 package com.focusflow.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.focusflow.backend.id.UuidV7Generator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Transient;
 import java.time.Instant;
 import java.util.UUID;
+import org.springframework.data.domain.Persistable;
 
 /**
  * Responsibility: Provides shared audit fields and lifecycle hooks for persistent entities.
@@ -14,7 +20,7 @@ import java.util.UUID;
  * Ensures consistent timestamps and UUID handling without duplicating boilerplate.
  */
 @MappedSuperclass
-public abstract class AuditableEntity {
+public abstract class AuditableEntity implements Persistable<UUID> {
 
   @Id
   @Column(name = "id", nullable = false, columnDefinition = "uuid")
@@ -29,11 +35,15 @@ public abstract class AuditableEntity {
   @Column(name = "deleted_at")
   private Instant deletedAt;
 
+  // Ids are assigned before save, so Spring Data cannot infer new-ness from a null id and would
+  // merge (SELECT, then INSERT) instead of persisting. Loaded or persisted instances flip this off.
+  @Transient private boolean isNew = true;
+
   @PrePersist
   void onCreate() {
     Instant now = Instant.now();
     if (id == null) {
-      id = UUID.randomUUID();
+      id = UuidV7Generator.SYSTEM.next();
     }
     createdAt = now;
     updatedAt = now;
@@ -44,6 +54,19 @@ public abstract class AuditableEntity {
     updatedAt = Instant.now();
   }
 
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    isNew = false;
+  }
+
+  @Override
+  @JsonIgnore
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @Override
   public UUID getId() {
     return id;
   }
@@ -10,11 +10,13 @@ import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
+import org.hibernate.annotations.PartitionKey;
 
 /**
  * Responsibility: Records a daily completion snapshot for a routine. Architecture: Domain entity
  * tied to routines and used in sync and analytics APIs. Why: Enforces uniqueness per routine/day to
- * keep check-ins idempotent for sync.
+ * keep check-ins idempotent for sync. The table is range-partitioned by month on date, so date is
+ * the partition key Hibernate adds to update and delete statements.
  */
 @Entity
 @Table(
@@ -22,6 +24,11 @@ import java.util.UUID;
     uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "routine_id", "date"}))
 public class CheckIn extends SyncableEntity {
 
+  /** Open bounds for date-filtered queries; real dates keep those queries partition-prunable. */
+  public static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+
+  public static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "routine_id", nullable = false)
   private Routine routine;
@@ -29,6 +36,7 @@ public class CheckIn extends SyncableEntity {
   @Column(name = "routine_id", nullable = false, insertable = false, updatable = false)
   private UUID routineId;
 
+  @PartitionKey
   @Column(name = "date", nullable = false)
   private LocalDate date;
 
@@ -0,0 +1,126 @@
+package com.focusflow.backend.entity;
+
+import com.focusflow.backend.id.UuidV7Generator;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import java.time.Instant;
+import java.util.UUID;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Responsibility: Represents one issued refresh token by its digest. Architecture: Domain entity
+ * owned by a user and grouped into rotation families. Why: Lets clients renew access tokens without
+ * a password login while keeping the raw token out of the database.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken implements Persistable<UUID> {
+
+  @Id
+  @Column(name = "id", nullable = false, columnDefinition = "uuid")
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "user_id", nullable = false)
+  private User user;
+
+  @Column(name = "family_id", nullable = false, columnDefinition = "uuid")
+  private UUID familyId;
+
+  @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+  private String tokenHash;
+
+  @Column(name = "token_generation", nullable = false)
+  private int tokenGeneration;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private Instant createdAt;
+
+  @Column(name = "revoked_at")
+  private Instant revokedAt;
+
+  @Column(name = "replaced_by", columnDefinition = "uuid")
+  private UUID replacedBy;
+
+  @Transient private boolean isNew = true;
+
+  public RefreshToken() {}
+
+  public RefreshToken(
+      UUID id, User user, UUID familyId, String tokenHash, int tokenGeneration, Instant expiresAt) {
+    this.id = id;
+    this.user = user;
+    this.familyId = familyId;
+    this.tokenHash = tokenHash;
+    this.tokenGeneration = tokenGeneration;
+    this.expiresAt = expiresAt;
+  }
+
+  @PrePersist
+  void onCreate() {
+    if (id == null) {
+      id = UuidV7Generator.SECURE.next();
+    }
+    createdAt = Instant.now();
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    isNew = false;
+  }
+
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
+  @Override
+  public UUID getId() {
+    return id;
+  }
+
+  public User getUser() {
+    return user;
+  }
+
+  public UUID getFamilyId() {
+    return familyId;
+  }
+
+  public String getTokenHash() {
+    return tokenHash;
+  }
+
+  public int getTokenGeneration() {
+    return tokenGeneration;
+  }
+
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public Instant getRevokedAt() {
+    return revokedAt;
+  }
+
+  public UUID getReplacedBy() {
+    return replacedBy;
+  }
+}
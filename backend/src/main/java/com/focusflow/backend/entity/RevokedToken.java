@@ -0,0 +1,56 @@
+package com.focusflow.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Responsibility: Records an access token revoked before its expiry. Architecture: Domain entity
+ * keyed by the JWT id and read by the token revocation service. Why: Gives every node a shared
+ * source of truth for logout without storing the token itself.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+  @Id
+  @Column(name = "token_id", nullable = false, columnDefinition = "uuid")
+  private UUID tokenId;
+
+  @Column(name = "user_id", nullable = false, columnDefinition = "uuid")
+  private UUID userId;
+
+  @Column(name = "expires_at", nullable = false)
+  private Instant expiresAt;
+
+  @Column(name = "revoked_at", nullable = false)
+  private Instant revokedAt;
+
+  public RevokedToken() {}
+
+  public RevokedToken(UUID tokenId, UUID userId, Instant expiresAt, Instant revokedAt) {
+    this.tokenId = tokenId;
+    this.userId = userId;
+    this.expiresAt = expiresAt;
+    this.revokedAt = revokedAt;
+  }
+
+  public UUID getTokenId() {
+    return tokenId;
+  }
+
+  public UUID getUserId() {
+    return userId;
+  }
+
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+
+  public Instant getRevokedAt() {
+    return revokedAt;
+  }
+}
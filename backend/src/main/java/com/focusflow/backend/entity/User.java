@@ -1,6 +1,7 @@
 package com.focusflow.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.focusflow.backend.id.UuidV7Generator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.PrePersist;
@@ -34,6 +35,12 @@ public class User implements UserDetails {
   @Column(name = "password_hash", nullable = false)
   private String passwordHash;
 
+  @Column(name = "token_generation", nullable = false)
+  private int tokenGeneration;
+
+  @Column(name = "disabled_at")
+  private Instant disabledAt;
+
   @Column(name = "created_at", nullable = false, updatable = false)
   private Instant createdAt;
 
@@ -52,7 +59,7 @@ public class User implements UserDetails {
   void onCreate() {
     Instant now = Instant.now();
     if (id == null) {
-      id = UUID.randomUUID();
+      id = UuidV7Generator.SYSTEM.next();
     }
     createdAt = now;
     updatedAt = now;
@@ -79,6 +86,35 @@ public class User implements UserDetails {
     this.passwordHash = passwordHash;
   }
 
+  public int getTokenGeneration() {
+    return tokenGeneration;
+  }
+
+  public void setTokenGeneration(int tokenGeneration) {
+    this.tokenGeneration = tokenGeneration;
+  }
+
+  /** Invalidates every token issued before this call once the change is persisted. */
+  public void incrementTokenGeneration() {
+    tokenGeneration++;
+  }
+
+  public Instant getDisabledAt() {
+    return disabledAt;
+  }
+
+  /**
+   * Disables the account pending deletion: ends every session and frees the email at once, while
+   * the owned rows are purged in the background.
+   */
+  public void disable(Instant now) {
+    disabledAt = now;
+    email = id + "@deleted.invalid";
+    // Not a valid BCrypt hash, so no password can ever match it.
+    passwordHash = "!";
+    incrementTokenGeneration();
+  }
+
   public Instant getCreatedAt() {
     return createdAt;
   }
@@ -120,6 +156,6 @@ public class User implements UserDetails {
 
   @Override
   public boolean isEnabled() {
-    return true;
+    return disabledAt == null;
   }
 }
@@ -2,6 +2,7 @@ package com.focusflow.backend.exception;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -9,6 +10,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -35,6 +37,12 @@ public class ApiExceptionHandler {
         .body(ApiErrorResponse.of("MALFORMED_JSON", "Request body is invalid", null));
   }
 
+  @ExceptionHandler(MaxUploadSizeExceededException.class)
+  public ResponseEntity<ApiErrorResponse> handleUploadTooLarge(MaxUploadSizeExceededException ex) {
+    return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+        .body(ApiErrorResponse.of("PAYLOAD_TOO_LARGE", "Uploaded file is too large", null));
+  }
+
   @ExceptionHandler(ResourceNotFoundException.class)
   public ResponseEntity<ApiErrorResponse> handleNotFound(ResourceNotFoundException ex) {
     return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -47,9 +55,17 @@ public class ApiExceptionHandler {
         .body(ApiErrorResponse.of("CONFLICT", ex.getMessage(), null));
   }
 
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ApiErrorResponse> handleOverloaded(ServiceOverloadedException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(ApiErrorResponse.of("SERVICE_OVERLOADED", ex.getMessage(), null));
+  }
+
   @ExceptionHandler(ResponseStatusException.class)
   public ResponseEntity<ApiErrorResponse> handleResponseStatus(ResponseStatusException ex) {
-    String code = ex.getStatusCode().getReasonPhrase().toUpperCase().replace(' ', '_');
+    HttpStatus status = HttpStatus.resolve(ex.getStatusCode().value());
+    String code = status != null ? status.name() : "ERROR";
     String message = ex.getReason() != null ? ex.getReason() : "Request failed";
     return ResponseEntity.status(ex.getStatusCode()).body(ApiErrorResponse.of(code, message, null));
   }
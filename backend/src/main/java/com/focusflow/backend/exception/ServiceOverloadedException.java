@@ -0,0 +1,22 @@
+package com.focusflow.backend.exception;
+
+/**
+ * Responsibility: Signals that the server is shedding load and the client should back off.
+ * Architecture: Service-layer exception mapped by the API exception handler. Why: Lets clients
+ * honor a Retry-After delay instead of retrying immediately under pressure.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final long retryAfterSeconds;
+
+  public ServiceOverloadedException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
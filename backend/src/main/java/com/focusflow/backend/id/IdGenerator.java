@@ -0,0 +1,15 @@
+package com.focusflow.backend.id;
+
+import java.util.UUID;
+
+/**
+ * Responsibility: Produces primary keys for server-created rows. Architecture: Id abstraction below
+ * the entity and service layers, injected wherever entities are created; the strategy is chosen in
+ * configuration. Why: Lets the id layout change (random vs time-ordered) without touching every
+ * service.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+  UUID next();
+}
@@ -0,0 +1,196 @@
+package com.focusflow.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Tracks account deletion jobs and purges a user's rows in keyset batches.
+ * Architecture: JDBC-backed repository over account_deletions and every user-owned table. Why:
+ * Batched deletes keep each transaction, its locks and its WAL small, which one cascading delete of
+ * the users row cannot.
+ */
+@Repository
+public class AccountDeletionRepository {
+
+  /**
+   * Tables in purge order, each with the keyset it is walked in. Children of routines go first so
+   * routine deletes never cascade, and every keyset is served by a user-leading index. Sharded
+   * tables live on the user's shard; the rest stay in the directory database.
+   */
+  public static final List<PurgeTable> PURGE_ORDER =
+      List.of(
+          // Pruned to the batch's date range so the delete only visits the partitions it touches.
+          new PurgeTable(
+              "check_ins",
+              List.of("date", "routine_id"),
+              " and t.date >= (select min(date) from batch)"
+                  + " and t.date <= (select max(date) from batch)",
+              true),
+          new PurgeTable("check_in_archives", List.of("routine_id", "month"), "", true),
+          new PurgeTable("routines", List.of("server_updated_at", "id"), "", true),
+          new PurgeTable("goals", List.of("server_updated_at", "id"), "", true),
+          new PurgeTable("job_applications", List.of("server_updated_at", "id"), "", true),
+          new PurgeTable("sync_conflict_log", List.of("id"), "", false),
+          new PurgeTable("refresh_tokens", List.of("id"), "", false),
+          new PurgeTable("revoked_tokens", List.of("token_id"), "", false));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public AccountDeletionRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Records a deletion request; false when one already exists for the user. */
+  public boolean create(UUID userId, Instant requestedAt) {
+    return jdbcTemplate.update(
+            "insert into account_deletions (user_id, requested_at) values (?, ?) "
+                + "on conflict (user_id) do nothing",
+            userId,
+            Timestamp.from(requestedAt))
+        == 1;
+  }
+
+  /**
+   * Claims the oldest unfinished job whose lease has lapsed, leasing it until {@code leaseUntil}.
+   * Concurrent nodes skip each other's rows instead of waiting on them.
+   */
+  public Optional<UUID> claimNext(Instant now, Instant leaseUntil) {
+    List<UUID> claimed =
+        jdbcTemplate.queryForList(
+            """
+            update account_deletions
+            set lease_until = ?, started_at = coalesce(started_at, ?)
+            where user_id = (
+              select user_id from account_deletions
+              where completed_at is null and (lease_until is null or lease_until < ?)
+              order by requested_at
+              limit 1
+              for update skip locked)
+            returning user_id
+            """,
+            UUID.class,
+            Timestamp.from(leaseUntil),
+            Timestamp.from(now),
+            Timestamp.from(now));
+    return claimed.stream().findFirst();
+  }
+
+  /**
+   * Deletes up to {@code limit} of the user's rows after {@code after} in keyset order, in one
+   * statement. Returns the rows deleted and the key to continue from; empty once the table is done.
+   */
+  public Optional<PurgeBatch> purgeBatch(PurgeTable table, UUID userId, Object[] after, int limit) {
+    List<Object> args = new ArrayList<>();
+    args.add(userId);
+    args.addAll(PurgeTable.cursorArgs(after));
+    args.add(limit);
+    args.add(userId);
+    List<PurgeBatch> batches =
+        jdbcTemplate.query(
+            table.sql(after != null),
+            (rs, rowNum) -> {
+              Object[] last = new Object[table.keys().size()];
+              for (int i = 0; i < last.length; i++) {
+                last[i] = rs.getObject(i + 2);
+              }
+              return new PurgeBatch(rs.getLong(1), last);
+            },
+            args.toArray());
+    return batches.stream().findFirst();
+  }
+
+  /** Stores progress after a batch and extends the lease of the running job. */
+  public void recordProgress(UUID userId, String table, long deletedRows, Instant leaseUntil) {
+    jdbcTemplate.update(
+        "update account_deletions "
+            + "set current_table = ?, deleted_rows = deleted_rows + ?, lease_until = ? "
+            + "where user_id = ?",
+        table,
+        deletedRows,
+        Timestamp.from(leaseUntil),
+        userId);
+  }
+
+  /** Deletes the users row itself; by now its cascades find at most a few stragglers. */
+  public int deleteUser(UUID userId) {
+    return jdbcTemplate.update("delete from users where id = ?", userId);
+  }
+
+  public void complete(UUID userId, Instant completedAt) {
+    jdbcTemplate.update(
+        "update account_deletions "
+            + "set completed_at = ?, current_table = null, lease_until = null "
+            + "where user_id = ?",
+        Timestamp.from(completedAt),
+        userId);
+  }
+
+  public long countPending() {
+    Long pending =
+        jdbcTemplate.queryForObject(
+            "select count(*) from account_deletions where completed_at is null", Long.class);
+    return pending != null ? pending : 0;
+  }
+
+  /**
+   * A user-owned table, the columns its purge keyset is ordered by, and whether it lives on the
+   * user's shard.
+   */
+  public record PurgeTable(String name, List<String> keys, String deleteFilter, boolean sharded) {
+
+    String sql(boolean hasCursor) {
+      String columns = columns();
+      String cursor = cursor(hasCursor);
+      String match = "(" + list(key -> "t." + key) + ") = (" + list(key -> "b." + key) + ")";
+      return """
+          with batch as (
+            select %2$s from %1$s where user_id = ?%3$s order by %2$s limit ?
+          ), deleted as (
+            delete from %1$s t using batch b where t.user_id = ? and %4$s%5$s returning 1
+          )
+          select (select count(*) from deleted), last.*
+          from (select %2$s from batch order by %6$s limit 1) last
+          """
+          .formatted(name, columns, cursor, match, deleteFilter, list(key -> key + " desc"));
+    }
+
+    String columns() {
+      return list(key -> key);
+    }
+
+    /** Keyset condition continuing after a previous batch; bound by {@link #cursorArgs}. */
+    String cursor(boolean hasCursor) {
+      // The redundant bound on the first key is what the user-leading indexes can range-scan; the
+      // row comparison alone would be applied as a filter.
+      return hasCursor
+          ? " and " + keys.get(0) + " >= ? and (" + columns() + ") > (" + list(key -> "?") + ")"
+          : "";
+    }
+
+    static List<Object> cursorArgs(Object[] after) {
+      if (after == null) {
+        return List.of();
+      }
+      List<Object> args = new ArrayList<>();
+      args.add(after[0]);
+      args.addAll(Arrays.asList(after));
+      return args;
+    }
+
+    private String list(Function<String, String> column) {
+      return keys.stream().map(column).collect(Collectors.joining(", "));
+    }
+  }
+
+  /** Outcome of one purge statement: rows deleted and the last key of the batch. */
+  public record PurgeBatch(long deletedRows, Object[] lastKey) {}
+}
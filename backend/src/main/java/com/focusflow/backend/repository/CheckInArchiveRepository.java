@@ -0,0 +1,201 @@
+package com.focusflow.backend.repository;
+
+import com.focusflow.backend.dto.CheckInMonthResponse;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Folds old check-ins into per-month bitmaps and reads both storage tiers.
+ * Architecture: JDBC-backed repository over check_ins and check_in_archives. Why: The fold is a
+ * single delete-and-upsert statement and the combined history is bit arithmetic, neither of which
+ * maps onto JPA.
+ */
+@Repository
+public class CheckInArchiveRepository {
+
+  // Day n of a month is bit n - 1, so day 31 is bit 30 and every bitmap stays a positive INTEGER.
+  private static final String DAY_BIT = "(1 << (extract(day from date)::int - 1))";
+
+  private static final String FOLD_SQL =
+      """
+      with moved as (
+        delete from check_ins
+        where user_id = any(?) and date >= ? and date < ?
+        returning user_id, routine_id, date, completed, deleted_at
+      ), folded as (
+        select user_id, routine_id, date_trunc('month', date)::date as month,
+          bit_or(case when completed then %1$s else 0 end) as completed_days,
+          bit_or(%1$s) as recorded_days
+        from moved
+        where deleted_at is null
+        group by user_id, routine_id, date_trunc('month', date)
+      )
+      insert into check_in_archives
+        (user_id, routine_id, month, completed_days, recorded_days, archived_at)
+      select user_id, routine_id, month, completed_days, recorded_days, ? from folded
+      on conflict (user_id, routine_id, month) do update set
+        completed_days = (check_in_archives.completed_days & ~excluded.recorded_days)
+          | excluded.completed_days,
+        recorded_days = check_in_archives.recorded_days | excluded.recorded_days,
+        archived_at = excluded.archived_at
+      """
+          .formatted(DAY_BIT);
+
+  private static final String HISTORY_SQL =
+      """
+      with live as (
+        select routine_id, date_trunc('month', date)::date as month,
+          bit_or(case when completed then %1$s else 0 end) as completed_days,
+          bit_or(%1$s) as recorded_days
+        from check_ins
+        where user_id = ? and deleted_at is null and date >= ? and date < ?%2$s
+        group by routine_id, date_trunc('month', date)
+      ), archived as (
+        select a.routine_id, a.month, a.completed_days, a.recorded_days
+        from check_in_archives a
+        join routines r on r.id = a.routine_id and r.deleted_at is null
+        where a.user_id = ? and a.month >= ? and a.month < ?%3$s
+      )
+      select coalesce(l.routine_id, a.routine_id) as routine_id,
+        coalesce(l.month, a.month) as month,
+        (coalesce(a.completed_days, 0) & ~coalesce(l.recorded_days, 0))
+          | coalesce(l.completed_days, 0) as completed_days,
+        coalesce(a.recorded_days, 0) | coalesce(l.recorded_days, 0) as recorded_days
+      from live l
+      full join archived a on a.routine_id = l.routine_id and a.month = l.month
+      order by month, routine_id
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CheckInArchiveRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Returns the first day of every month before {@code cutoff} that still holds check-in rows:
+   * months with their own partition, plus months parked in the default partition.
+   */
+  public List<LocalDate> findMonthsBefore(LocalDate cutoff) {
+    return jdbcTemplate.queryForList(
+        """
+        select month from (
+          select to_date(substring(c.relname from 'check_ins_p(\\d{6})'), 'YYYYMM') as month
+          from pg_inherits i
+          join pg_class c on c.oid = i.inhrelid
+          where i.inhparent = 'check_ins'::regclass and c.relname like 'check_ins\\_p%'
+          union
+          select distinct date_trunc('month', date)::date
+          from check_ins_default
+          where date < ?
+        ) months
+        where month < ?
+        order by month
+        """,
+        LocalDate.class, cutoff, cutoff);
+  }
+
+  /** Returns up to {@code limit} user ids after {@code afterId} in id order, for batching. */
+  public List<UUID> findUserIdsAfter(UUID afterId, int limit) {
+    if (afterId == null) {
+      return jdbcTemplate.queryForList(
+          "select id from users order by id limit ?", UUID.class, limit);
+    }
+    return jdbcTemplate.queryForList(
+        "select id from users where id > ? order by id limit ?", UUID.class, afterId, limit);
+  }
+
+  /**
+   * Moves the given users' check-ins for one month into the archive in a single statement and
+   * returns how many archive rows were written. Tombstones are dropped rather than archived. An
+   * existing archive row is merged, with the freshly folded days taking precedence.
+   */
+  public int foldMonth(List<UUID> userIds, LocalDate month, Instant archivedAt) {
+    return jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement = connection.prepareStatement(FOLD_SQL);
+          statement.setArray(1, connection.createArrayOf("uuid", userIds.toArray()));
+          statement.setObject(2, month);
+          statement.setObject(3, month.plusMonths(1));
+          statement.setTimestamp(4, Timestamp.from(archivedAt));
+          return statement;
+        });
+  }
+
+  /**
+   * Removes one day from a routine's archived month, dropping the row once no day is left. Returns
+   * false when the day was not archived.
+   */
+  public boolean clearDay(UUID userId, UUID routineId, LocalDate date) {
+    int bit = 1 << (date.getDayOfMonth() - 1);
+    LocalDate month = date.withDayOfMonth(1);
+    int deleted =
+        jdbcTemplate.update(
+            "delete from check_in_archives"
+                + " where user_id = ? and routine_id = ? and month = ? and recorded_days = ?",
+            userId,
+            routineId,
+            month,
+            bit);
+    if (deleted > 0) {
+      return true;
+    }
+    return jdbcTemplate.update(
+            "update check_in_archives"
+                + " set completed_days = completed_days & ~?, recorded_days = recorded_days & ~?"
+                + " where user_id = ? and routine_id = ? and month = ? and recorded_days & ? <> 0",
+            bit,
+            bit,
+            userId,
+            routineId,
+            month,
+            bit)
+        > 0;
+  }
+
+  /** Drops the month's partition when it is empty; false when it holds rows or does not exist. */
+  public boolean dropPartitionIfEmpty(LocalDate month) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "select drop_empty_check_in_partition(?)", Boolean.class, month));
+  }
+
+  /**
+   * Returns per-routine month bitmaps for {@code [fromMonth, toMonth)}, combining archived months
+   * with live check-ins. A live row overrides the archived bit for its day; archived months of
+   * deleted routines are hidden like their live check-ins.
+   */
+  public List<CheckInMonthResponse> findMonthlyHistory(
+      UUID userId, UUID routineId, LocalDate fromMonth, LocalDate toMonth) {
+    List<Object> args = new ArrayList<>();
+    for (int tier = 0; tier < 2; tier++) {
+      args.add(userId);
+      args.add(fromMonth);
+      args.add(toMonth);
+      if (routineId != null) {
+        args.add(routineId);
+      }
+    }
+    String sql =
+        HISTORY_SQL.formatted(
+            DAY_BIT,
+            routineId != null ? " and routine_id = ?" : "",
+            routineId != null ? " and a.routine_id = ?" : "");
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) ->
+            CheckInMonthResponse.of(
+                rs.getObject("routine_id", UUID.class),
+                rs.getObject("month", LocalDate.class),
+                rs.getInt("completed_days"),
+                rs.getInt("recorded_days")),
+        args.toArray());
+  }
+}
@@ -0,0 +1,31 @@
+package com.focusflow.backend.repository;
+
+import java.time.LocalDate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Manages the monthly partitions of the check_ins table. Architecture: JDBC-backed
+ * repository calling the partition functions installed by the schema migrations. Why: Partition DDL
+ * has no JPA equivalent and must run ahead of the dates clients write.
+ */
+@Repository
+public class CheckInPartitionRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CheckInPartitionRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Creates any missing partitions from the month of {@code fromMonth} through {@code monthsAhead}
+   * months later and returns how many were created.
+   */
+  public int ensurePartitions(LocalDate fromMonth, int monthsAhead) {
+    Integer created =
+        jdbcTemplate.queryForObject(
+            "select ensure_check_in_partitions(?, ?)", Integer.class, fromMonth, monthsAhead);
+    return created != null ? created : 0;
+  }
+}
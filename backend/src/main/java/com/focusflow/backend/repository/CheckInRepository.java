@@ -5,12 +5,17 @@ import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -20,22 +25,40 @@ import org.springframework.data.repository.query.Param;
  * and sync pulls.
  */
 public interface CheckInRepository extends JpaRepository<CheckIn, UUID> {
+  /**
+   * Date bounds are mandatory (pass {@link CheckIn#MIN_DATE} / {@link CheckIn#MAX_DATE} when open)
+   * so Postgres can prune monthly partitions; a null-or-compare filter defeats pruning.
+   */
+  String SEARCH =
+      "select c from CheckIn c "
+          + "where c.owner = :owner and c.deletedAt is null "
+          + "and (:routineId is null or c.routine.id = :routineId) "
+          + "and c.date >= :startDate and c.date <= :endDate";
+
   Optional<CheckIn> findByIdAndOwner(UUID id, User owner);
 
   Optional<CheckIn> findByIdAndOwnerAndDeletedAtIsNull(UUID id, User owner);
 
+  /** Batch lookup used by sync push, including soft-deleted rows. */
+  List<CheckIn> findByOwnerAndIdIn(User owner, Collection<UUID> ids);
+
+  /**
+   * Ids among {@code ids} owned by another user. The partitioned primary key is (id, date), so
+   * client-supplied ids are checked here to keep them globally unique.
+   */
+  @Query("select c.id from CheckIn c where c.id in :ids and c.owner <> :owner")
+  Set<UUID> findIdsOwnedByOthers(@Param("owner") User owner, @Param("ids") Collection<UUID> ids);
+
+  List<CheckIn> findByOwnerAndRoutineIdInAndDateInAndDeletedAtIsNull(
+      User owner, Collection<UUID> routineIds, Collection<LocalDate> dates);
+
   boolean existsByOwnerAndRoutineAndDateAndDeletedAtIsNull(
       User owner, Routine routine, LocalDate date);
 
   Optional<CheckIn> findByOwnerAndRoutineAndDateAndDeletedAtIsNull(
       User owner, Routine routine, LocalDate date);
 
-  @Query(
-      "select c from CheckIn c "
-          + "where c.owner = :owner and c.deletedAt is null "
-          + "and (:routineId is null or c.routine.id = :routineId) "
-          + "and (:startDate is null or c.date >= :startDate) "
-          + "and (:endDate is null or c.date <= :endDate)")
+  @Query(SEARCH)
   Page<CheckIn> search(
       @Param("owner") User owner,
       @Param("routineId") UUID routineId,
@@ -43,5 +66,74 @@ public interface CheckInRepository extends JpaRepository<CheckIn, UUID> {
       @Param("endDate") LocalDate endDate,
       Pageable pageable);
 
+  /** Same filter as {@link #search} without the count query. */
+  @Query(SEARCH)
+  Slice<CheckIn> searchSlice(
+      @Param("owner") User owner,
+      @Param("routineId") UUID routineId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate,
+      Pageable pageable);
+
+  /**
+   * Keyset page of {@link #search}, newest date first. The redundant {@code <=} bound lets the
+   * (user_id, date, id) index range-scan from the cursor instead of filtering.
+   */
+  @Query(
+      SEARCH
+          + " and c.date <= :afterDate and (c.date < :afterDate or c.id < :afterId) "
+          + "order by c.date desc, c.id desc")
+  List<CheckIn> searchAfter(
+      @Param("owner") User owner,
+      @Param("routineId") UUID routineId,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate,
+      @Param("afterDate") LocalDate afterDate,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
+  /**
+   * Soft-deletes the routine's live check-ins in one statement, stamping them with the routine's
+   * own deletion time so {@link #restoreDeletedWithRoutine} can tell them apart from check-ins
+   * deleted individually.
+   */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "update CheckIn c set c.deletedAt = :deletedAt, c.serverUpdatedAt = :now, c.updatedAt = :now "
+          + "where c.owner = :owner and c.routine.id = :routineId and c.deletedAt is null")
+  int softDeleteByRoutine(
+      @Param("owner") User owner,
+      @Param("routineId") UUID routineId,
+      @Param("deletedAt") Instant deletedAt,
+      @Param("now") Instant now);
+
+  /** Restores the check-ins that {@link #softDeleteByRoutine} removed with the routine. */
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "update CheckIn c set c.deletedAt = null, c.serverUpdatedAt = :now, c.updatedAt = :now "
+          + "where c.owner = :owner and c.routine.id = :routineId and c.deletedAt = :deletedAt")
+  int restoreDeletedWithRoutine(
+      @Param("owner") User owner,
+      @Param("routineId") UUID routineId,
+      @Param("deletedAt") Instant deletedAt,
+      @Param("now") Instant now);
+
   List<CheckIn> findByOwnerAndServerUpdatedAtGreaterThanEqual(User owner, Instant since);
+
+  List<CheckIn> findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(
+      User owner, LocalDate startDate, LocalDate endDate, Instant since);
+
+  /**
+   * Check-ins dated outside a sync window that changed since {@code since} but existed before it. A
+   * scoped client may still hold an older copy dated inside its window, so it needs the change to
+   * drop that copy.
+   */
+  @Query(
+      "select c from CheckIn c where c.owner = :owner and c.serverUpdatedAt >= :since "
+          + "and c.createdAt < :since and (c.date < :startDate or c.date > :endDate)")
+  List<CheckIn> findChangedOutsideWindow(
+      @Param("owner") User owner,
+      @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate,
+      @Param("since") Instant since);
 }
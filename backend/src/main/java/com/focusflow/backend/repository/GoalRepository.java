@@ -4,12 +4,18 @@ import com.focusflow.backend.entity.Goal;
 import com.focusflow.backend.entity.GoalStatus;
 import com.focusflow.backend.entity.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Responsibility: Persistence operations for goals. Architecture: Repository layer for goal
@@ -21,10 +27,40 @@ public interface GoalRepository extends JpaRepository<Goal, UUID> {
 
   Optional<Goal> findByIdAndOwnerAndDeletedAtIsNull(UUID id, User owner);
 
+  /** Batch lookup used by sync push, including soft-deleted rows. */
+  List<Goal> findByOwnerAndIdIn(User owner, Collection<UUID> ids);
+
+  /**
+   * Ids among {@code ids} owned by another user, so sync can refuse them before an insert hits the
+   * primary key.
+   */
+  @Query("select g.id from Goal g where g.id in :ids and g.owner <> :owner")
+  Set<UUID> findIdsOwnedByOthers(@Param("owner") User owner, @Param("ids") Collection<UUID> ids);
+
   Page<Goal> findByOwnerAndDeletedAtIsNull(User owner, Pageable pageable);
 
   Page<Goal> findByOwnerAndStatusAndDeletedAtIsNull(
       User owner, GoalStatus status, Pageable pageable);
 
+  Slice<Goal> findSliceByOwnerAndDeletedAtIsNull(User owner, Pageable pageable);
+
+  Slice<Goal> findSliceByOwnerAndStatusAndDeletedAtIsNull(
+      User owner, GoalStatus status, Pageable pageable);
+
+  /** Keyset page of live goals, newest first. */
+  @Query(
+      "select g from Goal g "
+          + "where g.owner = :owner and g.deletedAt is null "
+          + "and (:status is null or g.status = :status) "
+          + "and g.createdAt <= :afterCreatedAt "
+          + "and (g.createdAt < :afterCreatedAt or g.id < :afterId) "
+          + "order by g.createdAt desc, g.id desc")
+  List<Goal> findPageAfter(
+      @Param("owner") User owner,
+      @Param("status") GoalStatus status,
+      @Param("afterCreatedAt") Instant afterCreatedAt,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
   List<Goal> findByOwnerAndServerUpdatedAtGreaterThanEqual(User owner, Instant since);
 }
@@ -0,0 +1,156 @@
+package com.focusflow.backend.repository;
+
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Loads imported routines and check-ins through COPY and merges them into the live
+ * tables. Architecture: JDBC-backed repository using the Postgres driver's copy API on the
+ * transaction's connection. Why: COPY into a temporary staging table followed by one set-based
+ * insert is orders of magnitude cheaper than a row-by-row insert per check-in.
+ */
+@Repository
+public class HistoryImportRepository {
+
+  // Temporary tables are unlogged and private to the session; ON COMMIT DROP also cleans up after
+  // a rolled-back import.
+  private static final List<String> CREATE_STAGING_SQL =
+      List.of(
+          """
+      create temporary table import_routines (
+        id uuid not null,
+        title varchar(120) not null,
+        color_tag varchar(30),
+        schedule_days integer not null,
+        is_active boolean not null
+      ) on commit drop
+      """,
+          """
+      create temporary table import_check_ins (
+        id uuid not null,
+        routine_id uuid not null,
+        date date not null,
+        completed boolean not null,
+        completed_at timestamp with time zone
+      ) on commit drop
+      """);
+
+  private static final String COPY_ROUTINES_SQL =
+      "copy import_routines (id, title, color_tag, schedule_days, is_active)"
+          + " from stdin with (format csv)";
+
+  private static final String COPY_CHECK_INS_SQL =
+      "copy import_check_ins (id, routine_id, date, completed, completed_at)"
+          + " from stdin with (format csv)";
+
+  // Routines the account already has are kept as they are.
+  private static final String MERGE_ROUTINES_SQL =
+      """
+      insert into routines (id, user_id, title, color_tag, schedule_days, is_active,
+        client_updated_at, server_updated_at, created_at, updated_at)
+      select id, ?, title, color_tag, schedule_days, is_active, ?, ?, ?, ?
+      from import_routines
+      on conflict (id) do nothing
+      """;
+
+  // Existing data wins: a day already recorded live (even as a tombstone) or in the archive is
+  // skipped, and so are check-ins of routines the account has deleted.
+  private static final String MERGE_CHECK_INS_SQL =
+      """
+      insert into check_ins (id, user_id, routine_id, date, completed, completed_at,
+        client_updated_at, server_updated_at, created_at, updated_at)
+      select s.id, r.user_id, s.routine_id, s.date, s.completed, s.completed_at, ?, ?, ?, ?
+      from import_check_ins s
+      join routines r on r.user_id = ? and r.id = s.routine_id and r.deleted_at is null
+      where not exists (
+        select 1 from check_in_archives a
+        where a.user_id = r.user_id and a.routine_id = s.routine_id
+          and a.month = date_trunc('month', s.date)::date
+          and a.recorded_days & (1 << (extract(day from s.date)::int - 1)) <> 0)
+      on conflict (user_id, routine_id, date) do nothing
+      """;
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+
+  public HistoryImportRepository(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+    this.dataSource = dataSource;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Creates the staging tables; must run inside the import's transaction. */
+  public void createStaging() {
+    CREATE_STAGING_SQL.forEach(jdbcTemplate::execute);
+  }
+
+  /** Returns a stream of CSV lines for import_routines; closing it completes the COPY. */
+  public OutputStream copyRoutines() throws SQLException {
+    return copyIn(COPY_ROUTINES_SQL);
+  }
+
+  /** Returns a stream of CSV lines for import_check_ins; closing it completes the COPY. */
+  public OutputStream copyCheckIns() throws SQLException {
+    return copyIn(COPY_CHECK_INS_SQL);
+  }
+
+  /** Ids of the user's live routines. */
+  public Set<UUID> findLiveRoutineIds(UUID userId) {
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            "select id from routines where user_id = ? and deleted_at is null",
+            UUID.class,
+            userId));
+  }
+
+  /** Those of {@code ids} that are already used by routines of other accounts. */
+  public List<UUID> findForeignRoutineIds(UUID userId, Collection<UUID> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "select id from routines where id = any(?) and user_id <> ?");
+          statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+          statement.setObject(2, userId);
+          return statement;
+        },
+        (rs, rowNum) -> rs.getObject(1, UUID.class));
+  }
+
+  /** Inserts the staged routines the account does not have yet and returns how many. */
+  public int mergeRoutines(UUID userId, Instant now) {
+    Timestamp timestamp = Timestamp.from(now);
+    return jdbcTemplate.update(
+        MERGE_ROUTINES_SQL, userId, timestamp, timestamp, timestamp, timestamp);
+  }
+
+  /** Inserts the staged check-ins for days the account has no record of and returns how many. */
+  public int mergeCheckIns(UUID userId, Instant now) {
+    Timestamp timestamp = Timestamp.from(now);
+    return jdbcTemplate.update(
+        MERGE_CHECK_INS_SQL, timestamp, timestamp, timestamp, timestamp, userId);
+  }
+
+  private OutputStream copyIn(String sql) throws SQLException {
+    // The transaction's connection, so the COPY shares it with the staging tables and the merge.
+    Connection connection = DataSourceUtils.getConnection(dataSource);
+    return new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, 64 * 1024);
+  }
+}
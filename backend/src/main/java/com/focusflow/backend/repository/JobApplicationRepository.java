@@ -5,11 +5,15 @@ import com.focusflow.backend.entity.JobApplicationSource;
 import com.focusflow.backend.entity.JobApplicationStatus;
 import com.focusflow.backend.entity.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,20 +24,54 @@ import org.springframework.data.repository.query.Param;
  * can stay focused on business rules.
  */
 public interface JobApplicationRepository extends JpaRepository<JobApplication, UUID> {
+  String SEARCH =
+      "select a from JobApplication a "
+          + "where a.owner = :owner and a.deletedAt is null "
+          + "and (:status is null or a.status = :status) "
+          + "and (:source is null or a.source = :source)";
+
   Optional<JobApplication> findByIdAndOwner(UUID id, User owner);
 
   Optional<JobApplication> findByIdAndOwnerAndDeletedAtIsNull(UUID id, User owner);
 
-  @Query(
-      "select a from JobApplication a "
-          + "where a.owner = :owner and a.deletedAt is null "
-          + "and (:status is null or a.status = :status) "
-          + "and (:source is null or a.source = :source)")
+  /** Batch lookup used by sync push, including soft-deleted rows. */
+  List<JobApplication> findByOwnerAndIdIn(User owner, Collection<UUID> ids);
+
+  /**
+   * Ids among {@code ids} owned by another user, so sync can refuse them before an insert hits the
+   * primary key.
+   */
+  @Query("select a.id from JobApplication a where a.id in :ids and a.owner <> :owner")
+  Set<UUID> findIdsOwnedByOthers(@Param("owner") User owner, @Param("ids") Collection<UUID> ids);
+
+  @Query(SEARCH)
   Page<JobApplication> search(
       @Param("owner") User owner,
       @Param("status") JobApplicationStatus status,
       @Param("source") JobApplicationSource source,
       Pageable pageable);
 
+  /** Same filter as {@link #search} without the count query. */
+  @Query(SEARCH)
+  Slice<JobApplication> searchSlice(
+      @Param("owner") User owner,
+      @Param("status") JobApplicationStatus status,
+      @Param("source") JobApplicationSource source,
+      Pageable pageable);
+
+  /** Keyset page of {@link #search}, newest first. */
+  @Query(
+      SEARCH
+          + " and a.createdAt <= :afterCreatedAt "
+          + "and (a.createdAt < :afterCreatedAt or a.id < :afterId) "
+          + "order by a.createdAt desc, a.id desc")
+  List<JobApplication> searchAfter(
+      @Param("owner") User owner,
+      @Param("status") JobApplicationStatus status,
+      @Param("source") JobApplicationSource source,
+      @Param("afterCreatedAt") Instant afterCreatedAt,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
   List<JobApplication> findByOwnerAndServerUpdatedAtGreaterThanEqual(User owner, Instant since);
 }
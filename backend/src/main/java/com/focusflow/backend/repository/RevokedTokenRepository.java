@@ -0,0 +1,24 @@
+package com.focusflow.backend.repository;
+
+import com.focusflow.backend.entity.RevokedToken;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Responsibility: Data access for revoked access tokens. Architecture: Repository layer boundary
+ * used by the token revocation service. Why: Keeps the revocation list queries in one place.
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+  @Query("select r.tokenId from RevokedToken r where r.expiresAt > :now")
+  List<UUID> findLiveTokenIds(@Param("now") Instant now);
+
+  @Modifying
+  @Query("delete from RevokedToken r where r.expiresAt < :cutoff")
+  int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
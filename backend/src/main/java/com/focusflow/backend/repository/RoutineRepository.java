@@ -3,12 +3,18 @@ package com.focusflow.backend.repository;
 import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Responsibility: Persistence operations for routines. Architecture: Repository layer for routine
@@ -20,10 +26,42 @@ public interface RoutineRepository extends JpaRepository<Routine, UUID> {
 
   Optional<Routine> findByIdAndOwnerAndDeletedAtIsNull(UUID id, User owner);
 
+  /** Batch lookup used by sync push, including soft-deleted rows. */
+  List<Routine> findByOwnerAndIdIn(User owner, Collection<UUID> ids);
+
+  /**
+   * Ids among {@code ids} owned by another user, so sync can refuse them before an insert hits the
+   * primary key.
+   */
+  @Query("select r.id from Routine r where r.id in :ids and r.owner <> :owner")
+  Set<UUID> findIdsOwnedByOthers(@Param("owner") User owner, @Param("ids") Collection<UUID> ids);
+
+  List<Routine> findByOwnerAndIdInAndDeletedAtIsNull(User owner, Collection<UUID> ids);
+
   Page<Routine> findByOwnerAndDeletedAtIsNull(User owner, Pageable pageable);
 
   Page<Routine> findByOwnerAndActiveAndDeletedAtIsNull(
       User owner, boolean active, Pageable pageable);
 
+  Slice<Routine> findSliceByOwnerAndDeletedAtIsNull(User owner, Pageable pageable);
+
+  Slice<Routine> findSliceByOwnerAndActiveAndDeletedAtIsNull(
+      User owner, boolean active, Pageable pageable);
+
+  /** Keyset page of live routines, newest first. */
+  @Query(
+      "select r from Routine r "
+          + "where r.owner = :owner and r.deletedAt is null "
+          + "and (:active is null or r.active = :active) "
+          + "and r.createdAt <= :afterCreatedAt "
+          + "and (r.createdAt < :afterCreatedAt or r.id < :afterId) "
+          + "order by r.createdAt desc, r.id desc")
+  List<Routine> findPageAfter(
+      @Param("owner") User owner,
+      @Param("active") Boolean active,
+      @Param("afterCreatedAt") Instant afterCreatedAt,
+      @Param("afterId") UUID afterId,
+      Limit limit);
+
   List<Routine> findByOwnerAndServerUpdatedAtGreaterThanEqual(User owner, Instant since);
 }
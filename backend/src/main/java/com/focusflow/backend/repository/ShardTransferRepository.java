@@ -0,0 +1,70 @@
+package com.focusflow.backend.repository;
+
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeTable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Reads a user's rows from one shard and writes them to another. Architecture:
+ * JDBC-backed repository over the sharded user tables, walked in the same keysets as account
+ * purges; the shard context decides which database each call reaches. Why: Rebalancing copies whole
+ * tables column for column, which needs neither entities nor per-table mapping code.
+ */
+@Repository
+public class ShardTransferRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ShardTransferRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Up to {@code limit} of the user's rows after {@code after}, in the table's keyset order. */
+  public List<Map<String, Object>> readBatch(
+      PurgeTable table, UUID userId, Object[] after, int limit) {
+    List<Object> args = new ArrayList<>();
+    args.add(userId);
+    args.addAll(PurgeTable.cursorArgs(after));
+    args.add(limit);
+    return jdbcTemplate.queryForList(
+        "select * from %s where user_id = ?%s order by %s limit ?"
+            .formatted(table.name(), table.cursor(after != null), table.columns()),
+        args.toArray());
+  }
+
+  /**
+   * Inserts rows read by {@link #readBatch} in one JDBC batch. Rows already present are skipped, so
+   * an interrupted copy can simply be repeated.
+   */
+  public int insertRows(PurgeTable table, List<Map<String, Object>> rows) {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    List<String> columns = List.copyOf(rows.get(0).keySet());
+    String sql =
+        "insert into %s (%s) values (%s) on conflict do nothing"
+            .formatted(
+                table.name(),
+                String.join(", ", columns),
+                String.join(", ", Collections.nCopies(columns.size(), "?")));
+    List<Object[]> values = new ArrayList<>(rows.size());
+    for (Map<String, Object> row : rows) {
+      values.add(columns.stream().map(row::get).toArray());
+    }
+    int inserted = 0;
+    for (int count : jdbcTemplate.batchUpdate(sql, values)) {
+      inserted += Math.max(count, 0);
+    }
+    return inserted;
+  }
+
+  /** The keyset of a row read by {@link #readBatch}, to continue after it. */
+  public static Object[] keyOf(PurgeTable table, Map<String, Object> row) {
+    return table.keys().stream().map(row::get).toArray();
+  }
+}
@@ -0,0 +1,108 @@
+package com.focusflow.backend.repository;
+
+import com.focusflow.backend.dto.ConflictReportRow;
+import com.focusflow.backend.dto.SyncConflictEvent;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Persistence operations for the append-only sync conflict log. Architecture:
+ * JDBC-backed repository used by the conflict telemetry service. Why: Batched inserts and aggregate
+ * queries are cheaper and clearer in SQL than through JPA entities.
+ */
+@Repository
+public class SyncConflictLogRepository {
+
+  /** Report dimensions; fixed SQL expressions so no caller input reaches the query text. */
+  public enum Dimension {
+    ENTITY_TYPE("l.entity_type", ""),
+    REASON("l.reason", ""),
+    FIELD(
+        "f.field",
+        "cross join lateral unnest(string_to_array(coalesce(l.fields, '(none)'), ',')) f(field) "),
+    CLIENT_VERSION("coalesce(l.client_version, '(unknown)')", ""),
+    COHORT("to_char(date_trunc('month', u.created_at), 'YYYY-MM')", "");
+
+    private final String expression;
+    private final String join;
+
+    Dimension(String expression, String join) {
+      this.expression = expression;
+      this.join = join;
+    }
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public SyncConflictLogRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void insertBatch(List<SyncConflictEvent> events) {
+    jdbcTemplate.batchUpdate(
+        "insert into sync_conflict_log "
+            + "(user_id, entity_type, entity_id, reason, fields, client_version, occurred_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?)",
+        events,
+        events.size(),
+        (ps, event) -> {
+          ps.setObject(1, event.userId());
+          ps.setString(2, event.entityType());
+          ps.setObject(3, event.entityId());
+          ps.setString(4, event.reason());
+          if (event.fields() != null) {
+            ps.setString(5, event.fields());
+          } else {
+            ps.setNull(5, Types.VARCHAR);
+          }
+          if (event.clientVersion() != null) {
+            ps.setString(6, event.clientVersion());
+          } else {
+            ps.setNull(6, Types.VARCHAR);
+          }
+          ps.setTimestamp(7, Timestamp.from(event.occurredAt()));
+        });
+  }
+
+  public int deleteOlderThan(Instant cutoff) {
+    return jdbcTemplate.update(
+        "delete from sync_conflict_log where occurred_at < ?", Timestamp.from(cutoff));
+  }
+
+  public long countBetween(Instant from, Instant to) {
+    Long count =
+        jdbcTemplate.queryForObject(
+            "select count(*) from sync_conflict_log where occurred_at >= ? and occurred_at < ?",
+            Long.class,
+            Timestamp.from(from),
+            Timestamp.from(to));
+    return count != null ? count : 0;
+  }
+
+  public List<ConflictReportRow> aggregate(
+      Dimension dimension, Instant from, Instant to, long total, int limit) {
+    String sql =
+        "select "
+            + dimension.expression
+            + " as bucket, count(*) as conflicts, count(distinct l.user_id) as users "
+            + "from sync_conflict_log l join users u on u.id = l.user_id "
+            + dimension.join
+            + "where l.occurred_at >= ? and l.occurred_at < ? "
+            + "group by bucket order by conflicts desc limit ?";
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) -> {
+          long conflicts = rs.getLong("conflicts");
+          double share = total > 0 ? (double) conflicts / total : 0;
+          return new ConflictReportRow(
+              rs.getString("bucket"), conflicts, rs.getLong("users"), share);
+        },
+        Timestamp.from(from),
+        Timestamp.from(to),
+        limit);
+  }
+}
@@ -0,0 +1,89 @@
+package com.focusflow.backend.repository;
+
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Streams every live row a user owns, table by table. Architecture: JDBC-backed
+ * repository with its own fetch-size JdbcTemplate, read row by row by the caller. Why: Inside a
+ * transaction the Postgres driver then reads through a server-side cursor, so an export holds one
+ * fetch of rows in memory however large the account is.
+ */
+@Repository
+public class UserExportRepository {
+
+  /** Export files in the order they are written, each with the query producing its rows. */
+  public static final List<ExportTable> TABLES =
+      List.of(
+          new ExportTable(
+              "goals",
+              """
+              select id, title, description, target_date, status, completed_at, created_at,
+                updated_at
+              from goals where user_id = ? and deleted_at is null
+              order by created_at, id
+              """),
+          new ExportTable(
+              "routines",
+              """
+              select id, title, color_tag,
+                array(
+                  select day from unnest(array['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY',
+                    'FRIDAY', 'SATURDAY', 'SUNDAY']) with ordinality as week(day, n)
+                  where schedule_days & (1 << (n::int - 1)) <> 0
+                  order by n) as schedule_days,
+                is_active, created_at, updated_at
+              from routines where user_id = ? and deleted_at is null
+              order by created_at, id
+              """),
+          new ExportTable(
+              "check_ins",
+              """
+              select id, routine_id, date, completed, completed_at, created_at, updated_at
+              from check_ins where user_id = ? and deleted_at is null
+              order by date, id
+              """),
+          // Archived months are expanded back into one row per recorded day.
+          new ExportTable(
+              "archived_check_ins",
+              """
+              select a.routine_id, (a.month + (d - 1))::date as date,
+                a.completed_days & (1 << (d - 1)) <> 0 as completed
+              from check_in_archives a
+              cross join generate_series(1, 31) d
+              where a.user_id = ? and a.recorded_days & (1 << (d - 1)) <> 0
+              order by a.month, a.routine_id, d
+              """),
+          new ExportTable(
+              "job_applications",
+              """
+              select id, company, role, location, source, status, applied_date, notes, url,
+                created_at, updated_at
+              from job_applications where user_id = ? and deleted_at is null
+              order by created_at, id
+              """));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UserExportRepository(
+      DataSource dataSource, @Value("${app.export.fetch-size:500}") int fetchSize) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(fetchSize);
+  }
+
+  /**
+   * Hands the open result of {@code table} for the user to {@code extractor}, which walks it row by
+   * row. Must run inside a transaction; with autocommit on, the driver buffers the whole result.
+   */
+  public <T> T stream(ExportTable table, UUID userId, ResultSetExtractor<T> extractor) {
+    return jdbcTemplate.query(table.sql(), extractor, userId);
+  }
+
+  /** One file of the export and the query producing its rows. */
+  public record ExportTable(String name, String sql) {}
+}
@@ -4,6 +4,8 @@ import com.focusflow.backend.entity.User;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Responsibility: Data access for user identities. Architecture: Repository layer boundary for the
@@ -13,4 +15,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
   Optional<User> findByEmail(String email);
 
   boolean existsByEmail(String email);
+
+  /** Empty for unknown and disabled accounts alike, so neither authenticates. */
+  @Query("select u.tokenGeneration from User u where u.id = :id and u.disabledAt is null")
+  Optional<Integer> findTokenGenerationById(@Param("id") UUID id);
 }
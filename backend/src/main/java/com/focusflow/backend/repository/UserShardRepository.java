@@ -0,0 +1,153 @@
+package com.focusflow.backend.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Responsibility: Reads and updates which shard holds each user's data. Architecture: JDBC-backed
+ * repository over the directory's user_shards table plus the users mirror rows on shards. Why:
+ * Placement is looked up on every routed request and changed by conditional upserts, neither of
+ * which needs an entity.
+ */
+@Repository
+public class UserShardRepository {
+
+  private static final RowMapper<Placement> PLACEMENT =
+      (rs, rowNum) ->
+          new Placement(
+              rs.getObject("user_id", UUID.class),
+              rs.getInt("shard"),
+              rs.getObject("moving_to", Integer.class));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UserShardRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** The user's placement; empty when the user has never been placed and lives on shard 0. */
+  public Optional<Placement> find(UUID userId) {
+    return jdbcTemplate
+        .query(
+            "select user_id, shard, moving_to from user_shards where user_id = ?",
+            PLACEMENT,
+            userId)
+        .stream()
+        .findFirst();
+  }
+
+  /** Places a new user; an existing placement wins. */
+  public void assign(UUID userId, int shard) {
+    jdbcTemplate.update(
+        "insert into user_shards (user_id, shard) values (?, ?) on conflict (user_id) do nothing",
+        userId,
+        shard);
+  }
+
+  /**
+   * Starts moving the user from {@code from} to {@code to}. False when the user is no longer on
+   * {@code from}, another move is already under way, or the account has been disabled.
+   */
+  public boolean markMoving(UUID userId, int from, int to, Instant now) {
+    return jdbcTemplate.update(
+            """
+            insert into user_shards (user_id, shard, moving_to, moving_since)
+            select id, ?, ?, ? from users where id = ? and disabled_at is null
+            on conflict (user_id) do update
+              set moving_to = excluded.moving_to, moving_since = excluded.moving_since
+              where user_shards.shard = excluded.shard and user_shards.moving_to is null
+            """,
+            from,
+            to,
+            Timestamp.from(now),
+            userId)
+        == 1;
+  }
+
+  /**
+   * Takes over moves whose last progress is older than {@code staleBefore}, e.g. after a node died
+   * mid-copy, and stamps them with {@code now} so other nodes leave them alone.
+   */
+  public List<Placement> claimStaleMoves(Instant staleBefore, Instant now, int limit) {
+    return jdbcTemplate.query(
+        """
+        update user_shards set moving_since = ?
+        where user_id in (
+          select user_id from user_shards
+          where moving_to is not null and moving_since < ?
+          order by moving_since
+          limit ?
+          for update skip locked)
+        returning user_id, shard, moving_to
+        """,
+        PLACEMENT,
+        Timestamp.from(now),
+        Timestamp.from(staleBefore),
+        limit);
+  }
+
+  /** Records progress of a running move so it is not taken over as stale. */
+  public void touchMove(UUID userId, Instant now) {
+    jdbcTemplate.update(
+        "update user_shards set moving_since = ? where user_id = ? and moving_to is not null",
+        Timestamp.from(now),
+        userId);
+  }
+
+  /** Switches the user to the shard they were being moved to. */
+  public boolean completeMove(UUID userId, int to) {
+    return jdbcTemplate.update(
+            "update user_shards set shard = moving_to, moving_to = null, moving_since = null "
+                + "where user_id = ? and moving_to = ?",
+            userId,
+            to)
+        == 1;
+  }
+
+  /** Active users after {@code afterId} in id order with their current placement. */
+  public List<Placement> findPlacementsAfter(UUID afterId, int limit) {
+    String sql =
+        """
+        select u.id as user_id, coalesce(s.shard, 0) as shard, s.moving_to
+        from users u left join user_shards s on s.user_id = u.id
+        where u.disabled_at is null%s
+        order by u.id
+        limit ?
+        """;
+    if (afterId == null) {
+      return jdbcTemplate.query(sql.formatted(""), PLACEMENT, limit);
+    }
+    return jdbcTemplate.query(sql.formatted(" and u.id > ?"), PLACEMENT, afterId, limit);
+  }
+
+  /**
+   * Creates the stand-in users row a shard needs for its foreign keys. It carries no credentials
+   * and is disabled, so it can never authenticate.
+   */
+  public void insertUserMirror(UUID userId, Instant now) {
+    jdbcTemplate.update(
+        "insert into users (id, email, password_hash, disabled_at) values (?, ?, '!', ?) "
+            + "on conflict (id) do nothing",
+        userId,
+        userId + "@shard.invalid",
+        Timestamp.from(now));
+  }
+
+  public void deleteUserMirror(UUID userId) {
+    jdbcTemplate.update("delete from users where id = ?", userId);
+  }
+
+  /** Where a user's data lives and, during a move, where it is going. */
+  public record Placement(UUID userId, int shard, Integer movingTo) {
+
+    public boolean isMoving() {
+      return movingTo != null;
+    }
+  }
+}
@@ -6,7 +6,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -23,10 +24,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
   private final UserDetailsServiceImpl userDetailsService;
+  private final UserPrincipalCache principalCache;
+  private final TokenRevocationService revocationService;
+  private final boolean claimsPrincipal;
 
-  public JwtAuthenticationFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService) {
+  public JwtAuthenticationFilter(
+      JwtService jwtService,
+      UserDetailsServiceImpl userDetailsService,
+      UserPrincipalCache principalCache,
+      TokenRevocationService revocationService,
+      @Value("${app.jwt.claims-principal:true}") boolean claimsPrincipal) {
     this.jwtService = jwtService;
     this.userDetailsService = userDetailsService;
+    this.principalCache = principalCache;
+    this.revocationService = revocationService;
+    this.claimsPrincipal = claimsPrincipal;
   }
 
   @Override
@@ -40,28 +52,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     String token = authHeader.substring(7);
-    UUID userId;
-    try {
-      userId = jwtService.extractUserId(token);
-    } catch (Exception ex) {
-      filterChain.doFilter(request, response);
-      return;
-    }
+    // A single verification covers signature, expiry, and claim extraction.
+    Optional<VerifiedToken> verified = jwtService.verify(token);
 
-    if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+    if (verified.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
       try {
-        User user = userDetailsService.loadUserById(userId);
-        if (jwtService.isTokenValid(token, user)) {
-          UsernamePasswordAuthenticationToken authToken =
-              new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-          authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-          SecurityContextHolder.getContext().setAuthentication(authToken);
+        User user = resolvePrincipal(verified.get());
+        if (user == null) {
+          filterChain.doFilter(request, response);
+          return;
         }
+        UsernamePasswordAuthenticationToken authToken =
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
       } catch (Exception ex) {
-        // Treat lookup or validation errors as unauthenticated and continue the chain.
+        // Treat lookup errors as unauthenticated and continue the chain.
       }
     }
 
     filterChain.doFilter(request, response);
   }
+
+  private User resolvePrincipal(VerifiedToken token) {
+    if (revocationService.isRevoked(token)) {
+      return null;
+    }
+    if (!claimsPrincipal) {
+      User user = userDetailsService.loadUserById(token.userId());
+      return user.getTokenGeneration() == token.tokenGeneration() ? user : null;
+    }
+    // Build the principal from signed claims; only the generation check touches shared state, and
+    // it is served from a short-lived cache in the common case.
+    Integer current = principalCache.currentGeneration(token.userId()).orElse(null);
+    if (current == null || current != token.tokenGeneration()) {
+      return null;
+    }
+    User user = new User(token.userId(), token.subject(), null);
+    user.setTokenGeneration(current);
+    return user;
+  }
 }
@@ -2,16 +2,24 @@ package com.focusflow.backend.security;
 
 import com.focusflow.backend.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -23,50 +31,121 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
-  @Value("${app.jwt.secret}")
-  private String secret;
+  private final Key signingKey;
+  private final JwtParser parser;
+  private final long expirationMinutes;
+  private final int maxCachedTokens;
+  private final Clock clock;
+  // Keyed by a SHA-256 digest so raw bearer tokens are never retained in memory.
+  private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
-  @Value("${app.jwt.expiration-minutes}")
-  private long expirationMinutes;
+  public JwtService(
+      @Value("${app.jwt.secret}") String secret,
+      @Value("${app.jwt.expiration-minutes}") long expirationMinutes,
+      @Value("${app.jwt.verified-cache-size:10000}") int maxCachedTokens,
+      Clock clock) {
+    // Use UTF-8 bytes of the configured secret for HMAC signing; the key and parser are immutable
+    // and thread-safe, so build them once instead of per request.
+    this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    this.parser =
+        Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .setClock(() -> Date.from(clock.instant()))
+            .build();
+    this.expirationMinutes = expirationMinutes;
+    this.maxCachedTokens = maxCachedTokens;
+    this.clock = clock;
+  }
 
   public String generateToken(User user) {
-    Instant now = Instant.now();
+    Instant now = Instant.now(clock);
     return Jwts.builder()
+        .setId(UUID.randomUUID().toString())
         .setSubject(user.getEmail())
         .claim("userId", user.getId().toString())
+        .claim("gen", user.getTokenGeneration())
         .setIssuedAt(Date.from(now))
         .setExpiration(Date.from(now.plus(expirationMinutes, ChronoUnit.MINUTES)))
-        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
+  public long getExpirationSeconds() {
+    return expirationMinutes * 60;
+  }
+
+  /**
+   * Verifies the token's signature and expiry exactly once, then serves repeat presentations of the
+   * same token from a bounded cache until its {@code exp}. Returns empty for any invalid token.
+   */
+  public Optional<VerifiedToken> verify(String token) {
+    Instant now = Instant.now(clock);
+    String digest = digest(token);
+    VerifiedToken cached = verifiedTokens.get(digest);
+    if (cached != null) {
+      if (!cached.isExpiredAt(now)) {
+        return Optional.of(cached);
+      }
+      verifiedTokens.remove(digest, cached);
+      return Optional.empty();
+    }
+
+    VerifiedToken verified;
+    try {
+      Claims claims = parser.parseClaimsJws(token).getBody();
+      String userId = claims.get("userId", String.class);
+      if (userId == null || claims.getExpiration() == null) {
+        return Optional.empty();
+      }
+      // Tokens issued before generations existed carry no claim and map to the initial value.
+      Integer generation = claims.get("gen", Integer.class);
+      // Tokens issued before JWT ids existed cannot be revoked individually, only by generation.
+      String tokenId = claims.getId();
+      verified =
+          new VerifiedToken(
+              tokenId != null ? UUID.fromString(tokenId) : null,
+              UUID.fromString(userId),
+              claims.getSubject(),
+              generation != null ? generation : 0,
+              claims.getExpiration().toInstant());
+    } catch (JwtException | IllegalArgumentException ex) {
+      return Optional.empty();
+    }
+
+    cache(digest, verified, now);
+    return Optional.of(verified);
+  }
+
   public UUID extractUserId(String token) {
-    String value = extractClaim(token, claims -> claims.get("userId", String.class));
-    return value != null ? UUID.fromString(value) : null;
+    return verify(token).map(VerifiedToken::userId).orElse(null);
   }
 
   public String extractSubject(String token) {
-    return extractClaim(token, Claims::getSubject);
+    return verify(token).map(VerifiedToken::subject).orElse(null);
   }
 
   public boolean isTokenValid(String token, User user) {
-    UUID tokenUserId = extractUserId(token);
-    return tokenUserId != null && tokenUserId.equals(user.getId()) && !isTokenExpired(token);
-  }
-
-  private boolean isTokenExpired(String token) {
-    return extractClaim(token, Claims::getExpiration).before(new Date());
+    return verify(token).map(verified -> verified.userId().equals(user.getId())).orElse(false);
   }
 
-  private <T> T extractClaim(String token, Function<Claims, T> resolver) {
-    Claims claims =
-        Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-    return resolver.apply(claims);
+  private void cache(String digest, VerifiedToken verified, Instant now) {
+    if (verifiedTokens.size() >= maxCachedTokens) {
+      verifiedTokens.values().removeIf(entry -> entry.isExpiredAt(now));
+      if (verifiedTokens.size() >= maxCachedTokens) {
+        // Still full of live tokens: start over rather than track recency on the hot path.
+        verifiedTokens.clear();
+      }
+    }
+    verifiedTokens.put(digest, verified);
   }
 
-  private Key getSigningKey() {
-    // Use UTF-8 bytes of the configured secret for HMAC signing.
-    byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-    return Keys.hmacShaKeyFor(keyBytes);
+  private String digest(String token) {
+    try {
+      byte[] hash =
+          MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
   }
 }
@@ -0,0 +1,126 @@
+package com.focusflow.backend.security;
+
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Responsibility: Runs password hashing on a dedicated, bounded, CPU-sized pool. Architecture:
+ * Security service wrapping the PasswordEncoder for auth flows. Why: Login bursts must not occupy
+ * every request thread with BCrypt work and starve sync traffic.
+ */
+@Service
+public class PasswordHashingService {
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+  private final long retryAfterSeconds;
+  private final Timer encodeTimer;
+  private final Timer matchTimer;
+  private final Counter rejected;
+
+  public PasswordHashingService(
+      PasswordEncoder passwordEncoder,
+      MeterRegistry meterRegistry,
+      @Value("${app.security.bcrypt.pool-size:0}") int poolSize,
+      @Value("${app.security.bcrypt.queue-capacity:64}") int queueCapacity,
+      @Value("${app.security.bcrypt.timeout-millis:5000}") long timeoutMillis,
+      @Value("${app.security.bcrypt.retry-after-seconds:5}") long retryAfterSeconds) {
+    this.passwordEncoder = passwordEncoder;
+    int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            namedThreads(),
+            new ThreadPoolExecutor.AbortPolicy());
+    this.timeoutMillis = timeoutMillis;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.encodeTimer =
+        Timer.builder("auth.password.hash").tag("operation", "encode").register(meterRegistry);
+    this.matchTimer =
+        Timer.builder("auth.password.hash").tag("operation", "matches").register(meterRegistry);
+    this.rejected = Counter.builder("auth.password.hash.rejected").register(meterRegistry);
+    meterRegistry.gauge("auth.password.hash.queued", executor, pool -> pool.getQueue().size());
+  }
+
+  public String encode(String rawPassword) {
+    return run(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+  }
+
+  public boolean matches(String rawPassword, String passwordHash) {
+    Boolean matched =
+        run(
+            () ->
+                matchTimer.recordCallable(
+                    () -> passwordEncoder.matches(rawPassword, passwordHash)));
+    return Boolean.TRUE.equals(matched);
+  }
+
+  /** True when the stored hash was produced with a weaker cost than currently configured. */
+  public boolean needsUpgrade(String passwordHash) {
+    return passwordEncoder.upgradeEncoding(passwordHash);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  private <T> T run(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException ex) {
+      // Fail fast instead of queueing unbounded CPU work behind a login burst.
+      rejected.increment();
+      throw new ServiceOverloadedException(
+          "Authentication is temporarily throttled", retryAfterSeconds);
+    }
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      future.cancel(true);
+      rejected.increment();
+      throw new ServiceOverloadedException(
+          "Authentication is temporarily throttled", retryAfterSeconds);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new IllegalStateException("Interrupted while hashing password", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Password hashing failed", ex.getCause());
+    }
+  }
+
+  private static ThreadFactory namedThreads() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
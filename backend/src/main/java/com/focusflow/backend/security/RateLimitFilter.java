@@ -0,0 +1,98 @@
+package com.focusflow.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.exception.ApiErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Responsibility: Applies per-user and per-IP token bucket limits to API requests. Architecture:
+ * Security filter placed after JWT authentication so authenticated callers are keyed by user id.
+ * Why: Keeps one misbehaving client in a retry loop from degrading the service for everyone.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final TokenBucketRegistry buckets;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final RateLimitGroup authGroup;
+  private final RateLimitGroup syncGroup;
+  private final RateLimitGroup apiGroup;
+
+  public RateLimitFilter(
+      TokenBucketRegistry buckets,
+      ObjectMapper objectMapper,
+      @Value("${app.rate-limit.enabled:true}") boolean enabled,
+      @Value("${app.rate-limit.auth.capacity:10}") double authCapacity,
+      @Value("${app.rate-limit.auth.refill-per-second:0.2}") double authRefill,
+      @Value("${app.rate-limit.sync.capacity:30}") double syncCapacity,
+      @Value("${app.rate-limit.sync.refill-per-second:1}") double syncRefill,
+      @Value("${app.rate-limit.api.capacity:120}") double apiCapacity,
+      @Value("${app.rate-limit.api.refill-per-second:20}") double apiRefill) {
+    this.buckets = buckets;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.authGroup = new RateLimitGroup("auth", authCapacity, authRefill);
+    this.syncGroup = new RateLimitGroup("sync", syncCapacity, syncRefill);
+    this.apiGroup = new RateLimitGroup("api", apiCapacity, apiRefill);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled || !request.getRequestURI().startsWith("/api/v1/");
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String path = request.getRequestURI();
+    RateLimitGroup group;
+    if (path.startsWith("/api/v1/auth/login") || path.startsWith("/api/v1/auth/register")) {
+      group = authGroup;
+    } else if (path.startsWith("/api/v1/sync/")) {
+      group = syncGroup;
+    } else {
+      group = apiGroup;
+    }
+
+    long waitNanos = buckets.tryConsume(group, clientKey(request, group), System.nanoTime());
+    if (waitNanos == 0) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    ApiErrorResponse body = ApiErrorResponse.of("RATE_LIMITED", "Too many requests", null);
+    objectMapper.writeValue(response.getOutputStream(), body);
+  }
+
+  private String clientKey(HttpServletRequest request, RateLimitGroup group) {
+    // Public auth endpoints have no principal yet, so they are always keyed by caller address.
+    // server.forward-headers-strategy makes this the client behind the proxy, not the proxy.
+    if (group != authGroup) {
+      Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+      if (authentication != null && authentication.getPrincipal() instanceof User user) {
+        return user.getId().toString();
+      }
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+}
@@ -0,0 +1,13 @@
+package com.focusflow.backend.security;
+
+/**
+ * Responsibility: Describes the token bucket limits for one group of endpoints. Architecture:
+ * Security value object configured by the rate limiting filter. Why: Lets login, sync, and general
+ * API traffic be throttled independently.
+ */
+public record RateLimitGroup(String name, double capacity, double refillPerSecond) {
+
+  double refillPerNano() {
+    return refillPerSecond / 1_000_000_000d;
+  }
+}
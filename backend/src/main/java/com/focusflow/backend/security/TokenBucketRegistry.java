@@ -0,0 +1,130 @@
+package com.focusflow.backend.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Responsibility: Holds per-client token buckets in striped concurrent maps. Architecture: Security
+ * component backing the rate limiting filter. Why: Bounds request rates per user or IP with one
+ * small object per active client and no external store.
+ */
+@Component
+public class TokenBucketRegistry {
+
+  private final List<Stripe> stripes;
+  private final long idleTimeoutNanos;
+  private final int maxBucketsPerStripe;
+
+  public TokenBucketRegistry(
+      @Value("${app.rate-limit.stripes:16}") int stripeCount,
+      @Value("${app.rate-limit.idle-timeout-seconds:600}") long idleTimeoutSeconds,
+      @Value("${app.rate-limit.max-buckets-per-stripe:20000}") int maxBucketsPerStripe) {
+    List<Stripe> created = new ArrayList<>(stripeCount);
+    for (int i = 0; i < stripeCount; i++) {
+      created.add(new Stripe());
+    }
+    this.stripes = List.copyOf(created);
+    this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+    this.maxBucketsPerStripe = maxBucketsPerStripe;
+  }
+
+  /**
+   * Takes one token for the client in the given group. Returns zero when allowed, otherwise the
+   * number of nanoseconds until a token becomes available. New clients arriving while their stripe
+   * is full of active buckets share one overflow bucket per group, so spraying fresh keys cannot
+   * grow the registry past its cap.
+   */
+  public long tryConsume(RateLimitGroup group, String clientId, long nowNanos) {
+    BucketKey key = new BucketKey(group.name(), clientId);
+    Stripe stripe = stripeFor(key);
+    TokenBucket bucket = stripe.buckets.get(key);
+    if (bucket == null) {
+      if (stripe.buckets.size() >= maxBucketsPerStripe) {
+        evictIdle(stripe, nowNanos);
+      }
+      if (stripe.buckets.size() >= maxBucketsPerStripe) {
+        bucket =
+            stripe.overflow.computeIfAbsent(
+                group.name(),
+                ignored -> new TokenBucket(group.capacity(), group.refillPerNano(), nowNanos));
+      } else {
+        bucket =
+            stripe.buckets.computeIfAbsent(
+                key, ignored -> new TokenBucket(group.capacity(), group.refillPerNano(), nowNanos));
+      }
+    }
+    return bucket.tryConsume(nowNanos);
+  }
+
+  @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-millis:60000}")
+  public void evictIdle() {
+    long now = System.nanoTime();
+    for (Stripe stripe : stripes) {
+      evictIdle(stripe, now);
+    }
+  }
+
+  int size() {
+    int total = 0;
+    for (Stripe stripe : stripes) {
+      total += stripe.buckets.size();
+    }
+    return total;
+  }
+
+  private void evictIdle(Stripe stripe, long nowNanos) {
+    // An idle bucket has refilled completely, so dropping it cannot grant extra requests.
+    stripe.buckets.values().removeIf(bucket -> bucket.idleFor(nowNanos) > idleTimeoutNanos);
+  }
+
+  private Stripe stripeFor(BucketKey key) {
+    return stripes.get(Math.floorMod(key.hashCode(), stripes.size()));
+  }
+
+  private record BucketKey(String group, String clientId) {}
+
+  /** Per-client buckets plus one shared overflow bucket per group for when the stripe is full. */
+  private static final class Stripe {
+
+    private final ConcurrentHashMap<BucketKey, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, TokenBucket> overflow = new ConcurrentHashMap<>();
+  }
+
+  /** Lazily refilled bucket; state is two primitives guarded by the bucket's monitor. */
+  private static final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double capacity, double refillPerNano, long nowNanos) {
+      this.capacity = capacity;
+      this.refillPerNano = refillPerNano;
+      this.tokens = capacity;
+      this.lastRefillNanos = nowNanos;
+    }
+
+    synchronized long tryConsume(long nowNanos) {
+      long elapsed = nowNanos - lastRefillNanos;
+      if (elapsed > 0) {
+        tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+        lastRefillNanos = nowNanos;
+      }
+      if (tokens >= 1) {
+        tokens -= 1;
+        return 0;
+      }
+      return (long) Math.ceil((1 - tokens) / refillPerNano);
+    }
+
+    synchronized long idleFor(long nowNanos) {
+      return nowNanos - lastRefillNanos;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.focusflow.backend.security;
+
+import com.focusflow.backend.repository.UserRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Responsibility: Caches each user's current token generation for a short TTL. Architecture:
+ * Security component consulted by the JWT filter when principals are built from claims. Why: Keeps
+ * authentication free of per-request user lookups while still honoring account state changes.
+ */
+@Component
+public class UserPrincipalCache {
+
+  private final UserRepository userRepository;
+  private final Clock clock;
+  private final Duration ttl;
+  private final int maxEntries;
+  private final Map<UUID, CachedGeneration> generations = new ConcurrentHashMap<>();
+
+  public UserPrincipalCache(
+      UserRepository userRepository,
+      Clock clock,
+      @Value("${app.jwt.principal-cache.ttl-seconds:60}") long ttlSeconds,
+      @Value("${app.jwt.principal-cache.max-entries:50000}") int maxEntries) {
+    this.userRepository = userRepository;
+    this.clock = clock;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.maxEntries = maxEntries;
+  }
+
+  /** Returns the user's current token generation, or empty when the account no longer exists. */
+  public Optional<Integer> currentGeneration(UUID userId) {
+    Instant now = Instant.now(clock);
+    CachedGeneration cached = generations.get(userId);
+    if (cached != null && cached.expiresAt().isAfter(now)) {
+      return Optional.of(cached.generation());
+    }
+
+    Optional<Integer> loaded = userRepository.findTokenGenerationById(userId);
+    if (loaded.isEmpty()) {
+      generations.remove(userId);
+      return Optional.empty();
+    }
+    if (generations.size() >= maxEntries) {
+      generations.values().removeIf(entry -> !entry.expiresAt().isAfter(now));
+      if (generations.size() >= maxEntries) {
+        generations.clear();
+      }
+    }
+    generations.put(userId, new CachedGeneration(loaded.get(), now.plus(ttl)));
+    return loaded;
+  }
+
+  /**
+   * Drops the cached state for a user. Call after persisting an account change; other nodes pick it
+   * up once their entry expires.
+   */
+  public void invalidate(UUID userId) {
+    generations.remove(userId);
+  }
+
+  private record CachedGeneration(int generation, Instant expiresAt) {}
+}
@@ -0,0 +1,65 @@
+package com.focusflow.backend.security;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Responsibility: Answers "definitely absent" or "maybe present" for UUIDs in constant memory.
+ * Architecture: Thread-safe probabilistic set used by the token revocation service. Why: Lets the
+ * authentication path skip the revocation lookup for almost every token.
+ */
+final class UuidBloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+
+  UuidBloomFilter(int expectedInsertions, double falsePositiveRate) {
+    int expected = Math.max(1, expectedInsertions);
+    long bits =
+        (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    int wordCount = (int) Math.max(1, (bits + 63) / 64);
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = (long) wordCount * 64;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+  }
+
+  void put(UUID value) {
+    long h1 = mix(value.getMostSignificantBits());
+    long h2 = mix(value.getLeastSignificantBits()) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+      do {
+        current = words.get(word);
+        if ((current & mask) != 0) {
+          break;
+        }
+      } while (!words.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  boolean mightContain(UUID value) {
+    long h1 = mix(value.getMostSignificantBits());
+    long h2 = mix(value.getLeastSignificantBits()) | 1;
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Random UUID halves are already well distributed; the finalizer also covers time-ordered ids.
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+}
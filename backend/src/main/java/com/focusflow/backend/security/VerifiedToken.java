@@ -0,0 +1,17 @@
+package com.focusflow.backend.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Responsibility: Holds the claims of a JWT whose signature and expiry were checked. Architecture:
+ * Security value object produced by JwtService and consumed by the authentication filter. Why: Lets
+ * callers read claims without re-parsing or re-verifying the token.
+ */
+public record VerifiedToken(
+    UUID tokenId, UUID userId, String subject, int tokenGeneration, Instant expiresAt) {
+
+  public boolean isExpiredAt(Instant instant) {
+    return !expiresAt.isAfter(instant);
+  }
+}
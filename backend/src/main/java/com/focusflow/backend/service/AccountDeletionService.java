@@ -0,0 +1,195 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.dto.AccountDeletionResponse;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.AccountDeletionRepository;
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeBatch;
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeTable;
+import com.focusflow.backend.repository.UserRepository;
+import com.focusflow.backend.repository.UserShardRepository.Placement;
+import com.focusflow.backend.security.UserPrincipalCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Disables accounts on request and purges their data in throttled batches.
+ * Architecture: Service behind the account endpoint plus a scheduled worker over the account
+ * deletion repository. Why: A single cascading delete of a long-time user holds locks and floods
+ * the WAL for as long as it runs.
+ */
+@Service
+public class AccountDeletionService {
+
+  private static final Logger log = LoggerFactory.getLogger(AccountDeletionService.class);
+
+  private final UserRepository userRepository;
+  private final AccountDeletionRepository repository;
+  private final RefreshTokenService refreshTokenService;
+  private final UserPrincipalCache principalCache;
+  private final RoutineLookupCache routineLookupCache;
+  private final UserShardResolver userShardResolver;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final int batchSize;
+  private final long pauseMillis;
+  private final Duration lease;
+
+  public AccountDeletionService(
+      UserRepository userRepository,
+      AccountDeletionRepository repository,
+      RefreshTokenService refreshTokenService,
+      UserPrincipalCache principalCache,
+      RoutineLookupCache routineLookupCache,
+      UserShardResolver userShardResolver,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      @Value("${app.account-deletion.batch-size:500}") int batchSize,
+      @Value("${app.account-deletion.pause-millis:100}") long pauseMillis,
+      @Value("${app.account-deletion.lease-seconds:300}") long leaseSeconds) {
+    this.userRepository = userRepository;
+    this.repository = repository;
+    this.refreshTokenService = refreshTokenService;
+    this.principalCache = principalCache;
+    this.routineLookupCache = routineLookupCache;
+    this.userShardResolver = userShardResolver;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.batchSize = batchSize;
+    this.pauseMillis = pauseMillis;
+    this.lease = Duration.ofSeconds(leaseSeconds);
+  }
+
+  /**
+   * Disables the account in one short transaction and queues its data for purging. Repeating the
+   * request is harmless.
+   */
+  @Transactional
+  public AccountDeletionResponse requestDeletion(User principal) {
+    User user =
+        userRepository
+            .findById(principal.getId())
+            .orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unknown user"));
+    Instant now = Instant.now(clock);
+    if (user.getDisabledAt() == null) {
+      user.disable(now);
+      userRepository.save(user);
+    }
+    repository.create(user.getId(), now);
+    refreshTokenService.revokeAll(user.getId());
+    invalidatePrincipalAfterCommit(user.getId());
+    routineLookupCache.evictOwner(user.getId());
+    return new AccountDeletionResponse(user.getId(), user.getDisabledAt());
+  }
+
+  // Invalidating before commit would let a concurrent request re-cache the still-enabled user.
+  private void invalidatePrincipalAfterCommit(UUID userId) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              principalCache.invalidate(userId);
+            }
+          });
+    } else {
+      principalCache.invalidate(userId);
+    }
+  }
+
+  /** Works through queued deletions one account at a time until none is left to claim. */
+  @Scheduled(fixedDelayString = "${app.account-deletion.poll-interval-millis:10000}")
+  public void purgePending() {
+    Optional<UUID> next;
+    while ((next = repository.claimNext(Instant.now(clock), leaseUntil())).isPresent()) {
+      UUID userId = next.get();
+      try {
+        purge(userId);
+      } catch (RuntimeException ex) {
+        // The lease lapses and the job restarts from the first table; batches already deleted
+        // are simply not found again.
+        log.warn("Account deletion for {} failed; will retry", userId, ex);
+        return;
+      }
+    }
+  }
+
+  private void purge(UUID userId) {
+    Placement placement = userShardResolver.currentPlacement(userId);
+    if (placement.isMoving()) {
+      // Purging while the rebalancer copies would leave rows behind on one of the two shards; the
+      // job is picked up again once its lease lapses.
+      log.info("Account deletion for {} waits for its shard move to finish", userId);
+      return;
+    }
+    long total = 0;
+    for (PurgeTable table : AccountDeletionRepository.PURGE_ORDER) {
+      int shard = table.sharded() ? placement.shard() : 0;
+      Counter deleted =
+          Counter.builder("account.deletion.rows")
+              .tag("table", table.name())
+              .register(meterRegistry);
+      long tableTotal = 0;
+      Object[] after = null;
+      while (true) {
+        Object[] cursor = after;
+        Optional<PurgeBatch> batch =
+            userShardResolver.callOnShard(
+                shard, () -> repository.purgeBatch(table, userId, cursor, batchSize));
+        if (batch.isEmpty()) {
+          break;
+        }
+        long rows = batch.get().deletedRows();
+        tableTotal += rows;
+        deleted.increment(rows);
+        repository.recordProgress(userId, table.name(), rows, leaseUntil());
+        after = batch.get().lastKey();
+        pause();
+      }
+      if (tableTotal > 0) {
+        log.info(
+            "Account deletion for {}: removed {} rows from {}", userId, tableTotal, table.name());
+      }
+      total += tableTotal;
+    }
+    if (placement.shard() != 0) {
+      // The shard's stand-in users row; the directory row below is the real one.
+      userShardResolver.runOnShard(placement.shard(), () -> repository.deleteUser(userId));
+    }
+    repository.deleteUser(userId);
+    repository.complete(userId, Instant.now(clock));
+    log.info("Account deletion for {} completed; removed {} rows", userId, total);
+  }
+
+  private void pause() {
+    if (pauseMillis <= 0) {
+      return;
+    }
+    // Leaves room between batches for replication, vacuum and foreground writes on the same rows.
+    try {
+      Thread.sleep(pauseMillis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while purging an account", ex);
+    }
+  }
+
+  private Instant leaseUntil() {
+    return Instant.now(clock).plus(lease);
+  }
+}
@@ -2,14 +2,21 @@ package com.focusflow.backend.service;
 
 import com.focusflow.backend.dto.AuthResponse;
 import com.focusflow.backend.dto.LoginRequest;
+import com.focusflow.backend.dto.LogoutRequest;
+import com.focusflow.backend.dto.RefreshTokenRequest;
 import com.focusflow.backend.dto.RegisterRequest;
 import com.focusflow.backend.entity.User;
+import com.focusflow.backend.id.IdGenerator;
 import com.focusflow.backend.repository.UserRepository;
 import com.focusflow.backend.security.JwtService;
-import java.util.UUID;
+import com.focusflow.backend.security.PasswordHashingService;
+import com.focusflow.backend.security.TokenRevocationService;
+import com.focusflow.backend.security.UserPrincipalCache;
+import com.focusflow.backend.service.RefreshTokenService.IssuedRefreshToken;
+import com.focusflow.backend.service.RefreshTokenService.Rotation;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -21,14 +28,31 @@ import org.springframework.web.server.ResponseStatusException;
 public class AuthService {
 
   private final UserRepository userRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
   private final JwtService jwtService;
+  private final RefreshTokenService refreshTokenService;
+  private final TokenRevocationService revocationService;
+  private final UserPrincipalCache principalCache;
+  private final IdGenerator idGenerator;
+  private final UserShardResolver userShardResolver;
 
   public AuthService(
-      UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+      UserRepository userRepository,
+      PasswordHashingService passwordHashingService,
+      JwtService jwtService,
+      RefreshTokenService refreshTokenService,
+      TokenRevocationService revocationService,
+      UserPrincipalCache principalCache,
+      IdGenerator idGenerator,
+      UserShardResolver userShardResolver) {
     this.userRepository = userRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.passwordHashingService = passwordHashingService;
     this.jwtService = jwtService;
+    this.refreshTokenService = refreshTokenService;
+    this.revocationService = revocationService;
+    this.principalCache = principalCache;
+    this.idGenerator = idGenerator;
+    this.userShardResolver = userShardResolver;
   }
 
   public AuthResponse register(RegisterRequest request) {
@@ -39,10 +63,12 @@ public class AuthService {
 
     // Hash the password once and store only the hash; never persist raw credentials.
     User user =
-        new User(UUID.randomUUID(), normalizedEmail, passwordEncoder.encode(request.password()));
+        new User(
+            idGenerator.next(), normalizedEmail, passwordHashingService.encode(request.password()));
     userRepository.save(user);
+    userShardResolver.assignNewUser(user.getId());
 
-    return new AuthResponse(jwtService.generateToken(user), user.getId(), user.getEmail());
+    return authenticated(user, refreshTokenService.issue(user));
   }
 
   public AuthResponse login(LoginRequest request) {
@@ -53,10 +79,54 @@ public class AuthService {
                 () -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
 
     // Use the encoder to avoid timing leaks and keep hash format consistent.
-    if (!passwordEncoder.matches(request.password(), user.getPassword())) {
+    if (!passwordHashingService.matches(request.password(), user.getPassword())) {
       throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
     }
 
-    return new AuthResponse(jwtService.generateToken(user), user.getId(), user.getEmail());
+    // The raw password is only available here, so this is where old, cheaper hashes get upgraded.
+    if (passwordHashingService.needsUpgrade(user.getPassword())) {
+      user.setPasswordHash(passwordHashingService.encode(request.password()));
+      userRepository.save(user);
+    }
+
+    return authenticated(user, refreshTokenService.issue(user));
+  }
+
+  /** Renews a session from a refresh token; no password hashing is involved. */
+  public AuthResponse refresh(RefreshTokenRequest request) {
+    Rotation rotation = refreshTokenService.rotate(request.refreshToken());
+    return authenticated(rotation.user(), rotation.refreshToken());
+  }
+
+  /** Revokes the presented access token and, when given, the refresh token family. */
+  public void logout(String accessToken, LogoutRequest request) {
+    jwtService.verify(accessToken).ifPresent(revocationService::revoke);
+    if (request != null && request.refreshToken() != null && !request.refreshToken().isBlank()) {
+      refreshTokenService.revoke(request.refreshToken());
+    }
+  }
+
+  /** Ends every session of the user by bumping the token generation. */
+  @Transactional
+  public void logoutAll(User principal) {
+    User user =
+        userRepository
+            .findById(principal.getId())
+            .orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unknown user"));
+    user.incrementTokenGeneration();
+    userRepository.save(user);
+    refreshTokenService.revokeAll(user.getId());
+    principalCache.invalidate(user.getId());
+  }
+
+  private AuthResponse authenticated(User user, IssuedRefreshToken refreshToken) {
+    return new AuthResponse(
+        jwtService.generateToken(user),
+        jwtService.getExpirationSeconds(),
+        refreshToken.value(),
+        refreshToken.expiresAt(),
+        user.getId(),
+        user.getEmail());
   }
 }
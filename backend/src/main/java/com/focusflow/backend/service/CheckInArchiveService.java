@@ -0,0 +1,148 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.dto.CheckInMonthResponse;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.CheckInArchiveRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Folds old check-ins into per-month bitmaps and serves history across both tiers.
+ * Architecture: Scheduled service over the archive repository, also backing the history endpoint.
+ * Why: Years of daily check-ins shrink to one small row per routine and month, while history reads
+ * still see every day.
+ */
+@Service
+public class CheckInArchiveService {
+
+  private static final Logger log = LoggerFactory.getLogger(CheckInArchiveService.class);
+
+  private final CheckInArchiveRepository repository;
+  private final UserShardResolver userShardResolver;
+  private final Clock clock;
+  private final boolean enabled;
+  private final int afterMonths;
+  private final int batchSize;
+  private final int maxHistoryMonths;
+
+  public CheckInArchiveService(
+      CheckInArchiveRepository repository,
+      UserShardResolver userShardResolver,
+      Clock clock,
+      @Value("${app.check-ins.archive.enabled:false}") boolean enabled,
+      @Value("${app.check-ins.archive.after-months:12}") int afterMonths,
+      @Value("${app.check-ins.archive.batch-size:500}") int batchSize,
+      @Value("${app.check-ins.history.max-months:120}") int maxHistoryMonths) {
+    this.repository = repository;
+    this.userShardResolver = userShardResolver;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.afterMonths = afterMonths;
+    this.batchSize = batchSize;
+    this.maxHistoryMonths = maxHistoryMonths;
+  }
+
+  @Scheduled(cron = "${app.check-ins.archive.cron:0 30 2 * * *}")
+  public void archiveOldCheckIns() {
+    if (!enabled) {
+      return;
+    }
+    LocalDate cutoff = cutoff();
+    // Each shard holds its own partitions and archive, so each is folded on its own.
+    for (int shard : userShardResolver.shardIds()) {
+      userShardResolver.runOnShard(shard, () -> archiveShard(shard, cutoff));
+    }
+  }
+
+  /**
+   * First day that list, scroll and sync reads serve from live rows, or null while archiving is
+   * off. The archiver only folds months before this day, so it never removes a check-in a client
+   * can still pull; older days are read through {@link #monthlyHistory}.
+   */
+  public LocalDate liveHorizon() {
+    return enabled ? cutoff() : null;
+  }
+
+  /**
+   * Applies a sync delete for a check-in that was folded into the archive after the client pulled
+   * it. Returns false when the day is not archived either.
+   */
+  public boolean forgetArchivedDay(User user, UUID routineId, LocalDate date) {
+    return repository.clearDay(user.getId(), routineId, date);
+  }
+
+  /**
+   * Returns one entry per routine and month between {@code from} and {@code to}, inclusive of both
+   * months. Defaults to the twelve months ending with the current one.
+   */
+  @Transactional(readOnly = true)
+  public List<CheckInMonthResponse> monthlyHistory(
+      User user, UUID routineId, LocalDate from, LocalDate to) {
+    LocalDate toMonth = (to != null ? to : LocalDate.now(clock)).withDayOfMonth(1);
+    LocalDate fromMonth = from != null ? from.withDayOfMonth(1) : toMonth.minusMonths(11);
+    if (fromMonth.isAfter(toMonth)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+    }
+    if (fromMonth.plusMonths(maxHistoryMonths).isBefore(toMonth.plusMonths(1))) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "History is limited to " + maxHistoryMonths + " months");
+    }
+    return repository.findMonthlyHistory(user.getId(), routineId, fromMonth, toMonth.plusMonths(1));
+  }
+
+  private LocalDate cutoff() {
+    return LocalDate.now(clock).withDayOfMonth(1).minusMonths(afterMonths);
+  }
+
+  private void archiveShard(int shard, LocalDate cutoff) {
+    List<LocalDate> months;
+    try {
+      months = repository.findMonthsBefore(cutoff);
+    } catch (RuntimeException ex) {
+      log.warn("Could not list check-in months before {} on shard {}", cutoff, shard, ex);
+      return;
+    }
+    for (LocalDate month : months) {
+      try {
+        archiveMonth(shard, month);
+      } catch (RuntimeException ex) {
+        // Folded batches are already committed; the rest of the month is retried on the next run.
+        log.warn("Could not archive check-ins for {} on shard {}", month, shard, ex);
+      }
+    }
+  }
+
+  private void archiveMonth(int shard, LocalDate month) {
+    int archived = 0;
+    UUID after = null;
+    while (true) {
+      // One statement per user batch keeps each transaction, and the rows it locks, small.
+      List<UUID> userIds = repository.findUserIdsAfter(after, batchSize);
+      if (userIds.isEmpty()) {
+        break;
+      }
+      archived += repository.foldMonth(userIds, month, clock.instant());
+      if (userIds.size() < batchSize) {
+        break;
+      }
+      after = userIds.get(userIds.size() - 1);
+    }
+    boolean dropped = repository.dropPartitionIfEmpty(month);
+    log.info(
+        "Archived {} routine months for {} on shard {}{}",
+        archived,
+        month,
+        shard,
+        dropped ? " and dropped its partition" : "");
+  }
+}
@@ -0,0 +1,62 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.repository.CheckInPartitionRepository;
+import java.time.Clock;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Responsibility: Keeps future monthly check-in partitions created ahead of time. Architecture:
+ * Scheduled service running at startup and daily against the partition repository. Why: Writes for
+ * a month without a partition fall into the default partition, which every query has to scan.
+ */
+@Service
+public class CheckInPartitionService {
+
+  private static final Logger log = LoggerFactory.getLogger(CheckInPartitionService.class);
+
+  private final CheckInPartitionRepository repository;
+  private final UserShardResolver userShardResolver;
+  private final Clock clock;
+  private final int monthsAhead;
+
+  public CheckInPartitionService(
+      CheckInPartitionRepository repository,
+      UserShardResolver userShardResolver,
+      Clock clock,
+      @Value("${app.check-ins.partitions.months-ahead:3}") int monthsAhead) {
+    this.repository = repository;
+    this.userShardResolver = userShardResolver;
+    this.clock = clock;
+    this.monthsAhead = monthsAhead;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${app.check-ins.partitions.cron:0 0 2 * * *}")
+  public void ensureFuturePartitions() {
+    // Starts one month back so a client writing yesterday's check-in on the 1st still lands in a
+    // real partition even if the previous run was missed.
+    LocalDate fromMonth = LocalDate.now(clock).withDayOfMonth(1).minusMonths(1);
+    for (int shard : userShardResolver.shardIds()) {
+      try {
+        int created =
+            userShardResolver.callOnShard(
+                shard, () -> repository.ensurePartitions(fromMonth, monthsAhead + 1));
+        if (created > 0) {
+          log.info(
+              "Created {} check-in partitions starting {} on shard {}", created, fromMonth, shard);
+        }
+      } catch (RuntimeException ex) {
+        // Missing partitions only degrade to the default partition; retry on the next run.
+        log.warn(
+            "Could not create check-in partitions starting {} on shard {}", fromMonth, shard, ex);
+      }
+    }
+  }
+}
@@ -1,21 +1,25 @@
 package com.focusflow.backend.service;
 
 import com.focusflow.backend.dto.CheckInRequest;
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.entity.CheckIn;
 import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
 import com.focusflow.backend.exception.ConflictException;
 import com.focusflow.backend.exception.ResourceNotFoundException;
+import com.focusflow.backend.id.IdGenerator;
 import com.focusflow.backend.mapper.CheckInMapper;
 import com.focusflow.backend.repository.CheckInRepository;
-import com.focusflow.backend.repository.RoutineRepository;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Responsibility: Implements check-in business rules and persistence orchestration. Architecture:
@@ -25,25 +29,68 @@ import org.springframework.stereotype.Service;
 @Service
 public class CheckInService {
 
+  /** Served by the live (user_id, date, id) index, which the search's date bounds range-scan. */
+  static final SortAllowList SORTS = SortAllowList.of(Direction.DESC, "date");
+
   private final CheckInRepository checkInRepository;
-  private final RoutineRepository routineRepository;
+  private final RoutineLookupCache routineLookupCache;
+  private final CheckInArchiveService checkInArchiveService;
   private final CheckInMapper checkInMapper;
+  private final IdGenerator idGenerator;
   private final Clock clock;
 
   public CheckInService(
       CheckInRepository checkInRepository,
-      RoutineRepository routineRepository,
+      RoutineLookupCache routineLookupCache,
+      CheckInArchiveService checkInArchiveService,
       CheckInMapper checkInMapper,
+      IdGenerator idGenerator,
       Clock clock) {
     this.checkInRepository = checkInRepository;
-    this.routineRepository = routineRepository;
+    this.routineLookupCache = routineLookupCache;
+    this.checkInArchiveService = checkInArchiveService;
     this.checkInMapper = checkInMapper;
+    this.idGenerator = idGenerator;
     this.clock = clock;
   }
 
+  @Transactional(readOnly = true)
   public Page<CheckIn> listCheckIns(
       User user, UUID routineId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
-    return checkInRepository.search(user, routineId, startDate, endDate, pageable);
+    return checkInRepository.search(
+        user, routineId, lowerBound(startDate), upperBound(endDate), SORTS.apply(pageable));
+  }
+
+  /** Like {@link #listCheckIns} but skips the total count. */
+  @Transactional(readOnly = true)
+  public Slice<CheckIn> sliceCheckIns(
+      User user, UUID routineId, LocalDate startDate, LocalDate endDate, Pageable pageable) {
+    return checkInRepository.searchSlice(
+        user, routineId, lowerBound(startDate), upperBound(endDate), SORTS.apply(pageable));
+  }
+
+  /** Keyset listing ordered by check-in date, newest first. */
+  @Transactional(readOnly = true)
+  public CursorPage<CheckIn> scrollCheckIns(
+      User user,
+      UUID routineId,
+      LocalDate startDate,
+      LocalDate endDate,
+      String cursor,
+      Integer size) {
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    return KeysetCursor.page(
+        checkInRepository.searchAfter(
+            user,
+            routineId,
+            lowerBound(startDate),
+            upperBound(endDate),
+            KeysetCursor.dateKey(after),
+            KeysetCursor.idKey(after),
+            KeysetCursor.fetchLimit(size)),
+        size,
+        CheckIn::getDate,
+        CheckIn::getId);
   }
 
   public CheckIn createCheckIn(User user, CheckInRequest request) {
@@ -54,7 +101,7 @@ public class CheckInService {
     }
 
     CheckIn checkIn = new CheckIn();
-    checkIn.setId(UUID.randomUUID());
+    checkIn.setId(idGenerator.next());
     checkIn.setOwner(user);
     checkIn.setRoutine(routine);
     checkInMapper.applyRequest(checkIn, request);
@@ -107,11 +154,23 @@ public class CheckInService {
   }
 
   private Routine getRoutineForUser(User user, UUID routineId) {
-    return routineRepository
-        .findByIdAndOwnerAndDeletedAtIsNull(routineId, user)
+    return routineLookupCache
+        .findLive(user, routineId)
         .orElseThrow(() -> new ResourceNotFoundException("Routine not found"));
   }
 
+  // Open ranges become explicit bounds so date filters always reach the partition pruner. Days
+  // before the archive horizon are only served by the monthly history.
+  private LocalDate lowerBound(LocalDate startDate) {
+    LocalDate lower = startDate != null ? startDate : CheckIn.MIN_DATE;
+    LocalDate horizon = checkInArchiveService.liveHorizon();
+    return horizon != null && horizon.isAfter(lower) ? horizon : lower;
+  }
+
+  private LocalDate upperBound(LocalDate endDate) {
+    return endDate != null ? endDate : CheckIn.MAX_DATE;
+  }
+
   private Instant defaultClientUpdatedAt(Instant clientUpdatedAt, Instant now) {
     return clientUpdatedAt != null ? clientUpdatedAt : now;
   }
@@ -0,0 +1,123 @@
+package com.focusflow.backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Reads RFC 4180 CSV records one at a time. Architecture: Service-layer helper over
+ * an upload stream, used by the history import. Why: Imports validate and forward each row as it is
+ * read, so an upload of any size is never held in memory.
+ */
+final class CsvRecordReader implements Closeable {
+
+  static final int MAX_FIELD_LENGTH = 4096;
+
+  private static final int NONE = -2;
+
+  private final BufferedReader reader;
+  private long line;
+  private long nextLine = 1;
+  private int pushedBack = NONE;
+
+  CsvRecordReader(InputStream in) {
+    this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+  }
+
+  /** Line on which the last returned record started, for error messages. */
+  long line() {
+    return line;
+  }
+
+  /** Returns the next non-blank record, or null at the end of the input. */
+  List<String> next() throws IOException {
+    List<String> record;
+    do {
+      record = readRecord();
+    } while (record != null && record.size() == 1 && record.get(0).isBlank());
+    return record;
+  }
+
+  private List<String> readRecord() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+    if (c == '\uFEFF' && nextLine == 1) {
+      // Spreadsheet exports often start with a byte order mark.
+      c = read();
+    }
+    line = nextLine;
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw invalid("unterminated quoted field");
+        }
+        if (c == '"') {
+          int following = read();
+          if (following != '"') {
+            quoted = false;
+            c = following;
+            continue;
+          }
+        } else if (c == '\n') {
+          nextLine++;
+        }
+        append(field, c);
+      } else if (c == '"' && field.isEmpty()) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\r' || c == '\n' || c == -1) {
+        if (c == '\r') {
+          int following = read();
+          if (following != '\n') {
+            pushedBack = following;
+          }
+        }
+        nextLine++;
+        fields.add(field.toString());
+        return fields;
+      } else {
+        append(field, c);
+      }
+      c = read();
+    }
+  }
+
+  private void append(StringBuilder field, int c) {
+    if (field.length() >= MAX_FIELD_LENGTH) {
+      throw invalid("field longer than " + MAX_FIELD_LENGTH + " characters");
+    }
+    field.append((char) c);
+  }
+
+  private int read() throws IOException {
+    if (pushedBack != NONE) {
+      int c = pushedBack;
+      pushedBack = NONE;
+      return c;
+    }
+    return reader.read();
+  }
+
+  private ResponseStatusException invalid(String problem) {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Line " + line + ": " + problem);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
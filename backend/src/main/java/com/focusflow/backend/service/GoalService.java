@@ -1,10 +1,12 @@
 package com.focusflow.backend.service;
 
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.GoalRequest;
 import com.focusflow.backend.entity.Goal;
 import com.focusflow.backend.entity.GoalStatus;
 import com.focusflow.backend.entity.User;
 import com.focusflow.backend.exception.ResourceNotFoundException;
+import com.focusflow.backend.id.IdGenerator;
 import com.focusflow.backend.mapper.GoalMapper;
 import com.focusflow.backend.repository.GoalRepository;
 import java.time.Clock;
@@ -12,7 +14,10 @@ import java.time.Instant;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Responsibility: Implements goal-related business rules and persistence orchestration.
@@ -22,26 +27,60 @@ import org.springframework.stereotype.Service;
 @Service
 public class GoalService {
 
+  /** Each sort is served by the live (user_id[, status], column, id) listing indexes. */
+  static final SortAllowList SORTS = SortAllowList.of(Direction.DESC, "createdAt", "targetDate");
+
   private final GoalRepository goalRepository;
   private final GoalMapper goalMapper;
+  private final IdGenerator idGenerator;
   private final Clock clock;
 
-  public GoalService(GoalRepository goalRepository, GoalMapper goalMapper, Clock clock) {
+  public GoalService(
+      GoalRepository goalRepository, GoalMapper goalMapper, IdGenerator idGenerator, Clock clock) {
     this.goalRepository = goalRepository;
     this.goalMapper = goalMapper;
+    this.idGenerator = idGenerator;
     this.clock = clock;
   }
 
-  public Page<Goal> listGoals(User user, GoalStatus status, Pageable pageable) {
+  @Transactional(readOnly = true)
+  public Page<Goal> listGoals(User user, GoalStatus status, Pageable requested) {
+    Pageable pageable = SORTS.apply(requested);
     if (status == null) {
       return goalRepository.findByOwnerAndDeletedAtIsNull(user, pageable);
     }
     return goalRepository.findByOwnerAndStatusAndDeletedAtIsNull(user, status, pageable);
   }
 
+  /** Like {@link #listGoals} but skips the total count. */
+  @Transactional(readOnly = true)
+  public Slice<Goal> sliceGoals(User user, GoalStatus status, Pageable requested) {
+    Pageable pageable = SORTS.apply(requested);
+    if (status == null) {
+      return goalRepository.findSliceByOwnerAndDeletedAtIsNull(user, pageable);
+    }
+    return goalRepository.findSliceByOwnerAndStatusAndDeletedAtIsNull(user, status, pageable);
+  }
+
+  /** Keyset listing ordered by creation time, newest first. */
+  @Transactional(readOnly = true)
+  public CursorPage<Goal> scrollGoals(User user, GoalStatus status, String cursor, Integer size) {
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    return KeysetCursor.page(
+        goalRepository.findPageAfter(
+            user,
+            status,
+            KeysetCursor.instantKey(after),
+            KeysetCursor.idKey(after),
+            KeysetCursor.fetchLimit(size)),
+        size,
+        Goal::getCreatedAt,
+        Goal::getId);
+  }
+
   public Goal createGoal(User user, GoalRequest request) {
     Goal goal = new Goal();
-    goal.setId(UUID.randomUUID());
+    goal.setId(idGenerator.next());
     goal.setOwner(user);
     goalMapper.applyRequest(goal, request);
 
@@ -0,0 +1,416 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.dto.HistoryImportResponse;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.exception.ConflictException;
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import com.focusflow.backend.id.IdGenerator;
+import com.focusflow.backend.repository.CheckInPartitionRepository;
+import com.focusflow.backend.repository.HistoryImportRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Imports routine and check-in history from CSV uploads. Architecture: Service over
+ * the history import repository; rows are validated as they are read and streamed into COPY staging
+ * tables, then merged in one statement per table. Why: Years of history from another tracker would
+ * take minutes as individual sync writes.
+ */
+@Service
+public class HistoryImportService {
+
+  private static final Logger log = LoggerFactory.getLogger(HistoryImportService.class);
+
+  // Check-in days are tracked as bits indexed by days since the earliest accepted date.
+  private static final LocalDate EARLIEST_DATE = LocalDate.EPOCH;
+  private static final int FUTURE_YEARS = 1;
+
+  private final HistoryImportRepository repository;
+  private final CheckInPartitionRepository partitionRepository;
+  private final UserShardResolver userShardResolver;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate otherShardTemplate;
+  private final IdGenerator idGenerator;
+  private final Clock clock;
+  private final MeterRegistry meterRegistry;
+  private final Semaphore permits;
+  private final int maxRows;
+  private final long retryAfterSeconds;
+
+  public HistoryImportService(
+      HistoryImportRepository repository,
+      CheckInPartitionRepository partitionRepository,
+      UserShardResolver userShardResolver,
+      PlatformTransactionManager transactionManager,
+      IdGenerator idGenerator,
+      Clock clock,
+      MeterRegistry meterRegistry,
+      @Value("${app.import.max-concurrent:2}") int maxConcurrent,
+      @Value("${app.import.max-rows:500000}") int maxRows,
+      @Value("${app.import.retry-after-seconds:30}") long retryAfterSeconds) {
+    this.repository = repository;
+    this.partitionRepository = partitionRepository;
+    this.userShardResolver = userShardResolver;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    // Suspends the import's transaction so the lookup gets a connection to the other shard.
+    this.otherShardTemplate = new TransactionTemplate(transactionManager);
+    otherShardTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    otherShardTemplate.setReadOnly(true);
+    this.idGenerator = idGenerator;
+    this.clock = clock;
+    this.meterRegistry = meterRegistry;
+    this.permits = new Semaphore(maxConcurrent);
+    this.maxRows = maxRows;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * Imports the given files, either of which may be null, in one transaction on the user's shard.
+   * Any invalid row rejects the whole import; rows for days the account already has are skipped.
+   */
+  public HistoryImportResponse importHistory(
+      User user, InputStreamSource routines, InputStreamSource checkIns) {
+    if (routines == null && checkIns == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "A routines or checkIns file is required");
+    }
+    if (!permits.tryAcquire()) {
+      throw new ServiceOverloadedException("Too many imports in progress", retryAfterSeconds);
+    }
+    try {
+      UUID userId = user.getId();
+      int shard = userShardResolver.shardFor(userId);
+      return userShardResolver.callOnShard(
+          shard,
+          () -> transactionTemplate.execute(status -> load(userId, shard, routines, checkIns)));
+    } finally {
+      permits.release();
+    }
+  }
+
+  private HistoryImportResponse load(
+      UUID userId, int shard, InputStreamSource routines, InputStreamSource checkIns) {
+    Instant now = Instant.now(clock);
+    try {
+      repository.createStaging();
+      Set<UUID> knownRoutines = repository.findLiveRoutineIds(userId);
+      int stagedRoutines = 0;
+      if (routines != null) {
+        Set<UUID> fileRoutines = new HashSet<>();
+        try (CsvRecordReader in = new CsvRecordReader(routines.getInputStream());
+            Writer out = writer(repository.copyRoutines())) {
+          stagedRoutines = stageRoutines(in, out, fileRoutines);
+        }
+        List<UUID> foreign = findForeignRoutineIds(userId, shard, fileRoutines);
+        if (!foreign.isEmpty()) {
+          throw new ConflictException("Routine id " + foreign.get(0) + " is already in use");
+        }
+        knownRoutines.addAll(fileRoutines);
+      }
+      int stagedCheckIns = 0;
+      if (checkIns != null) {
+        StagedCheckIns staged;
+        try (CsvRecordReader in = new CsvRecordReader(checkIns.getInputStream());
+            Writer out = writer(repository.copyCheckIns())) {
+          LocalDate latest = LocalDate.ofInstant(now, clock.getZone()).plusYears(FUTURE_YEARS);
+          staged = stageCheckIns(in, out, knownRoutines, latest, now);
+        }
+        stagedCheckIns = staged.rows();
+        ensurePartitions(staged);
+      }
+      int mergedRoutines = repository.mergeRoutines(userId, now);
+      int mergedCheckIns = repository.mergeCheckIns(userId, now);
+      count("routines", mergedRoutines, stagedRoutines - mergedRoutines);
+      count("check_ins", mergedCheckIns, stagedCheckIns - mergedCheckIns);
+      log.info(
+          "Imported {} routines and {} check-ins for {}", mergedRoutines, mergedCheckIns, userId);
+      return new HistoryImportResponse(
+          mergedRoutines,
+          stagedRoutines - mergedRoutines,
+          mergedCheckIns,
+          stagedCheckIns - mergedCheckIns);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (SQLException ex) {
+      throw new IllegalStateException("Could not start COPY for history import", ex);
+    }
+  }
+
+  /**
+   * Creates the monthly partitions the imported days fall into, so the merge does not pile history
+   * into the default partition that every query has to scan.
+   */
+  private void ensurePartitions(StagedCheckIns staged) {
+    if (staged.rows() == 0) {
+      return;
+    }
+    LocalDate fromMonth = staged.earliest().withDayOfMonth(1);
+    int months = (int) ChronoUnit.MONTHS.between(fromMonth, staged.latest().withDayOfMonth(1));
+    int created = partitionRepository.ensurePartitions(fromMonth, months);
+    if (created > 0) {
+      log.info("Created {} check-in partitions from {} for an import", created, fromMonth);
+    }
+  }
+
+  /**
+   * Routine ids in the file that belong to other accounts on any shard. Imported ids come from
+   * other systems rather than from this server, so they are checked everywhere, not just on the
+   * user's shard.
+   */
+  private List<UUID> findForeignRoutineIds(UUID userId, int home, Set<UUID> ids) {
+    List<UUID> foreign = repository.findForeignRoutineIds(userId, ids);
+    for (int shard : userShardResolver.shardIds()) {
+      if (!foreign.isEmpty()) {
+        break;
+      }
+      if (shard != home) {
+        foreign =
+            userShardResolver.callOnShard(
+                shard,
+                () ->
+                    otherShardTemplate.execute(
+                        status -> repository.findForeignRoutineIds(userId, ids)));
+      }
+    }
+    return foreign;
+  }
+
+  private int stageRoutines(CsvRecordReader in, Writer out, Set<UUID> ids) throws IOException {
+    Columns columns = Columns.read(in, "id", "title", "schedule_days");
+    int rows = 0;
+    for (List<String> record = in.next(); record != null; record = in.next()) {
+      checkRowLimit(in, ++rows);
+      UUID id = uuid(in, columns.required(in, record, "id"));
+      if (!ids.add(id)) {
+        throw invalid(in, "duplicate routine id " + id);
+      }
+      String title = columns.required(in, record, "title").trim();
+      if (title.length() > 120) {
+        throw invalid(in, "title must be at most 120 characters");
+      }
+      String colorTag = columns.optional(record, "color_tag");
+      if (colorTag != null && colorTag.length() > 30) {
+        throw invalid(in, "color_tag must be at most 30 characters");
+      }
+      int scheduleDays = scheduleDays(in, columns.required(in, record, "schedule_days"));
+      String active = columns.optional(record, "is_active");
+      boolean isActive = active == null || bool(in, active);
+      writeLine(
+          out,
+          id,
+          UserExportService.csvField(title),
+          UserExportService.csvField(colorTag),
+          scheduleDays,
+          isActive);
+    }
+    return rows;
+  }
+
+  private StagedCheckIns stageCheckIns(
+      CsvRecordReader in, Writer out, Set<UUID> knownRoutines, LocalDate latest, Instant now)
+      throws IOException {
+    Columns columns = Columns.read(in, "routine_id", "date", "completed");
+    // One bit per (routine, day) already seen in this file.
+    Map<UUID, BitSet> seenDays = new HashMap<>();
+    int rows = 0;
+    LocalDate earliestSeen = null;
+    LocalDate latestSeen = null;
+    for (List<String> record = in.next(); record != null; record = in.next()) {
+      checkRowLimit(in, ++rows);
+      UUID routineId = uuid(in, columns.required(in, record, "routine_id"));
+      if (!knownRoutines.contains(routineId)) {
+        throw invalid(in, "routine " + routineId + " is not one of your routines");
+      }
+      LocalDate date = date(in, columns.required(in, record, "date"), latest);
+      BitSet days = seenDays.computeIfAbsent(routineId, ignored -> new BitSet());
+      int day = (int) (date.toEpochDay() - EARLIEST_DATE.toEpochDay());
+      if (days.get(day)) {
+        throw invalid(in, "duplicate check-in for routine " + routineId + " on " + date);
+      }
+      days.set(day);
+      if (earliestSeen == null || date.isBefore(earliestSeen)) {
+        earliestSeen = date;
+      }
+      if (latestSeen == null || date.isAfter(latestSeen)) {
+        latestSeen = date;
+      }
+      boolean completed = bool(in, columns.required(in, record, "completed"));
+      Instant completedAt = null;
+      if (completed) {
+        String value = columns.optional(record, "completed_at");
+        completedAt = value != null ? instant(in, value) : now;
+      }
+      writeLine(out, idGenerator.next(), routineId, date, completed, completedAt);
+    }
+    return new StagedCheckIns(rows, earliestSeen, latestSeen);
+  }
+
+  private void count(String table, int imported, int skipped) {
+    meterRegistry.counter("import.rows", "table", table, "outcome", "imported").increment(imported);
+    meterRegistry.counter("import.rows", "table", table, "outcome", "skipped").increment(skipped);
+  }
+
+  private void checkRowLimit(CsvRecordReader in, int rows) {
+    if (rows > maxRows) {
+      throw invalid(in, "files may hold at most " + maxRows + " rows");
+    }
+  }
+
+  private static Writer writer(OutputStream copy) {
+    return new OutputStreamWriter(copy, StandardCharsets.UTF_8);
+  }
+
+  // Values are already in COPY's CSV form: ids, dates, flags, instants and pre-quoted text.
+  private static void writeLine(Writer out, Object... values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      if (values[i] != null) {
+        out.write(values[i].toString());
+      }
+    }
+    out.write('\n');
+  }
+
+  private static int scheduleDays(CsvRecordReader in, String value) {
+    int mask = 0;
+    for (String day : value.split("[\\s,;|]+")) {
+      if (day.isEmpty()) {
+        continue;
+      }
+      try {
+        mask |= 1 << (DayOfWeek.valueOf(day.toUpperCase(Locale.ROOT)).getValue() - 1);
+      } catch (IllegalArgumentException ex) {
+        throw invalid(in, "unknown schedule day " + day);
+      }
+    }
+    if (mask == 0) {
+      throw invalid(in, "schedule_days is required");
+    }
+    return mask;
+  }
+
+  private static UUID uuid(CsvRecordReader in, String value) {
+    try {
+      return UUID.fromString(value.trim());
+    } catch (IllegalArgumentException ex) {
+      throw invalid(in, "invalid id " + value);
+    }
+  }
+
+  private static LocalDate date(CsvRecordReader in, String value, LocalDate latest) {
+    LocalDate date;
+    try {
+      date = LocalDate.parse(value.trim());
+    } catch (DateTimeParseException ex) {
+      throw invalid(in, "invalid date " + value + ", expected YYYY-MM-DD");
+    }
+    if (date.isBefore(EARLIEST_DATE)) {
+      throw invalid(in, "date must not be before " + EARLIEST_DATE);
+    }
+    if (date.isAfter(latest)) {
+      throw invalid(in, "date must not be after " + latest);
+    }
+    return date;
+  }
+
+  private static Instant instant(CsvRecordReader in, String value) {
+    try {
+      return Instant.parse(value.trim());
+    } catch (DateTimeParseException ex) {
+      throw invalid(in, "invalid timestamp " + value + ", expected ISO-8601 in UTC");
+    }
+  }
+
+  private static boolean bool(CsvRecordReader in, String value) {
+    return switch (value.trim().toLowerCase(Locale.ROOT)) {
+      case "true", "t", "1", "yes" -> true;
+      case "false", "f", "0", "no" -> false;
+      default -> throw invalid(in, "invalid flag " + value + ", expected true or false");
+    };
+  }
+
+  private static ResponseStatusException invalid(CsvRecordReader in, String problem) {
+    return new ResponseStatusException(
+        HttpStatus.BAD_REQUEST, "Line " + in.line() + ": " + problem);
+  }
+
+  /** Rows staged from the check-ins file and the span of their dates, null when empty. */
+  private record StagedCheckIns(int rows, LocalDate earliest, LocalDate latest) {}
+
+  /**
+   * Header positions by normalized name, so both the export's snake_case and camelCase headers are
+   * accepted and unknown columns are ignored.
+   */
+  private record Columns(Map<String, Integer> positions) {
+
+    static Columns read(CsvRecordReader in, String... required) throws IOException {
+      List<String> header = in.next();
+      if (header == null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is empty");
+      }
+      Map<String, Integer> positions = new HashMap<>();
+      for (int i = 0; i < header.size(); i++) {
+        positions.putIfAbsent(normalize(header.get(i)), i);
+      }
+      for (String name : required) {
+        if (!positions.containsKey(normalize(name))) {
+          throw invalid(in, "missing column " + name);
+        }
+      }
+      return new Columns(positions);
+    }
+
+    String required(CsvRecordReader in, List<String> record, String name) {
+      String value = optional(record, name);
+      if (value == null) {
+        throw invalid(in, name + " is required");
+      }
+      return value;
+    }
+
+    String optional(List<String> record, String name) {
+      Integer position = positions.get(normalize(name));
+      if (position == null || position >= record.size() || record.get(position).isBlank()) {
+        return null;
+      }
+      return record.get(position);
+    }
+
+    private static String normalize(String name) {
+      return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+  }
+}
@@ -1,11 +1,13 @@
 package com.focusflow.backend.service;
 
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.JobApplicationRequest;
 import com.focusflow.backend.entity.JobApplication;
 import com.focusflow.backend.entity.JobApplicationSource;
 import com.focusflow.backend.entity.JobApplicationStatus;
 import com.focusflow.backend.entity.User;
 import com.focusflow.backend.exception.ResourceNotFoundException;
+import com.focusflow.backend.id.IdGenerator;
 import com.focusflow.backend.mapper.JobApplicationMapper;
 import com.focusflow.backend.repository.JobApplicationRepository;
 import java.time.Clock;
@@ -13,7 +15,10 @@ import java.time.Instant;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Responsibility: Implements job application business rules and persistence orchestration.
@@ -23,27 +28,63 @@ import org.springframework.stereotype.Service;
 @Service
 public class JobApplicationService {
 
+  /** Each sort is served by the live (user_id[, status | source], column, id) listing indexes. */
+  static final SortAllowList SORTS = SortAllowList.of(Direction.DESC, "createdAt", "appliedDate");
+
   private final JobApplicationRepository jobApplicationRepository;
   private final JobApplicationMapper jobApplicationMapper;
+  private final IdGenerator idGenerator;
   private final Clock clock;
 
   public JobApplicationService(
       JobApplicationRepository jobApplicationRepository,
       JobApplicationMapper jobApplicationMapper,
+      IdGenerator idGenerator,
       Clock clock) {
     this.jobApplicationRepository = jobApplicationRepository;
     this.jobApplicationMapper = jobApplicationMapper;
+    this.idGenerator = idGenerator;
     this.clock = clock;
   }
 
+  @Transactional(readOnly = true)
   public Page<JobApplication> listApplications(
       User user, JobApplicationStatus status, JobApplicationSource source, Pageable pageable) {
-    return jobApplicationRepository.search(user, status, source, pageable);
+    return jobApplicationRepository.search(user, status, source, SORTS.apply(pageable));
+  }
+
+  /** Like {@link #listApplications} but skips the total count. */
+  @Transactional(readOnly = true)
+  public Slice<JobApplication> sliceApplications(
+      User user, JobApplicationStatus status, JobApplicationSource source, Pageable pageable) {
+    return jobApplicationRepository.searchSlice(user, status, source, SORTS.apply(pageable));
+  }
+
+  /** Keyset listing ordered by creation time, newest first. */
+  @Transactional(readOnly = true)
+  public CursorPage<JobApplication> scrollApplications(
+      User user,
+      JobApplicationStatus status,
+      JobApplicationSource source,
+      String cursor,
+      Integer size) {
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    return KeysetCursor.page(
+        jobApplicationRepository.searchAfter(
+            user,
+            status,
+            source,
+            KeysetCursor.instantKey(after),
+            KeysetCursor.idKey(after),
+            KeysetCursor.fetchLimit(size)),
+        size,
+        JobApplication::getCreatedAt,
+        JobApplication::getId);
   }
 
   public JobApplication createApplication(User user, JobApplicationRequest request) {
     JobApplication application = new JobApplication();
-    application.setId(UUID.randomUUID());
+    application.setId(idGenerator.next());
     application.setOwner(user);
     jobApplicationMapper.applyRequest(application, request);
 
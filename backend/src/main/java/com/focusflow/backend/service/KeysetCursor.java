@@ -0,0 +1,106 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.dto.CursorPage;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Encodes and decodes keyset positions as opaque cursors. Architecture: Service
+ * helper shared by the list services' scroll mode; a position is the last row's sort key and id.
+ * Why: Seeking on (sort key, id) keeps every page as cheap as the first.
+ */
+public record KeysetCursor(String key, UUID id) {
+
+  public static final int DEFAULT_SIZE = 50;
+  public static final int MAX_SIZE = 200;
+
+  // Sentinels that sort after every real row in descending order, so the first page needs no
+  // separate query shape.
+  public static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+  public static final Instant MAX_INSTANT = Instant.parse("9999-12-31T23:59:59Z");
+  public static final UUID MAX_ID = new UUID(-1L, -1L);
+
+  private static final String SEPARATOR = "|";
+
+  public static KeysetCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(SEPARATOR);
+      return new KeysetCursor(
+          raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+      throw invalid();
+    }
+  }
+
+  public static String encode(Object key, UUID id) {
+    String raw = key + SEPARATOR + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Fetches one row more than the page so the next page's existence is known without a count. */
+  public static Limit fetchLimit(Integer size) {
+    return Limit.of(pageSize(size) + 1);
+  }
+
+  public static int pageSize(Integer size) {
+    if (size == null) {
+      return DEFAULT_SIZE;
+    }
+    return Math.max(1, Math.min(size, MAX_SIZE));
+  }
+
+  public static <T> CursorPage<T> page(
+      List<T> rows, Integer size, Function<T, Object> sortKey, Function<T, UUID> id) {
+    int pageSize = pageSize(size);
+    if (rows.size() <= pageSize) {
+      return new CursorPage<>(rows, null, false);
+    }
+    List<T> items = rows.subList(0, pageSize);
+    T last = items.get(pageSize - 1);
+    return new CursorPage<>(items, encode(sortKey.apply(last), id.apply(last)), true);
+  }
+
+  public static LocalDate dateKey(KeysetCursor cursor) {
+    if (cursor == null) {
+      return MAX_DATE;
+    }
+    try {
+      return LocalDate.parse(cursor.key());
+    } catch (RuntimeException ex) {
+      throw invalid();
+    }
+  }
+
+  public static Instant instantKey(KeysetCursor cursor) {
+    if (cursor == null) {
+      return MAX_INSTANT;
+    }
+    try {
+      return Instant.parse(cursor.key());
+    } catch (RuntimeException ex) {
+      throw invalid();
+    }
+  }
+
+  public static UUID idKey(KeysetCursor cursor) {
+    return cursor == null ? MAX_ID : cursor.id();
+  }
+
+  private static ResponseStatusException invalid() {
+    return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+  }
+}
@@ -0,0 +1,155 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.entity.RefreshToken;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.id.IdGenerator;
+import com.focusflow.backend.id.UuidV7Generator;
+import com.focusflow.backend.repository.RefreshTokenRepository;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Issues, rotates, and revokes opaque refresh tokens. Architecture: Service backing
+ * the auth refresh flow; stores SHA-256 digests only. Why: Renewing a session costs one indexed
+ * lookup instead of a BCrypt verification, so password hashing stays off the hot path.
+ */
+@Service
+public class RefreshTokenService {
+
+  private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+  private static final int TOKEN_BYTES = 32;
+
+  private final RefreshTokenRepository repository;
+  private final SecureRandom random = new SecureRandom();
+  // Token and family ids are handed back on rotation, so their random bits share the token source.
+  private final IdGenerator idGenerator;
+  private final Clock clock;
+  private final Duration ttl;
+
+  public RefreshTokenService(
+      RefreshTokenRepository repository,
+      Clock clock,
+      @Value("${app.jwt.refresh.ttl-days:30}") long ttlDays) {
+    this.repository = repository;
+    this.idGenerator = new UuidV7Generator(clock, random);
+    this.clock = clock;
+    this.ttl = Duration.ofDays(ttlDays);
+  }
+
+  /** Starts a new rotation family, e.g. after a password login. */
+  @Transactional
+  public IssuedRefreshToken issue(User user) {
+    return issue(user, idGenerator.next());
+  }
+
+  /**
+   * Consumes the presented token and issues its successor in the same family. Presenting a token
+   * that was already rotated revokes the whole family, since either the client or an attacker holds
+   * a stolen copy.
+   */
+  @Transactional(noRollbackFor = ResponseStatusException.class)
+  public Rotation rotate(String rawToken) {
+    Instant now = Instant.now(clock);
+    RefreshToken current = repository.findByTokenHash(hash(rawToken)).orElseThrow(this::invalid);
+    User user = current.getUser();
+
+    if (current.getRevokedAt() != null) {
+      revokeReusedFamily(current, now);
+      throw invalid();
+    }
+    if (!current.getExpiresAt().isAfter(now)
+        || current.getTokenGeneration() != user.getTokenGeneration()) {
+      throw invalid();
+    }
+
+    UUID nextId = idGenerator.next();
+    // Conditional update: of two concurrent refreshes with the same token, only one rotates it.
+    if (repository.markRotated(current.getId(), nextId, now) == 0) {
+      revokeReusedFamily(current, now);
+      throw invalid();
+    }
+    return new Rotation(user, issue(user, current.getFamilyId(), nextId, now));
+  }
+
+  /** Revokes the presented token's family; unknown tokens are ignored. */
+  @Transactional
+  public void revoke(String rawToken) {
+    repository
+        .findByTokenHash(hash(rawToken))
+        .ifPresent(token -> repository.revokeFamily(token.getFamilyId(), Instant.now(clock)));
+  }
+
+  /** Revokes every live refresh token of the user, e.g. on password change or logout-all. */
+  @Transactional
+  public int revokeAll(UUID userId) {
+    return repository.revokeAllForUser(userId, Instant.now(clock));
+  }
+
+  @Scheduled(cron = "${app.jwt.refresh.purge-cron:0 15 4 * * *}")
+  @Transactional
+  public void purgeExpired() {
+    int removed = repository.deleteExpiredBefore(Instant.now(clock));
+    if (removed > 0) {
+      log.info("Purged {} expired refresh tokens", removed);
+    }
+  }
+
+  private IssuedRefreshToken issue(User user, UUID familyId) {
+    return issue(user, familyId, idGenerator.next(), Instant.now(clock));
+  }
+
+  private IssuedRefreshToken issue(User user, UUID familyId, UUID id, Instant now) {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    random.nextBytes(bytes);
+    String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    Instant expiresAt = now.plus(ttl);
+    repository.save(
+        new RefreshToken(id, user, familyId, hash(value), user.getTokenGeneration(), expiresAt));
+    return new IssuedRefreshToken(value, expiresAt);
+  }
+
+  private void revokeReusedFamily(RefreshToken token, Instant now) {
+    int revoked = repository.revokeFamily(token.getFamilyId(), now);
+    log.warn(
+        "Refresh token reuse for user {}; revoked {} tokens in family {}",
+        token.getUser().getId(),
+        revoked,
+        token.getFamilyId());
+  }
+
+  private ResponseStatusException invalid() {
+    return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+  }
+
+  // Tokens carry 256 random bits, so a fast unsalted digest is enough; BCrypt would add nothing.
+  private String hash(String rawToken) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256")
+                  .digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  public record IssuedRefreshToken(String value, Instant expiresAt) {}
+
+  public record Rotation(User user, IssuedRefreshToken refreshToken) {}
+}
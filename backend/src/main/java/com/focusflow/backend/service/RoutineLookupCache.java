@@ -0,0 +1,166 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.entity.Routine;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.RoutineRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Responsibility: Caches which routines are live for which owner. Architecture: Service-layer
+ * component in front of the routine repository, invalidated by routine writes. Why: Check-in writes
+ * only need to know that a routine exists, is live and belongs to the caller, and routines change
+ * far less often than check-ins are written.
+ */
+@Component
+public class RoutineLookupCache {
+
+  private final RoutineRepository routineRepository;
+  private final Clock clock;
+  private final Duration ttl;
+  private final int maxEntries;
+  private final Map<OwnedRoutine, Instant> live = new ConcurrentHashMap<>();
+  // Bumped before every eviction; a lookup only caches what it read if no eviction happened since.
+  private final AtomicLong evictions = new AtomicLong();
+
+  public RoutineLookupCache(
+      RoutineRepository routineRepository,
+      Clock clock,
+      @Value("${app.routines.lookup-cache.ttl-seconds:60}") long ttlSeconds,
+      @Value("${app.routines.lookup-cache.max-entries:100000}") int maxEntries) {
+    this.routineRepository = routineRepository;
+    this.clock = clock;
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Returns the owner's live routine. A cache hit yields an uninitialized reference, which is all a
+   * check-in needs to set its foreign key.
+   */
+  public Optional<Routine> findLive(User owner, UUID routineId) {
+    Instant now = Instant.now(clock);
+    if (isCached(new OwnedRoutine(owner.getId(), routineId), now)) {
+      return Optional.of(routineRepository.getReferenceById(routineId));
+    }
+    long generation = evictions.get();
+    Optional<Routine> loaded =
+        routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routineId, owner);
+    loaded.ifPresent(routine -> remember(owner.getId(), routine.getId(), now, generation));
+    return loaded;
+  }
+
+  /** Batch form of {@link #findLive(User, UUID)}; only cache misses reach the database. */
+  public Map<UUID, Routine> findLive(User owner, Collection<UUID> routineIds) {
+    Instant now = Instant.now(clock);
+    Map<UUID, Routine> found = new HashMap<>();
+    List<UUID> misses = new ArrayList<>();
+    for (UUID routineId : routineIds) {
+      if (isCached(new OwnedRoutine(owner.getId(), routineId), now)) {
+        found.put(routineId, routineRepository.getReferenceById(routineId));
+      } else {
+        misses.add(routineId);
+      }
+    }
+    if (!misses.isEmpty()) {
+      long generation = evictions.get();
+      for (Routine routine :
+          routineRepository.findByOwnerAndIdInAndDeletedAtIsNull(owner, misses)) {
+        remember(owner.getId(), routine.getId(), now, generation);
+        found.put(routine.getId(), routine);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Forgets a routine after it was written. Inside a transaction the entry is dropped again after
+   * commit, so a concurrent lookup cannot re-cache the pre-commit state.
+   */
+  public void evict(UUID ownerId, UUID routineId) {
+    OwnedRoutine key = new OwnedRoutine(ownerId, routineId);
+    evictions.incrementAndGet();
+    live.remove(key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              evictions.incrementAndGet();
+              live.remove(key);
+            }
+          });
+    }
+  }
+
+  /** Forgets every routine of an owner, e.g. when the account goes away. */
+  public void evictOwner(UUID ownerId) {
+    evictions.incrementAndGet();
+    live.keySet().removeIf(key -> key.ownerId().equals(ownerId));
+  }
+
+  private boolean isCached(OwnedRoutine key, Instant now) {
+    Instant expiresAt = live.get(key);
+    if (expiresAt == null) {
+      return false;
+    }
+    if (!expiresAt.isAfter(now)) {
+      live.remove(key, expiresAt);
+      return false;
+    }
+    return true;
+  }
+
+  private void remember(UUID ownerId, UUID routineId, Instant now, long generation) {
+    OwnedRoutine key = new OwnedRoutine(ownerId, routineId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // The row may have been written by this very transaction; cache it only once committed.
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              put(key, now, generation);
+            }
+          });
+    } else {
+      put(key, now, generation);
+    }
+  }
+
+  /**
+   * Caches a routine read at {@code generation} unless an eviction has happened since, since the
+   * read may predate a concurrent delete. The second check covers an eviction racing the put.
+   */
+  private void put(OwnedRoutine key, Instant now, long generation) {
+    if (evictions.get() != generation) {
+      return;
+    }
+    if (live.size() >= maxEntries) {
+      live.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+      if (live.size() >= maxEntries) {
+        live.clear();
+      }
+    }
+    Instant expiresAt = now.plus(ttl);
+    live.put(key, expiresAt);
+    if (evictions.get() != generation) {
+      live.remove(key, expiresAt);
+    }
+  }
+
+  private record OwnedRoutine(UUID ownerId, UUID routineId) {}
+}
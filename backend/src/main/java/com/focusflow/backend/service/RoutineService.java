@@ -1,17 +1,23 @@
 package com.focusflow.backend.service;
 
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.RoutineRequest;
 import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
 import com.focusflow.backend.exception.ResourceNotFoundException;
+import com.focusflow.backend.id.IdGenerator;
 import com.focusflow.backend.mapper.RoutineMapper;
+import com.focusflow.backend.repository.CheckInRepository;
 import com.focusflow.backend.repository.RoutineRepository;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Responsibility: Implements routine-related business rules and persistence orchestration.
@@ -21,27 +27,70 @@ import org.springframework.stereotype.Service;
 @Service
 public class RoutineService {
 
+  /** Each sort is served by a live (user_id, column, id) listing index. */
+  static final SortAllowList SORTS = SortAllowList.of(Direction.DESC, "createdAt", "title");
+
   private final RoutineRepository routineRepository;
+  private final CheckInRepository checkInRepository;
   private final RoutineMapper routineMapper;
+  private final RoutineLookupCache routineLookupCache;
+  private final IdGenerator idGenerator;
   private final Clock clock;
 
   public RoutineService(
-      RoutineRepository routineRepository, RoutineMapper routineMapper, Clock clock) {
+      RoutineRepository routineRepository,
+      CheckInRepository checkInRepository,
+      RoutineMapper routineMapper,
+      RoutineLookupCache routineLookupCache,
+      IdGenerator idGenerator,
+      Clock clock) {
     this.routineRepository = routineRepository;
+    this.checkInRepository = checkInRepository;
     this.routineMapper = routineMapper;
+    this.routineLookupCache = routineLookupCache;
+    this.idGenerator = idGenerator;
     this.clock = clock;
   }
 
-  public Page<Routine> listRoutines(User user, Boolean active, Pageable pageable) {
+  @Transactional(readOnly = true)
+  public Page<Routine> listRoutines(User user, Boolean active, Pageable requested) {
+    Pageable pageable = SORTS.apply(requested);
     if (active == null) {
       return routineRepository.findByOwnerAndDeletedAtIsNull(user, pageable);
     }
     return routineRepository.findByOwnerAndActiveAndDeletedAtIsNull(user, active, pageable);
   }
 
+  /** Like {@link #listRoutines} but skips the total count. */
+  @Transactional(readOnly = true)
+  public Slice<Routine> sliceRoutines(User user, Boolean active, Pageable requested) {
+    Pageable pageable = SORTS.apply(requested);
+    if (active == null) {
+      return routineRepository.findSliceByOwnerAndDeletedAtIsNull(user, pageable);
+    }
+    return routineRepository.findSliceByOwnerAndActiveAndDeletedAtIsNull(user, active, pageable);
+  }
+
+  /** Keyset listing ordered by creation time, newest first. */
+  @Transactional(readOnly = true)
+  public CursorPage<Routine> scrollRoutines(
+      User user, Boolean active, String cursor, Integer size) {
+    KeysetCursor after = KeysetCursor.decode(cursor);
+    return KeysetCursor.page(
+        routineRepository.findPageAfter(
+            user,
+            active,
+            KeysetCursor.instantKey(after),
+            KeysetCursor.idKey(after),
+            KeysetCursor.fetchLimit(size)),
+        size,
+        Routine::getCreatedAt,
+        Routine::getId);
+  }
+
   public Routine createRoutine(User user, RoutineRequest request) {
     Routine routine = new Routine();
-    routine.setId(UUID.randomUUID());
+    routine.setId(idGenerator.next());
     routine.setOwner(user);
     routineMapper.applyRequest(routine, request);
 
@@ -64,9 +113,13 @@ public class RoutineService {
     routine.setClientUpdatedAt(defaultClientUpdatedAt(request.clientUpdatedAt(), now));
     routine.setServerUpdatedAt(now);
 
-    return routineRepository.save(routine);
+    Routine saved = routineRepository.save(routine);
+    routineLookupCache.evict(user.getId(), id);
+    return saved;
   }
 
+  /** Soft-deletes the routine and, in one bulk update, its live check-ins. */
+  @Transactional
   public void deleteRoutine(User user, UUID id) {
     Routine routine =
         routineRepository
@@ -78,6 +131,8 @@ public class RoutineService {
     routine.setClientUpdatedAt(now);
     routine.setServerUpdatedAt(now);
     routineRepository.save(routine);
+    checkInRepository.softDeleteByRoutine(user, id, now, now);
+    routineLookupCache.evict(user.getId(), id);
   }
 
   public Routine getRoutineForUser(User user, UUID id) {
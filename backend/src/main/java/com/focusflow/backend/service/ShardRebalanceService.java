@@ -0,0 +1,202 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.repository.AccountDeletionRepository;
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeBatch;
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeTable;
+import com.focusflow.backend.repository.ShardTransferRepository;
+import com.focusflow.backend.repository.UserShardRepository;
+import com.focusflow.backend.repository.UserShardRepository.Placement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Responsibility: Moves users whose data is not on their ring shard, e.g. after a shard was added.
+ * Architecture: Scheduled service copying rows between shards through the transfer repository and
+ * flipping placements in the directory. Why: New shards only take load once existing users move,
+ * and moving one user at a time keeps every other user online.
+ */
+@Service
+public class ShardRebalanceService {
+
+  private static final Logger log = LoggerFactory.getLogger(ShardRebalanceService.class);
+
+  private final UserShardResolver resolver;
+  private final UserShardRepository userShardRepository;
+  private final ShardTransferRepository transferRepository;
+  private final AccountDeletionRepository accountDeletionRepository;
+  private final MeterRegistry meterRegistry;
+  private final Clock clock;
+  private final boolean enabled;
+  private final int scanSize;
+  private final int batchSize;
+  private final int copyBatchSize;
+  private final Duration lease;
+  private final Duration drain;
+  private UUID scanCursor;
+
+  public ShardRebalanceService(
+      UserShardResolver resolver,
+      UserShardRepository userShardRepository,
+      ShardTransferRepository transferRepository,
+      AccountDeletionRepository accountDeletionRepository,
+      MeterRegistry meterRegistry,
+      Clock clock,
+      @Value("${app.datasource.shards.rebalance.enabled:false}") boolean enabled,
+      @Value("${app.datasource.shards.rebalance.scan-size:1000}") int scanSize,
+      @Value("${app.datasource.shards.rebalance.batch-size:20}") int batchSize,
+      @Value("${app.datasource.shards.rebalance.copy-batch-size:500}") int copyBatchSize,
+      @Value("${app.datasource.shards.rebalance.lease-seconds:300}") long leaseSeconds,
+      @Value("${app.datasource.shards.rebalance.drain-margin-millis:2000}")
+          long drainMarginMillis) {
+    this.resolver = resolver;
+    this.userShardRepository = userShardRepository;
+    this.transferRepository = transferRepository;
+    this.accountDeletionRepository = accountDeletionRepository;
+    this.meterRegistry = meterRegistry;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.scanSize = scanSize;
+    this.batchSize = batchSize;
+    this.copyBatchSize = copyBatchSize;
+    this.lease = Duration.ofSeconds(leaseSeconds);
+    // Every node must have seen the moving flag before copying starts, or a write could still
+    // reach the source shard after its rows were read.
+    this.drain = resolver.placementTtl().plusMillis(drainMarginMillis);
+  }
+
+  /**
+   * Scans the next slice of users, marks misplaced ones as moving, waits for cached placements to
+   * expire and moves them one by one. Moves abandoned by a crashed node are resumed.
+   */
+  @Scheduled(fixedDelayString = "${app.datasource.shards.rebalance.interval-millis:60000}")
+  public void rebalance() {
+    if (!enabled || !resolver.isEnabled()) {
+      return;
+    }
+    Instant now = Instant.now(clock);
+    List<Placement> moves =
+        new ArrayList<>(userShardRepository.claimStaleMoves(now.minus(lease), now, batchSize));
+    int resumed = moves.size();
+    List<Placement> scanned = userShardRepository.findPlacementsAfter(scanCursor, scanSize);
+    // Starts over from the first user once the end of the table is reached.
+    scanCursor = scanned.size() < scanSize ? null : scanned.get(scanned.size() - 1).userId();
+    for (Placement placement : scanned) {
+      if (moves.size() >= batchSize) {
+        break;
+      }
+      int target = resolver.targetShard(placement.userId());
+      if (!placement.isMoving()
+          && placement.shard() != target
+          && userShardRepository.markMoving(placement.userId(), placement.shard(), target, now)) {
+        moves.add(new Placement(placement.userId(), placement.shard(), target));
+      }
+    }
+    if (moves.size() > resumed) {
+      sleep(drain);
+    }
+    for (Placement move : moves) {
+      try {
+        move(move.userId(), move.shard(), move.movingTo());
+      } catch (RuntimeException ex) {
+        // The move stays flagged; once its lease lapses it is resumed from the start.
+        log.warn(
+            "Moving user {} from shard {} to {} failed; will retry",
+            move.userId(),
+            move.shard(),
+            move.movingTo(),
+            ex);
+      }
+    }
+  }
+
+  private void move(UUID userId, int from, int to) {
+    // Leftovers of an earlier failed attempt would otherwise shadow the fresh copy.
+    purge(userId, to);
+    if (to != 0) {
+      resolver.runOnShard(to, () -> userShardRepository.insertUserMirror(userId, clock.instant()));
+    }
+    long copied = 0;
+    // Reverse purge order copies routines before the check-ins and archives referencing them.
+    for (PurgeTable table : AccountDeletionRepository.PURGE_ORDER.reversed()) {
+      if (table.sharded()) {
+        copied += copy(table, userId, from, to);
+      }
+    }
+    if (!userShardRepository.completeMove(userId, to)) {
+      throw new IllegalStateException("Placement of " + userId + " changed during the move");
+    }
+    resolver.invalidate(userId);
+    purge(userId, from);
+    if (from != 0) {
+      resolver.runOnShard(from, () -> userShardRepository.deleteUserMirror(userId));
+    }
+    log.info("Moved user {} from shard {} to {} ({} rows)", userId, from, to, copied);
+  }
+
+  private long copy(PurgeTable table, UUID userId, int from, int to) {
+    Counter counter =
+        Counter.builder("shard.rebalance.rows").tag("table", table.name()).register(meterRegistry);
+    long copied = 0;
+    Object[] after = null;
+    while (true) {
+      Object[] cursor = after;
+      List<Map<String, Object>> rows =
+          resolver.callOnShard(
+              from, () -> transferRepository.readBatch(table, userId, cursor, copyBatchSize));
+      if (rows.isEmpty()) {
+        return copied;
+      }
+      resolver.runOnShard(to, () -> transferRepository.insertRows(table, rows));
+      copied += rows.size();
+      counter.increment(rows.size());
+      userShardRepository.touchMove(userId, Instant.now(clock));
+      if (rows.size() < copyBatchSize) {
+        return copied;
+      }
+      after = ShardTransferRepository.keyOf(table, rows.get(rows.size() - 1));
+    }
+  }
+
+  private void purge(UUID userId, int shard) {
+    for (PurgeTable table : AccountDeletionRepository.PURGE_ORDER) {
+      if (!table.sharded()) {
+        continue;
+      }
+      Object[] after = null;
+      while (true) {
+        Object[] cursor = after;
+        Optional<PurgeBatch> batch =
+            resolver.callOnShard(
+                shard,
+                () -> accountDeletionRepository.purgeBatch(table, userId, cursor, copyBatchSize));
+        if (batch.isEmpty()) {
+          break;
+        }
+        after = batch.get().lastKey();
+        userShardRepository.touchMove(userId, Instant.now(clock));
+      }
+    }
+  }
+
+  private void sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for placements to drain", ex);
+    }
+  }
+}
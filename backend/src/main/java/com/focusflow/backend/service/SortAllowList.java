@@ -0,0 +1,70 @@
+package com.focusflow.backend.service;
+
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Restricts a listing to the sorts its indexes serve and caps the page size.
+ * Architecture: Service helper declared once per listing and applied to the incoming Pageable
+ * before it reaches the repository. Why: Sorting by an unindexed column makes Postgres read and
+ * sort every row the user owns for each page.
+ */
+public final class SortAllowList {
+
+  public static final int DEFAULT_PAGE_SIZE = 20;
+
+  private final List<String> properties;
+  private final Direction defaultDirection;
+
+  private SortAllowList(List<String> properties, Direction defaultDirection) {
+    this.properties = properties;
+    this.defaultDirection = defaultDirection;
+  }
+
+  /**
+   * Allows sorting by any of {@code properties}, each backed by a (user_id, property, id) index;
+   * the first one in {@code defaultDirection} applies when the request names none.
+   */
+  public static SortAllowList of(Direction defaultDirection, String... properties) {
+    return new SortAllowList(List.of(properties), defaultDirection);
+  }
+
+  public Set<String> properties() {
+    return Set.copyOf(properties);
+  }
+
+  /**
+   * Returns the request with its page size capped and its sort replaced by the matching indexed
+   * ordering. The id tie-breaker runs in the same direction, so one index scan serves both keys.
+   */
+  public Pageable apply(Pageable requested) {
+    if (requested.isUnpaged()) {
+      return PageRequest.of(0, DEFAULT_PAGE_SIZE, indexed(properties.get(0), defaultDirection));
+    }
+    int size = Math.min(requested.getPageSize(), KeysetCursor.MAX_SIZE);
+    List<Sort.Order> orders = requested.getSort().toList();
+    if (orders.isEmpty()) {
+      return PageRequest.of(
+          requested.getPageNumber(), size, indexed(properties.get(0), defaultDirection));
+    }
+    if (orders.size() > 1 || !properties.contains(orders.get(0).getProperty())) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST,
+          "Sort by one of " + String.join(", ", properties) + ", optionally with ,asc or ,desc");
+    }
+    Sort.Order order = orders.get(0);
+    return PageRequest.of(
+        requested.getPageNumber(), size, indexed(order.getProperty(), order.getDirection()));
+  }
+
+  // Case-insensitive or null-ordering variants are dropped: the indexes only serve plain order.
+  private static Sort indexed(String property, Direction direction) {
+    return Sort.by(new Sort.Order(direction, property), new Sort.Order(direction, "id"));
+  }
+}
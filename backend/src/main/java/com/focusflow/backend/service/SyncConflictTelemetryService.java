@@ -0,0 +1,189 @@
+package com.focusflow.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.dto.ConflictReportResponse;
+import com.focusflow.backend.dto.SyncConflict;
+import com.focusflow.backend.dto.SyncConflictEvent;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.SyncConflictLogRepository;
+import com.focusflow.backend.repository.SyncConflictLogRepository.Dimension;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Records sync conflicts off the push path and reports on them. Architecture:
+ * Service buffering conflict events in memory and flushing them in batches to the conflict log.
+ * Why: Makes conflict hot spots visible without adding writes to the sync transaction.
+ */
+@Service
+public class SyncConflictTelemetryService {
+
+  private static final Logger log = LoggerFactory.getLogger(SyncConflictTelemetryService.class);
+  private static final int MAX_CLIENT_VERSION_LENGTH = 64;
+  private static final int MAX_FIELDS_LENGTH = 500;
+  private static final int REPORT_LIMIT = 50;
+  // Sync bookkeeping differs on every conflict by definition, so it says nothing about hot spots.
+  private static final Set<String> IGNORED_FIELDS =
+      Set.of("clientUpdatedAt", "serverUpdatedAt", "createdAt", "updatedAt");
+
+  private final SyncConflictLogRepository repository;
+  private final ObjectMapper objectMapper;
+  private final Clock clock;
+  private final BlockingQueue<PendingConflict> queue;
+  private final int batchSize;
+  private final Duration retention;
+  private final Set<String> reportAdmins;
+  private final AtomicLong dropped = new AtomicLong();
+
+  public SyncConflictTelemetryService(
+      SyncConflictLogRepository repository,
+      ObjectMapper objectMapper,
+      Clock clock,
+      @Value("${app.sync.conflicts.queue-capacity:10000}") int queueCapacity,
+      @Value("${app.sync.conflicts.batch-size:500}") int batchSize,
+      @Value("${app.sync.conflicts.retention-days:30}") long retentionDays,
+      @Value("${app.sync.conflicts.report-admins:}") Set<String> reportAdmins) {
+    this.repository = repository;
+    this.objectMapper = objectMapper;
+    this.clock = clock;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.retention = Duration.ofDays(retentionDays);
+    this.reportAdmins =
+        reportAdmins.stream()
+            .map(email -> email.trim().toLowerCase())
+            .filter(email -> !email.isEmpty())
+            .collect(Collectors.toSet());
+  }
+
+  /** Enqueues conflicts without blocking; drops them when the buffer is full. */
+  public void record(UUID userId, String clientVersion, List<SyncConflict> conflicts) {
+    if (conflicts == null || conflicts.isEmpty()) {
+      return;
+    }
+    Instant now = Instant.now(clock);
+    String version = truncate(clientVersion, MAX_CLIENT_VERSION_LENGTH);
+    for (SyncConflict conflict : conflicts) {
+      if (!queue.offer(new PendingConflict(userId, version, conflict, now))) {
+        dropped.incrementAndGet();
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${app.sync.conflicts.flush-interval-millis:2000}")
+  public void flush() {
+    List<PendingConflict> drained = new ArrayList<>(batchSize);
+    while (queue.drainTo(drained, batchSize) > 0) {
+      List<SyncConflictEvent> events = new ArrayList<>(drained.size());
+      for (PendingConflict pending : drained) {
+        events.add(toEvent(pending));
+      }
+      try {
+        repository.insertBatch(events);
+      } catch (RuntimeException ex) {
+        // Telemetry is best effort; never let a failed flush back up into request handling.
+        log.warn("Dropping {} sync conflict events after insert failure", events.size(), ex);
+      }
+      drained.clear();
+    }
+    long lost = dropped.getAndSet(0);
+    if (lost > 0) {
+      log.warn("Dropped {} sync conflict events because the buffer was full", lost);
+    }
+  }
+
+  @Scheduled(cron = "${app.sync.conflicts.retention-cron:0 30 3 * * *}")
+  public void purgeExpired() {
+    int removed = repository.deleteOlderThan(Instant.now(clock).minus(retention));
+    if (removed > 0) {
+      log.info("Purged {} expired sync conflict events", removed);
+    }
+  }
+
+  public ConflictReportResponse report(User requester, Instant from, Instant to) {
+    if (!reportAdmins.contains(requester.getEmail().toLowerCase())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Conflict report is restricted");
+    }
+    Instant effectiveTo = to != null ? to : Instant.now(clock);
+    Instant effectiveFrom = from != null ? from : effectiveTo.minus(Duration.ofDays(7));
+    if (!effectiveFrom.isBefore(effectiveTo)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+    }
+
+    long total = repository.countBetween(effectiveFrom, effectiveTo);
+    return new ConflictReportResponse(
+        effectiveFrom,
+        effectiveTo,
+        total,
+        repository.aggregate(
+            Dimension.ENTITY_TYPE, effectiveFrom, effectiveTo, total, REPORT_LIMIT),
+        repository.aggregate(Dimension.REASON, effectiveFrom, effectiveTo, total, REPORT_LIMIT),
+        repository.aggregate(Dimension.FIELD, effectiveFrom, effectiveTo, total, REPORT_LIMIT),
+        repository.aggregate(
+            Dimension.CLIENT_VERSION, effectiveFrom, effectiveTo, total, REPORT_LIMIT),
+        repository.aggregate(Dimension.COHORT, effectiveFrom, effectiveTo, total, REPORT_LIMIT));
+  }
+
+  private SyncConflictEvent toEvent(PendingConflict pending) {
+    SyncConflict conflict = pending.conflict();
+    return new SyncConflictEvent(
+        pending.userId(),
+        conflict.entityType(),
+        conflict.id(),
+        conflict.reason(),
+        conflictingFields(conflict.server(), conflict.client()),
+        pending.clientVersion(),
+        pending.occurredAt());
+  }
+
+  private String conflictingFields(Object server, Object client) {
+    if (server == null || client == null) {
+      return null;
+    }
+    JsonNode serverNode = objectMapper.valueToTree(server);
+    JsonNode clientNode = objectMapper.valueToTree(client);
+    StringJoiner fields = new StringJoiner(",");
+    Iterator<Map.Entry<String, JsonNode>> iterator = clientNode.fields();
+    while (iterator.hasNext()) {
+      Map.Entry<String, JsonNode> field = iterator.next();
+      if (IGNORED_FIELDS.contains(field.getKey()) || !serverNode.has(field.getKey())) {
+        continue;
+      }
+      if (!serverNode.get(field.getKey()).equals(field.getValue())) {
+        fields.add(field.getKey());
+      }
+    }
+    return fields.length() > 0 ? truncate(fields.toString(), MAX_FIELDS_LENGTH) : null;
+  }
+
+  private String truncate(String value, int maxLength) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    String trimmed = value.trim();
+    return trimmed.length() > maxLength ? trimmed.substring(0, maxLength) : trimmed;
+  }
+
+  private record PendingConflict(
+      UUID userId, String clientVersion, SyncConflict conflict, Instant occurredAt) {}
+}
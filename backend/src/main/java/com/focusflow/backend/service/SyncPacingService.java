@@ -0,0 +1,129 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Responsibility: Computes when a client should sync next and sheds sync load under pressure.
+ * Architecture: Service consulted by the sync controller and service around every sync call. Why:
+ * Lets aggregate polling adapt to user activity and DB pool saturation instead of fixed intervals.
+ */
+@Service
+public class SyncPacingService {
+
+  private final DataSource dataSource;
+  private final Clock clock;
+  private final Duration minInterval;
+  private final Duration maxInterval;
+  private final double overloadThreshold;
+  private final long retryAfterSeconds;
+  private final int maxTrackedUsers;
+  private final Map<UUID, Instant> lastChangeByUser = new ConcurrentHashMap<>();
+
+  public SyncPacingService(
+      DataSource dataSource,
+      Clock clock,
+      @Value("${app.sync.pacing.min-interval-seconds:30}") long minIntervalSeconds,
+      @Value("${app.sync.pacing.max-interval-seconds:900}") long maxIntervalSeconds,
+      @Value("${app.sync.pacing.overload-threshold:0.9}") double overloadThreshold,
+      @Value("${app.sync.pacing.retry-after-seconds:30}") long retryAfterSeconds,
+      @Value("${app.sync.pacing.max-tracked-users:100000}") int maxTrackedUsers) {
+    this.dataSource = dataSource;
+    this.clock = clock;
+    this.minInterval = Duration.ofSeconds(minIntervalSeconds);
+    this.maxInterval = Duration.ofSeconds(maxIntervalSeconds);
+    this.overloadThreshold = overloadThreshold;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.maxTrackedUsers = maxTrackedUsers;
+  }
+
+  /**
+   * Rejects sync work before it takes a DB connection when the queue for connections has grown to
+   * the threshold fraction of the pool size.
+   */
+  public void ensureCapacity() {
+    if (poolSaturation() >= overloadThreshold) {
+      throw new ServiceOverloadedException("Sync is temporarily throttled", retryAfterSeconds);
+    }
+  }
+
+  /**
+   * Returns the earliest instant the client should sync again. Users who changed data recently get
+   * the minimum interval; idle users back off towards the maximum, and the result stretches further
+   * as the DB pool fills up.
+   */
+  public Instant nextSyncAfter(UUID userId, boolean changed) {
+    Instant now = Instant.now(clock);
+    if (changed) {
+      recordChange(userId, now);
+    }
+
+    Instant lastChange = lastChangeByUser.get(userId);
+    Duration idle = lastChange != null ? Duration.between(lastChange, now) : maxInterval;
+    // Poll at roughly a quarter of the observed idle time so active users converge quickly.
+    Duration interval = clamp(idle.dividedBy(4));
+
+    // Scale up to 4x at full pool saturation so load sheds gradually before hard rejection.
+    double loadFactor = 1 + 3 * Math.min(1.0, poolSaturation());
+    interval = clamp(Duration.ofMillis((long) (interval.toMillis() * loadFactor)));
+    return now.plus(interval);
+  }
+
+  double poolSaturation() {
+    HikariPoolMXBean pool = hikariPool();
+    if (pool == null) {
+      return 0;
+    }
+    int total = pool.getTotalConnections();
+    if (total <= 0) {
+      return 0;
+    }
+    // Busy connections are normal load; only threads queueing for one mean the pool is short.
+    return (double) pool.getThreadsAwaitingConnection() / total;
+  }
+
+  private HikariPoolMXBean hikariPool() {
+    try {
+      if (dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)) {
+        return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+      }
+    } catch (SQLException ex) {
+      // Fall through: pacing degrades to activity-only hints when pool metrics are unavailable.
+    }
+    return null;
+  }
+
+  private void recordChange(UUID userId, Instant now) {
+    lastChangeByUser.put(userId, now);
+    if (lastChangeByUser.size() > maxTrackedUsers) {
+      // Entries older than the max interval no longer affect hints, so they are safe to drop.
+      Instant cutoff = now.minus(maxInterval.multipliedBy(4));
+      lastChangeByUser.values().removeIf(instant -> instant.isBefore(cutoff));
+      if (lastChangeByUser.size() > maxTrackedUsers) {
+        lastChangeByUser.clear();
+        lastChangeByUser.put(userId, now);
+      }
+    }
+  }
+
+  private Duration clamp(Duration interval) {
+    if (interval.compareTo(minInterval) < 0) {
+      return minInterval;
+    }
+    if (interval.compareTo(maxInterval) > 0) {
+      return maxInterval;
+    }
+    return interval;
+  }
+}
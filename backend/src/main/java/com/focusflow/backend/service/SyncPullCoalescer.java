@@ -0,0 +1,87 @@
+package com.focusflow.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.dto.SyncScope;
+import com.focusflow.backend.entity.User;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Responsibility: Collapses concurrent identical sync pulls into one DB execution. Architecture:
+ * Service layered over SyncService and used by the sync controller for pulls. Why: Multi-device
+ * opens and aggressive client retries otherwise repeat the same four queries in parallel.
+ */
+@Service
+public class SyncPullCoalescer {
+
+  private final SyncService syncService;
+  private final ObjectMapper objectMapper;
+  private final Executor evictionExecutor;
+  private final Map<PullKey, CompletableFuture<byte[]>> results = new ConcurrentHashMap<>();
+
+  public SyncPullCoalescer(
+      SyncService syncService,
+      ObjectMapper objectMapper,
+      @Value("${app.sync.coalescing.ttl-millis:2000}") long ttlMillis) {
+    this.syncService = syncService;
+    this.objectMapper = objectMapper;
+    this.evictionExecutor = CompletableFuture.delayedExecutor(ttlMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns the serialized pull response, sharing both the DB work and the JSON buffer with any
+   * identical request that is in flight or finished within the TTL. A briefly reused result is safe
+   * for cursor-based sync: its serverTime predates any newer change, so the next pull picks it up.
+   */
+  public byte[] pull(User user, Instant since, SyncScope scope) {
+    PullKey key = new PullKey(user.getId(), since != null ? since : Instant.EPOCH, scope);
+    CompletableFuture<byte[]> created = new CompletableFuture<>();
+    CompletableFuture<byte[]> existing = results.putIfAbsent(key, created);
+    if (existing != null) {
+      return await(existing);
+    }
+
+    try {
+      byte[] body = objectMapper.writeValueAsBytes(syncService.pull(user, since, scope));
+      created.complete(body);
+      evictionExecutor.execute(() -> results.remove(key, created));
+      return body;
+    } catch (JsonProcessingException ex) {
+      results.remove(key, created);
+      created.completeExceptionally(ex);
+      throw new IllegalStateException("Failed to serialize sync pull", ex);
+    } catch (RuntimeException ex) {
+      // Failures are not cached; the next identical request retries against the DB.
+      results.remove(key, created);
+      created.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  /** Drops shared results for a user so a pull after their own push sees the new rows. */
+  public void evict(UUID userId) {
+    results.keySet().removeIf(key -> key.userId().equals(userId));
+  }
+
+  private byte[] await(CompletableFuture<byte[]> result) {
+    try {
+      return result.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Coalesced sync pull failed", ex.getCause());
+    }
+  }
+
+  private record PullKey(UUID userId, Instant since, SyncScope scope) {}
+}
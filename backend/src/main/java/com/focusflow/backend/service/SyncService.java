@@ -9,15 +9,21 @@ import com.focusflow.backend.dto.JobApplicationSyncRequest;
 import com.focusflow.backend.dto.RoutineResponse;
 import com.focusflow.backend.dto.RoutineSyncRequest;
 import com.focusflow.backend.dto.SyncConflict;
+import com.focusflow.backend.dto.SyncEntityType;
+import com.focusflow.backend.dto.SyncExchangeRequest;
+import com.focusflow.backend.dto.SyncExchangeResponse;
 import com.focusflow.backend.dto.SyncPullResponse;
 import com.focusflow.backend.dto.SyncPushRequest;
 import com.focusflow.backend.dto.SyncPushResponse;
+import com.focusflow.backend.dto.SyncScope;
+import com.focusflow.backend.entity.AuditableEntity;
 import com.focusflow.backend.entity.CheckIn;
 import com.focusflow.backend.entity.Goal;
 import com.focusflow.backend.entity.GoalStatus;
 import com.focusflow.backend.entity.JobApplication;
 import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
+import com.focusflow.backend.id.UuidV7Generator;
 import com.focusflow.backend.mapper.CheckInMapper;
 import com.focusflow.backend.mapper.GoalMapper;
 import com.focusflow.backend.mapper.JobApplicationMapper;
@@ -28,11 +34,18 @@ import com.focusflow.backend.repository.JobApplicationRepository;
 import com.focusflow.backend.repository.RoutineRepository;
 import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -49,6 +62,7 @@ public class SyncService {
   private static final String REASON_SERVER_NEWER = "SERVER_NEWER";
   private static final String REASON_MISSING_DEPENDENCY = "MISSING_DEPENDENCY";
   private static final String REASON_DUPLICATE = "DUPLICATE";
+  private static final String REASON_INVALID_ID = "INVALID_ID";
 
   private final GoalRepository goalRepository;
   private final RoutineRepository routineRepository;
@@ -58,7 +72,11 @@ public class SyncService {
   private final RoutineMapper routineMapper;
   private final CheckInMapper checkInMapper;
   private final JobApplicationMapper jobApplicationMapper;
+  private final RoutineLookupCache routineLookupCache;
+  private final SyncPacingService syncPacingService;
+  private final CheckInArchiveService checkInArchiveService;
   private final Clock clock;
+  private final boolean requireTimeOrderedIds;
 
   public SyncService(
       GoalRepository goalRepository,
@@ -69,7 +87,11 @@ public class SyncService {
       RoutineMapper routineMapper,
       CheckInMapper checkInMapper,
       JobApplicationMapper jobApplicationMapper,
-      Clock clock) {
+      RoutineLookupCache routineLookupCache,
+      SyncPacingService syncPacingService,
+      CheckInArchiveService checkInArchiveService,
+      Clock clock,
+      @Value("${app.sync.require-time-ordered-ids:false}") boolean requireTimeOrderedIds) {
     this.goalRepository = goalRepository;
     this.routineRepository = routineRepository;
     this.checkInRepository = checkInRepository;
@@ -78,7 +100,11 @@ public class SyncService {
     this.routineMapper = routineMapper;
     this.checkInMapper = checkInMapper;
     this.jobApplicationMapper = jobApplicationMapper;
+    this.routineLookupCache = routineLookupCache;
+    this.syncPacingService = syncPacingService;
+    this.checkInArchiveService = checkInArchiveService;
     this.clock = clock;
+    this.requireTimeOrderedIds = requireTimeOrderedIds;
   }
 
   @Transactional
@@ -99,36 +125,142 @@ public class SyncService {
     processCheckIns(user, safeList(request.checkIns()), now, checkIns, conflicts);
     processApplications(user, safeList(request.applications()), now, applications, conflicts);
 
-    return new SyncPushResponse(goals, routines, checkIns, applications, conflicts, now);
+    boolean changed =
+        !goals.isEmpty() || !routines.isEmpty() || !checkIns.isEmpty() || !applications.isEmpty();
+    return new SyncPushResponse(
+        goals,
+        routines,
+        checkIns,
+        applications,
+        conflicts,
+        now,
+        syncPacingService.nextSyncAfter(user.getId(), changed));
   }
 
+  @Transactional(readOnly = true)
   public SyncPullResponse pull(User user, Instant since) {
+    return pull(user, since, SyncScope.all());
+  }
+
+  /** Read-only so the pull can be served by a replica when read routing is enabled. */
+  @Transactional(readOnly = true)
+  public SyncPullResponse pull(User user, Instant since, SyncScope scope) {
+    return collectChanges(user, since, normalizeScope(scope), Collections.emptySet());
+  }
+
+  @Transactional
+  public SyncExchangeResponse exchange(User user, SyncExchangeRequest request) {
+    SyncScope scope = normalizeScope(request.scope());
+    SyncPushResponse pushed = push(user, request.push());
+
+    // Rows accepted by this push are already echoed in the push section; skip them in the pull
+    // section so the client does not download its own changes twice.
+    Set<UUID> echoed = new HashSet<>();
+    pushed.goals().forEach(goal -> echoed.add(goal.id()));
+    pushed.routines().forEach(routine -> echoed.add(routine.id()));
+    pushed.checkIns().forEach(checkIn -> echoed.add(checkIn.id()));
+    pushed.applications().forEach(application -> echoed.add(application.id()));
+
+    return new SyncExchangeResponse(pushed, collectChanges(user, request.since(), scope, echoed));
+  }
+
+  private SyncPullResponse collectChanges(
+      User user, Instant since, SyncScope scope, Set<UUID> excludedIds) {
     Instant effectiveSince = since != null ? since : Instant.EPOCH;
 
     List<GoalResponse> goals =
-        goalRepository.findByOwnerAndServerUpdatedAtGreaterThanEqual(user, effectiveSince).stream()
-            .map(goalMapper::toResponse)
-            .toList();
+        !scope.includes(SyncEntityType.GOAL)
+            ? List.of()
+            : goalRepository
+                .findByOwnerAndServerUpdatedAtGreaterThanEqual(user, effectiveSince)
+                .stream()
+                .filter(goal -> !excludedIds.contains(goal.getId()))
+                .map(goalMapper::toResponse)
+                .toList();
     List<RoutineResponse> routines =
-        routineRepository
-            .findByOwnerAndServerUpdatedAtGreaterThanEqual(user, effectiveSince)
-            .stream()
-            .map(routineMapper::toResponse)
-            .toList();
+        !scope.includes(SyncEntityType.ROUTINE)
+            ? List.of()
+            : routineRepository
+                .findByOwnerAndServerUpdatedAtGreaterThanEqual(user, effectiveSince)
+                .stream()
+                .filter(routine -> !excludedIds.contains(routine.getId()))
+                .map(routineMapper::toResponse)
+                .toList();
     List<CheckInResponse> checkIns =
-        checkInRepository
-            .findByOwnerAndServerUpdatedAtGreaterThanEqual(user, effectiveSince)
-            .stream()
-            .map(checkInMapper::toResponse)
-            .toList();
+        !scope.includes(SyncEntityType.CHECK_IN)
+            ? List.of()
+            : findCheckInChanges(user, effectiveSince, scope).stream()
+                .filter(checkIn -> !excludedIds.contains(checkIn.getId()))
+                .map(checkInMapper::toResponse)
+                .toList();
     List<JobApplicationResponse> applications =
-        jobApplicationRepository
-            .findByOwnerAndServerUpdatedAtGreaterThanEqual(user, effectiveSince)
-            .stream()
-            .map(jobApplicationMapper::toResponse)
-            .toList();
+        !scope.includes(SyncEntityType.JOB_APPLICATION)
+            ? List.of()
+            : jobApplicationRepository
+                .findByOwnerAndServerUpdatedAtGreaterThanEqual(user, effectiveSince)
+                .stream()
+                .filter(application -> !excludedIds.contains(application.getId()))
+                .map(jobApplicationMapper::toResponse)
+                .toList();
+
+    boolean changed =
+        !goals.isEmpty() || !routines.isEmpty() || !checkIns.isEmpty() || !applications.isEmpty();
+    return new SyncPullResponse(
+        goals,
+        routines,
+        checkIns,
+        applications,
+        Instant.now(clock),
+        syncPacingService.nextSyncAfter(user.getId(), changed),
+        scope);
+  }
 
-    return new SyncPullResponse(goals, routines, checkIns, applications, Instant.now(clock));
+  private List<CheckIn> findCheckInChanges(User user, Instant since, SyncScope scope) {
+    if (!scope.hasCheckInWindow()) {
+      return checkInRepository.findByOwnerAndServerUpdatedAtGreaterThanEqual(user, since);
+    }
+    // Concrete bounds (rather than nullable parameters) keep the (user_id, date) index usable.
+    LocalDate from = scope.checkInsFrom() != null ? scope.checkInsFrom() : CheckIn.MIN_DATE;
+    LocalDate to = scope.checkInsTo() != null ? scope.checkInsTo() : CheckIn.MAX_DATE;
+    List<CheckIn> changes =
+        checkInRepository.findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(
+            user, from, to, since);
+    if (since.equals(Instant.EPOCH)) {
+      return changes;
+    }
+    // A row moved or tombstoned outside the window may still sit in the client's window under its
+    // old date; deliver it so the client can drop that copy. Rows created after the cursor cannot
+    // be on the client and stay out of scope.
+    List<CheckIn> movedOut = checkInRepository.findChangedOutsideWindow(user, from, to, since);
+    if (movedOut.isEmpty()) {
+      return changes;
+    }
+    List<CheckIn> combined = new ArrayList<>(changes);
+    combined.addAll(movedOut);
+    return combined;
+  }
+
+  /**
+   * Validates the requested scope and starts its check-in window no earlier than the archive
+   * horizon. The echoed scope tells clients which days they hold live rows for; older days are only
+   * available as monthly history.
+   */
+  private SyncScope normalizeScope(SyncScope scope) {
+    if (scope == null) {
+      scope = SyncScope.all();
+    }
+    if (scope.checkInsFrom() != null
+        && scope.checkInsTo() != null
+        && scope.checkInsFrom().isAfter(scope.checkInsTo())) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Scope checkInsFrom must not be after checkInsTo");
+    }
+    LocalDate from = scope.checkInsFrom();
+    LocalDate horizon = checkInArchiveService.liveHorizon();
+    if (horizon != null && (from == null || horizon.isAfter(from))) {
+      from = horizon;
+    }
+    return SyncScope.of(scope.types(), from, scope.checkInsTo());
   }
 
   private void processGoals(
@@ -137,8 +269,18 @@ public class SyncService {
       Instant now,
       List<GoalResponse> accepted,
       List<SyncConflict> conflicts) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+    Map<UUID, Goal> known =
+        indexById(goalRepository.findByOwnerAndIdIn(user, ids(payloads, GoalSyncRequest::id)));
+    Set<UUID> takenIds =
+        takenIds(
+            ids(payloads, GoalSyncRequest::id),
+            known.keySet(),
+            unknown -> goalRepository.findIdsOwnedByOthers(user, unknown));
     for (GoalSyncRequest payload : payloads) {
-      Goal existing = goalRepository.findByIdAndOwner(payload.id(), user).orElse(null);
+      Goal existing = known.get(payload.id());
 
       if (payload.deletedAt() != null) {
         if (existing == null) {
@@ -164,6 +306,10 @@ public class SyncService {
       validateGoalPayload(payload);
 
       if (existing == null) {
+        if (!acceptsNewId(payload.id()) || takenIds.contains(payload.id())) {
+          conflicts.add(new SyncConflict("GOAL", payload.id(), REASON_INVALID_ID, null, payload));
+          continue;
+        }
         Goal created = new Goal();
         created.setId(payload.id());
         created.setOwner(user);
@@ -171,6 +317,7 @@ public class SyncService {
         created.setClientUpdatedAt(payload.clientUpdatedAt());
         created.setServerUpdatedAt(now);
         applyGoalCompletion(created, payload, now);
+        known.put(created.getId(), created);
         accepted.add(goalMapper.toResponse(goalRepository.save(created)));
         continue;
       }
@@ -203,8 +350,19 @@ public class SyncService {
       Instant now,
       List<RoutineResponse> accepted,
       List<SyncConflict> conflicts) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+    Map<UUID, Routine> known =
+        indexById(
+            routineRepository.findByOwnerAndIdIn(user, ids(payloads, RoutineSyncRequest::id)));
+    Set<UUID> takenIds =
+        takenIds(
+            ids(payloads, RoutineSyncRequest::id),
+            known.keySet(),
+            unknown -> routineRepository.findIdsOwnedByOthers(user, unknown));
     for (RoutineSyncRequest payload : payloads) {
-      Routine existing = routineRepository.findByIdAndOwner(payload.id(), user).orElse(null);
+      Routine existing = known.get(payload.id());
 
       if (payload.deletedAt() != null) {
         if (existing == null) {
@@ -220,22 +378,37 @@ public class SyncService {
                   payload));
           continue;
         }
+        Instant previousDeletedAt = existing.getDeletedAt();
         existing.setDeletedAt(payload.deletedAt());
         existing.setClientUpdatedAt(payload.clientUpdatedAt());
         existing.setServerUpdatedAt(now);
+        routineLookupCache.evict(user.getId(), existing.getId());
         accepted.add(routineMapper.toResponse(routineRepository.save(existing)));
+        if (previousDeletedAt != null) {
+          // Re-stamp check-ins removed by the earlier tombstone so a later restore still finds
+          // them under the routine's new deletion time.
+          checkInRepository.restoreDeletedWithRoutine(
+              user, existing.getId(), previousDeletedAt, now);
+        }
+        checkInRepository.softDeleteByRoutine(user, existing.getId(), payload.deletedAt(), now);
         continue;
       }
 
       validateRoutinePayload(payload);
 
       if (existing == null) {
+        if (!acceptsNewId(payload.id()) || takenIds.contains(payload.id())) {
+          conflicts.add(
+              new SyncConflict("ROUTINE", payload.id(), REASON_INVALID_ID, null, payload));
+          continue;
+        }
         Routine created = new Routine();
         created.setId(payload.id());
         created.setOwner(user);
         routineMapper.applySync(created, payload);
         created.setClientUpdatedAt(payload.clientUpdatedAt());
         created.setServerUpdatedAt(now);
+        known.put(created.getId(), created);
         accepted.add(routineMapper.toResponse(routineRepository.save(created)));
         continue;
       }
@@ -253,11 +426,17 @@ public class SyncService {
         continue;
       }
 
+      Instant previousDeletedAt = existing.getDeletedAt();
       routineMapper.applySync(existing, payload);
       existing.setDeletedAt(null);
       existing.setClientUpdatedAt(payload.clientUpdatedAt());
       existing.setServerUpdatedAt(now);
+      routineLookupCache.evict(user.getId(), existing.getId());
       accepted.add(routineMapper.toResponse(routineRepository.save(existing)));
+      if (previousDeletedAt != null) {
+        // Undelete: bring back the check-ins that were removed together with the routine.
+        checkInRepository.restoreDeletedWithRoutine(user, existing.getId(), previousDeletedAt, now);
+      }
     }
   }
 
@@ -267,11 +446,38 @@ public class SyncService {
       Instant now,
       List<CheckInResponse> accepted,
       List<SyncConflict> conflicts) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+    // Resolve every lookup up front: per-row queries would force a flush of the pending insert
+    // batch on each iteration. Routines pushed earlier in this request are flushed once here, and
+    // routines already known to be live come from the lookup cache without a query.
+    Map<UUID, CheckIn> known =
+        indexById(
+            checkInRepository.findByOwnerAndIdIn(user, ids(payloads, CheckInSyncRequest::id)));
+    Set<UUID> takenIds =
+        takenIds(
+            ids(payloads, CheckInSyncRequest::id),
+            known.keySet(),
+            unknown -> checkInRepository.findIdsOwnedByOthers(user, unknown));
+    Map<UUID, Routine> routines =
+        routineLookupCache.findLive(user, ids(payloads, CheckInSyncRequest::routineId));
+    Map<CheckInSlot, CheckIn> liveSlots = new HashMap<>();
+    for (CheckIn live :
+        checkInRepository.findByOwnerAndRoutineIdInAndDateInAndDeletedAtIsNull(
+            user, routines.keySet(), ids(payloads, CheckInSyncRequest::date))) {
+      liveSlots.put(CheckInSlot.of(live), live);
+    }
+
     for (CheckInSyncRequest payload : payloads) {
-      CheckIn existing = checkInRepository.findByIdAndOwner(payload.id(), user).orElse(null);
+      CheckIn existing = known.get(payload.id());
 
       if (payload.deletedAt() != null) {
         if (existing == null) {
+          // The client may have pulled the check-in before it was folded into the archive.
+          if (payload.routineId() != null && payload.date() != null) {
+            checkInArchiveService.forgetArchivedDay(user, payload.routineId(), payload.date());
+          }
           continue;
         }
         if (isServerNewer(existing.getServerUpdatedAt(), payload.clientUpdatedAt())) {
@@ -287,6 +493,7 @@ public class SyncService {
         existing.setDeletedAt(payload.deletedAt());
         existing.setClientUpdatedAt(payload.clientUpdatedAt());
         existing.setServerUpdatedAt(now);
+        liveSlots.remove(CheckInSlot.of(existing), existing);
         accepted.add(checkInMapper.toResponse(checkInRepository.save(existing)));
         continue;
       }
@@ -294,10 +501,7 @@ public class SyncService {
       validateCheckInPayload(payload);
 
       // Check-ins must reference an existing routine; otherwise we'd create a dangling foreign key.
-      Routine routine =
-          routineRepository
-              .findByIdAndOwnerAndDeletedAtIsNull(payload.routineId(), user)
-              .orElse(null);
+      Routine routine = routines.get(payload.routineId());
       if (routine == null) {
         conflicts.add(
             new SyncConflict("CHECK_IN", payload.id(), REASON_MISSING_DEPENDENCY, null, payload));
@@ -305,17 +509,22 @@ public class SyncService {
       }
 
       if (existing == null) {
+        // The partitioned table only enforces (id, date), so an id held by another account
+        // would otherwise be accepted under a different date.
+        if (!acceptsNewId(payload.id()) || takenIds.contains(payload.id())) {
+          conflicts.add(
+              new SyncConflict("CHECK_IN", payload.id(), REASON_INVALID_ID, null, payload));
+          continue;
+        }
         // Enforce uniqueness (user_id, routine_id, date) to keep sync idempotent.
-        Optional<CheckIn> duplicate =
-            checkInRepository.findByOwnerAndRoutineAndDateAndDeletedAtIsNull(
-                user, routine, payload.date());
-        if (duplicate.isPresent()) {
+        CheckIn duplicate = liveSlots.get(new CheckInSlot(routine.getId(), payload.date()));
+        if (duplicate != null) {
           conflicts.add(
               new SyncConflict(
                   "CHECK_IN",
                   payload.id(),
                   REASON_DUPLICATE,
-                  checkInMapper.toResponse(duplicate.get()),
+                  checkInMapper.toResponse(duplicate),
                   payload));
           continue;
         }
@@ -327,6 +536,8 @@ public class SyncService {
         created.setClientUpdatedAt(payload.clientUpdatedAt());
         created.setServerUpdatedAt(now);
         applyCheckInCompletion(created, payload, now);
+        known.put(created.getId(), created);
+        liveSlots.put(CheckInSlot.of(created), created);
         accepted.add(checkInMapper.toResponse(checkInRepository.save(created)));
         continue;
       }
@@ -348,27 +559,29 @@ public class SyncService {
       boolean dateChanged = !Objects.equals(existing.getDate(), payload.date());
       // Re-validate uniqueness if the routine or date changes to avoid violating constraints.
       if (routineChanged || dateChanged) {
-        Optional<CheckIn> duplicate =
-            checkInRepository.findByOwnerAndRoutineAndDateAndDeletedAtIsNull(
-                user, routine, payload.date());
-        if (duplicate.isPresent()) {
+        CheckIn duplicate = liveSlots.get(new CheckInSlot(routine.getId(), payload.date()));
+        if (duplicate != null) {
           conflicts.add(
               new SyncConflict(
                   "CHECK_IN",
                   payload.id(),
                   REASON_DUPLICATE,
-                  checkInMapper.toResponse(duplicate.get()),
+                  checkInMapper.toResponse(duplicate),
                   payload));
           continue;
         }
       }
 
+      if (existing.getDeletedAt() == null) {
+        liveSlots.remove(CheckInSlot.of(existing), existing);
+      }
       existing.setRoutine(routine);
       checkInMapper.applySync(existing, payload);
       existing.setDeletedAt(null);
       existing.setClientUpdatedAt(payload.clientUpdatedAt());
       existing.setServerUpdatedAt(now);
       applyCheckInCompletion(existing, payload, now);
+      liveSlots.put(CheckInSlot.of(existing), existing);
       accepted.add(checkInMapper.toResponse(checkInRepository.save(existing)));
     }
   }
@@ -379,9 +592,20 @@ public class SyncService {
       Instant now,
       List<JobApplicationResponse> accepted,
       List<SyncConflict> conflicts) {
+    if (payloads.isEmpty()) {
+      return;
+    }
+    Map<UUID, JobApplication> known =
+        indexById(
+            jobApplicationRepository.findByOwnerAndIdIn(
+                user, ids(payloads, JobApplicationSyncRequest::id)));
+    Set<UUID> takenIds =
+        takenIds(
+            ids(payloads, JobApplicationSyncRequest::id),
+            known.keySet(),
+            unknown -> jobApplicationRepository.findIdsOwnedByOthers(user, unknown));
     for (JobApplicationSyncRequest payload : payloads) {
-      JobApplication existing =
-          jobApplicationRepository.findByIdAndOwner(payload.id(), user).orElse(null);
+      JobApplication existing = known.get(payload.id());
 
       if (payload.deletedAt() != null) {
         if (existing == null) {
@@ -407,12 +631,18 @@ public class SyncService {
       validateJobApplicationPayload(payload);
 
       if (existing == null) {
+        if (!acceptsNewId(payload.id()) || takenIds.contains(payload.id())) {
+          conflicts.add(
+              new SyncConflict("JOB_APPLICATION", payload.id(), REASON_INVALID_ID, null, payload));
+          continue;
+        }
         JobApplication created = new JobApplication();
         created.setId(payload.id());
         created.setOwner(user);
         jobApplicationMapper.applySync(created, payload);
         created.setClientUpdatedAt(payload.clientUpdatedAt());
         created.setServerUpdatedAt(now);
+        known.put(created.getId(), created);
         accepted.add(jobApplicationMapper.toResponse(jobApplicationRepository.save(created)));
         continue;
       }
@@ -466,6 +696,22 @@ public class SyncService {
     checkIn.setCompletedAt(null);
   }
 
+  /** Rows created through sync keep the client's id; optionally insist it is time-ordered. */
+  /**
+   * Ids the push would create that another account already holds, looked up once per type. New rows
+   * are persisted without a prior SELECT, so such an id would otherwise fail the whole push on the
+   * primary key.
+   */
+  private static Set<UUID> takenIds(
+      Set<UUID> ids, Set<UUID> known, Function<Set<UUID>, Set<UUID>> findOwnedByOthers) {
+    ids.removeAll(known);
+    return ids.isEmpty() ? Set.of() : findOwnedByOthers.apply(ids);
+  }
+
+  private boolean acceptsNewId(UUID id) {
+    return !requireTimeOrderedIds || UuidV7Generator.isTimeOrdered(id);
+  }
+
   private boolean isServerNewer(Instant serverUpdatedAt, Instant clientUpdatedAt) {
     if (serverUpdatedAt == null || clientUpdatedAt == null) {
       return false;
@@ -473,6 +719,25 @@ public class SyncService {
     return serverUpdatedAt.isAfter(clientUpdatedAt);
   }
 
+  private <P, K> Set<K> ids(List<P> payloads, Function<P, K> key) {
+    Set<K> keys = new HashSet<>();
+    for (P payload : payloads) {
+      K value = key.apply(payload);
+      if (value != null) {
+        keys.add(value);
+      }
+    }
+    return keys;
+  }
+
+  private <T extends AuditableEntity> Map<UUID, T> indexById(List<T> rows) {
+    Map<UUID, T> index = new HashMap<>();
+    for (T row : rows) {
+      index.put(row.getId(), row);
+    }
+    return index;
+  }
+
   private <T> List<T> safeList(List<T> payloads) {
     return payloads != null ? payloads : Collections.emptyList();
   }
@@ -525,4 +790,12 @@ public class SyncService {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Application status is required");
     }
   }
+
+  /** The (routine, date) pair that at most one live check-in may occupy. */
+  private record CheckInSlot(UUID routineId, LocalDate date) {
+
+    static CheckInSlot of(CheckIn checkIn) {
+      return new CheckInSlot(checkIn.getRoutine().getId(), checkIn.getDate());
+    }
+  }
 }
@@ -0,0 +1,270 @@
+package com.focusflow.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.dto.ExportFormat;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import com.focusflow.backend.repository.UserExportRepository;
+import com.focusflow.backend.repository.UserExportRepository.ExportTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Responsibility: Streams a ZIP of every live row a user owns as CSV or NDJSON. Architecture:
+ * Service over the export repository, writing each row straight to the caller's output stream. Why:
+ * A complete export through the paged endpoints takes thousands of requests, and buffering one in
+ * memory would grow with the account.
+ */
+@Service
+public class UserExportService {
+
+  private static final Logger log = LoggerFactory.getLogger(UserExportService.class);
+
+  private final UserExportRepository repository;
+  private final UserShardResolver userShardResolver;
+  private final TransactionTemplate transactionTemplate;
+  private final JsonFactory jsonFactory;
+  private final MeterRegistry meterRegistry;
+  private final Semaphore permits;
+  private final long retryAfterSeconds;
+
+  public UserExportService(
+      UserExportRepository repository,
+      UserShardResolver userShardResolver,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${app.export.max-concurrent:2}") int maxConcurrent,
+      @Value("${app.export.retry-after-seconds:60}") long retryAfterSeconds) {
+    this.repository = repository;
+    this.userShardResolver = userShardResolver;
+    // One repeatable-read snapshot for all files, so check-ins never reference a routine that
+    // was created after the routines file was written.
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    this.jsonFactory = objectMapper.getFactory();
+    this.meterRegistry = meterRegistry;
+    this.permits = new Semaphore(maxConcurrent);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * Reserves one of the export slots and resolves the user's shard while still on the request
+   * thread, so an overloaded server or a moving account is reported before the response starts.
+   */
+  public UserExport open(User user, ExportFormat format) {
+    if (!permits.tryAcquire()) {
+      throw new ServiceOverloadedException("Too many exports in progress", retryAfterSeconds);
+    }
+    try {
+      return new UserExport(user.getId(), format, userShardResolver.shardFor(user.getId()));
+    } catch (RuntimeException ex) {
+      permits.release();
+      throw ex;
+    }
+  }
+
+  /**
+   * An export whose slot is held until {@link #writeTo} returns, or until {@link #abandon} when the
+   * response ends before it could be written.
+   */
+  public final class UserExport {
+
+    private final UUID userId;
+    private final ExportFormat format;
+    private final int shard;
+    // Set once by whichever of writeTo and abandon comes first, so the slot is released exactly
+    // once and never while rows are still being written.
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private UserExport(UUID userId, ExportFormat format, int shard) {
+      this.userId = userId;
+      this.format = format;
+      this.shard = shard;
+    }
+
+    public ExportFormat format() {
+      return format;
+    }
+
+    /** Writes the ZIP to {@code out} without closing it. */
+    public void writeTo(OutputStream out) throws IOException {
+      if (!claimed.compareAndSet(false, true)) {
+        throw new IllegalStateException("Export was already written or abandoned");
+      }
+      try {
+        userShardResolver.runOnShard(
+            shard,
+            () ->
+                transactionTemplate.executeWithoutResult(status -> writeZip(userId, format, out)));
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      } finally {
+        permits.release();
+      }
+    }
+
+    /**
+     * Frees the slot of an export that was never written, e.g. when the async request timed out or
+     * failed before its task ran. Does nothing once {@link #writeTo} has started.
+     */
+    public void abandon() {
+      if (claimed.compareAndSet(false, true)) {
+        permits.release();
+      }
+    }
+  }
+
+  private void writeZip(UUID userId, ExportFormat format, OutputStream out) {
+    try {
+      ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, 64 * 1024));
+      long total = 0;
+      for (ExportTable table : UserExportRepository.TABLES) {
+        zip.putNextEntry(new ZipEntry(table.name() + "." + format.extension()));
+        Counter rows =
+            Counter.builder("export.rows").tag("table", table.name()).register(meterRegistry);
+        long written =
+            repository.stream(
+                table,
+                userId,
+                rs -> format == ExportFormat.CSV ? writeCsv(rs, zip) : writeNdjson(rs, zip));
+        rows.increment(written);
+        total += written;
+        zip.closeEntry();
+      }
+      // Finishes the archive and flushes the buffer; closing is left to the servlet container.
+      zip.finish();
+      zip.flush();
+      log.info("Exported {} rows for {} as {}", total, userId, format);
+    } catch (IOException ex) {
+      // Usually the client went away; the transaction ends and the cursor is released.
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private long writeCsv(ResultSet rs, OutputStream out) throws SQLException {
+    try {
+      Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      ResultSetMetaData meta = rs.getMetaData();
+      int columns = meta.getColumnCount();
+      for (int i = 1; i <= columns; i++) {
+        writer.write(i > 1 ? "," : "");
+        writer.write(meta.getColumnLabel(i));
+      }
+      writer.write("\r\n");
+      long rows = 0;
+      while (rs.next()) {
+        for (int i = 1; i <= columns; i++) {
+          writer.write(i > 1 ? "," : "");
+          writer.write(csvField(value(rs.getObject(i))));
+        }
+        writer.write("\r\n");
+        rows++;
+      }
+      writer.flush();
+      return rows;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private long writeNdjson(ResultSet rs, OutputStream out) throws SQLException {
+    try {
+      JsonGenerator json = jsonFactory.createGenerator(out);
+      json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      json.setRootValueSeparator(null);
+      ResultSetMetaData meta = rs.getMetaData();
+      int columns = meta.getColumnCount();
+      long rows = 0;
+      while (rs.next()) {
+        json.writeStartObject();
+        for (int i = 1; i <= columns; i++) {
+          json.writeFieldName(meta.getColumnLabel(i));
+          writeJsonValue(json, value(rs.getObject(i)));
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+        rows++;
+      }
+      json.flush();
+      return rows;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /** JDBC values as plain Java values: ISO dates and instants, arrays as string arrays. */
+  private static Object value(Object raw) throws SQLException {
+    if (raw instanceof Timestamp timestamp) {
+      return timestamp.toInstant();
+    }
+    if (raw instanceof Date date) {
+      return date.toLocalDate();
+    }
+    if (raw instanceof Array array) {
+      Object[] elements = (Object[]) array.getArray();
+      String[] values = new String[elements.length];
+      for (int i = 0; i < elements.length; i++) {
+        values[i] = String.valueOf(elements[i]);
+      }
+      return values;
+    }
+    return raw;
+  }
+
+  private static void writeJsonValue(JsonGenerator json, Object value) throws IOException {
+    switch (value) {
+      case null -> json.writeNull();
+      case Boolean flag -> json.writeBoolean(flag);
+      case Integer number -> json.writeNumber(number);
+      case Long number -> json.writeNumber(number);
+      case BigDecimal number -> json.writeNumber(number);
+      case String[] values -> json.writeArray(values, 0, values.length);
+      default -> json.writeString(value.toString());
+    }
+  }
+
+  // RFC 4180: quote fields containing separators, quotes or line breaks; double inner quotes.
+  static String csvField(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = value instanceof String[] values ? String.join(" ", values) : value.toString();
+    if (text.indexOf(',') < 0
+        && text.indexOf('"') < 0
+        && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,157 @@
+package com.focusflow.backend.service;
+
+import com.focusflow.backend.config.ShardContext;
+import com.focusflow.backend.config.ShardRing;
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import com.focusflow.backend.repository.UserShardRepository;
+import com.focusflow.backend.repository.UserShardRepository.Placement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Responsibility: Decides which shard serves a user and runs work against a given shard.
+ * Architecture: Service-layer component over the directory's placement table and the hash ring,
+ * with a short-lived placement cache. Why: Every routed request needs its shard before the first
+ * query, and placements change only when the rebalancer moves a user.
+ */
+@Component
+public class UserShardResolver {
+
+  private final UserShardRepository repository;
+  private final Clock clock;
+  private final boolean enabled;
+  private final int shardCount;
+  private final ShardRing ring;
+  private final Duration ttl;
+  private final int maxEntries;
+  private final long movingRetryAfterSeconds;
+  private final Map<UUID, CachedPlacement> placements = new ConcurrentHashMap<>();
+
+  public UserShardResolver(
+      UserShardRepository repository,
+      Clock clock,
+      @Value("${app.datasource.shards.enabled:false}") boolean enabled,
+      @Value("${app.datasource.shards.urls:}") List<String> urls,
+      @Value("${app.datasource.shards.virtual-nodes:64}") int virtualNodes,
+      @Value("${app.datasource.shards.placement-cache.ttl-seconds:30}") long ttlSeconds,
+      @Value("${app.datasource.shards.placement-cache.max-entries:100000}") int maxEntries,
+      @Value("${app.datasource.shards.moving-retry-after-seconds:5}")
+          long movingRetryAfterSeconds) {
+    this.repository = repository;
+    this.clock = clock;
+    this.enabled = enabled;
+    // Shard 0 is the directory database; every configured URL adds one more shard.
+    this.shardCount = enabled ? 1 + (int) urls.stream().filter(StringUtils::hasText).count() : 1;
+    this.ring = new ShardRing(shardCount, virtualNodes);
+    this.ttl = Duration.ofSeconds(ttlSeconds);
+    this.maxEntries = maxEntries;
+    this.movingRetryAfterSeconds = movingRetryAfterSeconds;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Every shard id, directory first; just shard 0 when sharding is off. */
+  public List<Integer> shardIds() {
+    return IntStream.range(0, shardCount).boxed().toList();
+  }
+
+  /** The shard the ring assigns to the user, regardless of where their data is today. */
+  public int targetShard(UUID userId) {
+    return ring.shardFor(userId);
+  }
+
+  /**
+   * The shard currently holding the user's data. Refuses with a retry hint while the user is being
+   * moved, so no write lands on the shard that is being copied from.
+   */
+  public int shardFor(UUID userId) {
+    if (!enabled) {
+      return 0;
+    }
+    Instant now = Instant.now(clock);
+    CachedPlacement cached = placements.get(userId);
+    if (cached == null || !cached.expiresAt().isAfter(now)) {
+      Placement placement = currentPlacement(userId);
+      cached = new CachedPlacement(placement.shard(), placement.isMoving(), now.plus(ttl));
+      put(userId, cached, now);
+    }
+    if (cached.moving()) {
+      throw new ServiceOverloadedException(
+          "Account data is being moved; retry shortly", movingRetryAfterSeconds);
+    }
+    return cached.shard();
+  }
+
+  /**
+   * Places a freshly registered user on their ring shard and creates the users row that shard
+   * needs. Must run outside a transaction, since it writes to two databases.
+   */
+  public void assignNewUser(UUID userId) {
+    if (!enabled) {
+      return;
+    }
+    int shard = targetShard(userId);
+    if (shard != 0) {
+      runOnShard(shard, () -> repository.insertUserMirror(userId, Instant.now(clock)));
+    }
+    ShardContext.run(null, () -> repository.assign(userId, shard));
+    placements.remove(userId);
+  }
+
+  /** Runs {@code work} against {@code shard}; only shard 0 exists while sharding is off. */
+  public <T> T callOnShard(int shard, Supplier<T> work) {
+    return enabled ? ShardContext.call(shard, work) : work.get();
+  }
+
+  public void runOnShard(int shard, Runnable work) {
+    callOnShard(
+        shard,
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+
+  /** The user's placement read from the directory, bypassing the cache and any move guard. */
+  public Placement currentPlacement(UUID userId) {
+    if (!enabled) {
+      return new Placement(userId, 0, null);
+    }
+    return ShardContext.call(
+        null, () -> repository.find(userId).orElse(new Placement(userId, 0, null)));
+  }
+
+  /** Drops the cached placement after it changed on this node. */
+  public void invalidate(UUID userId) {
+    placements.remove(userId);
+  }
+
+  /** How long other nodes may keep serving a placement they cached before it changed. */
+  public Duration placementTtl() {
+    return ttl;
+  }
+
+  private void put(UUID userId, CachedPlacement placement, Instant now) {
+    if (placements.size() >= maxEntries) {
+      placements.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+      if (placements.size() >= maxEntries) {
+        placements.clear();
+      }
+    }
+    placements.put(userId, placement);
+  }
+
+  private record CachedPlacement(int shard, boolean moving, Instant expiresAt) {}
+}
@@ -0,0 +1,35 @@
+-- Cold tier for check-ins: one row per (user, routine, month). Bit n of completed_days is set when
+-- day n + 1 was completed; recorded_days marks the days that had a check-in at all.
+CREATE TABLE check_in_archives (
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  routine_id UUID NOT NULL REFERENCES routines(id) ON DELETE CASCADE,
+  month DATE NOT NULL,
+  completed_days INTEGER NOT NULL,
+  recorded_days INTEGER NOT NULL,
+  archived_at TIMESTAMP WITH TIME ZONE NOT NULL,
+  CONSTRAINT pk_check_in_archives PRIMARY KEY (user_id, routine_id, month),
+  CONSTRAINT ck_check_in_archives_month CHECK (month = date_trunc('month', month)::DATE)
+);
+
+CREATE INDEX idx_check_in_archives_user_month ON check_in_archives(user_id, month);
+
+-- Drops the month's partition once archiving has emptied it; later writes for that month fall
+-- into check_ins_default and are folded on the next run.
+CREATE FUNCTION drop_empty_check_in_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+  partition_name TEXT := 'check_ins_p' || to_char(month_start, 'YYYYMM');
+  is_empty BOOLEAN;
+BEGIN
+  IF to_regclass(partition_name) IS NULL THEN
+    RETURN FALSE;
+  END IF;
+  EXECUTE format('LOCK TABLE %I IN ACCESS EXCLUSIVE MODE', partition_name);
+  EXECUTE format('SELECT NOT EXISTS (SELECT 1 FROM %I)', partition_name) INTO is_empty;
+  IF NOT is_empty THEN
+    RETURN FALSE;
+  END IF;
+  EXECUTE format('DROP TABLE %I', partition_name);
+  RETURN TRUE;
+END;
+$$;
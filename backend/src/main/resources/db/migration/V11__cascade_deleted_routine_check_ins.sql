@@ -0,0 +1,11 @@
+-- Routines deleted before check-ins cascaded left their check-ins live. Stamp them with the
+-- routine's deletion time, the same marker the application uses to restore them on undelete.
+UPDATE check_ins c
+SET deleted_at = r.deleted_at,
+  server_updated_at = CURRENT_TIMESTAMP,
+  updated_at = CURRENT_TIMESTAMP
+FROM routines r
+WHERE r.id = c.routine_id
+  AND r.user_id = c.user_id
+  AND r.deleted_at IS NOT NULL
+  AND c.deleted_at IS NULL;
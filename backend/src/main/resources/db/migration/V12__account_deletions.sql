@@ -0,0 +1,50 @@
+-- Account deletion disables the user at once and purges their rows in small batches later.
+ALTER TABLE users ADD COLUMN disabled_at TIMESTAMP WITH TIME ZONE;
+
+-- One row per requested deletion; kept after completion as the record that it happened.
+CREATE TABLE account_deletions (
+  user_id UUID PRIMARY KEY,
+  requested_at TIMESTAMP WITH TIME ZONE NOT NULL,
+  started_at TIMESTAMP WITH TIME ZONE,
+  completed_at TIMESTAMP WITH TIME ZONE,
+  current_table VARCHAR(40),
+  deleted_rows BIGINT NOT NULL DEFAULT 0,
+  lease_until TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_account_deletions_pending
+  ON account_deletions(requested_at) WHERE completed_at IS NULL;
+
+-- Every table referencing users needs a user-leading index, or each batch (and the final users
+-- delete) scans the whole table.
+CREATE INDEX idx_sync_conflict_log_user_id ON sync_conflict_log(user_id, id);
+CREATE INDEX idx_revoked_tokens_user_id ON revoked_tokens(user_id, token_id);
+
+-- Routine foreign keys were single-column, so deleting one routine looked up its check-ins by
+-- routine_id alone, which no index leads with: a scan of every check-in partition per routine.
+-- Keying them by (user_id, routine_id) lets the cascade use the existing unique indexes and also
+-- guarantees a check-in's routine belongs to the same user.
+ALTER TABLE routines ADD CONSTRAINT uq_routines_user_id UNIQUE (user_id, id);
+
+-- Looked up by definition: V8 created the partitioned table while the old one still held the
+-- default constraint names, so the generated names differ between databases.
+DO $$
+DECLARE
+  fk RECORD;
+BEGIN
+  FOR fk IN
+    SELECT conrelid::regclass AS table_name, conname
+    FROM pg_constraint
+    WHERE contype = 'f'
+      AND confrelid = 'routines'::regclass
+      AND conrelid IN ('check_ins'::regclass, 'check_in_archives'::regclass)
+  LOOP
+    EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+  END LOOP;
+END;
+$$;
+
+ALTER TABLE check_ins ADD CONSTRAINT fk_check_ins_user_routine
+  FOREIGN KEY (user_id, routine_id) REFERENCES routines(user_id, id) ON DELETE CASCADE;
+ALTER TABLE check_in_archives ADD CONSTRAINT fk_check_in_archives_user_routine
+  FOREIGN KEY (user_id, routine_id) REFERENCES routines(user_id, id) ON DELETE CASCADE;
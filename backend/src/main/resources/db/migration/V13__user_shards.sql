@@ -0,0 +1,12 @@
+-- Placement of each user's data when sharding is enabled. The table lives in the directory
+-- database, next to users; a user without a row keeps their data in the directory database, which
+-- doubles as shard 0. Shard databases run the same migrations and leave it empty.
+CREATE TABLE user_shards (
+  user_id UUID PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+  shard INTEGER NOT NULL CHECK (shard >= 0),
+  -- Set while the rebalancer copies the user to another shard; requests are refused meanwhile.
+  moving_to INTEGER CHECK (moving_to >= 0),
+  moving_since TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_user_shards_moving ON user_shards(moving_since) WHERE moving_to IS NOT NULL;
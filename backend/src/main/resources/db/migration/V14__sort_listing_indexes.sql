@@ -0,0 +1,15 @@
+-- Indexes behind the sort allow-lists of the paged listings. Each allowed sort orders by
+-- (column, id) in one direction, which these indexes serve forwards or backwards. Filtered
+-- variants mirror V9, so a status or source filter does not walk the owner's whole history.
+CREATE INDEX idx_goals_user_target_date_id_live
+  ON goals(user_id, target_date, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_goals_user_status_target_date_id_live
+  ON goals(user_id, status, target_date, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_routines_user_title_id_live
+  ON routines(user_id, title, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_job_applications_user_applied_date_id_live
+  ON job_applications(user_id, applied_date, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_job_applications_user_status_applied_date_id_live
+  ON job_applications(user_id, status, applied_date, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_job_applications_user_source_applied_date_id_live
+  ON job_applications(user_id, source, applied_date, id) WHERE deleted_at IS NULL;
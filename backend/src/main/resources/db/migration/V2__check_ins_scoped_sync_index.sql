@@ -0,0 +1,2 @@
+-- Supports scoped sync pulls that bound check-ins by date window before filtering on the cursor.
+CREATE INDEX idx_check_ins_user_date_server_updated ON check_ins(user_id, date, server_updated_at);
@@ -0,0 +1,13 @@
+-- Append-only telemetry of sync conflicts returned to clients; trimmed by a retention job.
+CREATE TABLE sync_conflict_log (
+  id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  entity_type VARCHAR(30) NOT NULL,
+  entity_id UUID NOT NULL,
+  reason VARCHAR(40) NOT NULL,
+  fields VARCHAR(500),
+  client_version VARCHAR(64),
+  occurred_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_sync_conflict_log_occurred_at ON sync_conflict_log(occurred_at);
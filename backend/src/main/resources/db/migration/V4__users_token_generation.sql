@@ -0,0 +1,2 @@
+-- Bumped whenever account state changes so previously issued tokens stop authenticating.
+ALTER TABLE users ADD COLUMN token_generation INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Access tokens revoked before expiry, by JWT id; rows are purged once the token would have expired.
+CREATE TABLE revoked_tokens (
+  token_id UUID PRIMARY KEY,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+  revoked_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
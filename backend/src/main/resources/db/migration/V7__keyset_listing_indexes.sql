@@ -0,0 +1,9 @@
+-- Seek indexes for keyset listings; partial so soft-deleted rows never enter the scanned range.
+CREATE INDEX idx_check_ins_user_date_id_live
+  ON check_ins(user_id, date DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_goals_user_created_id_live
+  ON goals(user_id, created_at DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_routines_user_created_id_live
+  ON routines(user_id, created_at DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_job_applications_user_created_id_live
+  ON job_applications(user_id, created_at DESC, id DESC) WHERE deleted_at IS NULL;
@@ -0,0 +1,110 @@
+-- Rebuilds check_ins as a table range-partitioned by month on date, so vacuum, index maintenance
+-- and date-bounded reads touch only the months involved. Postgres requires the partition key in
+-- every unique constraint: the primary key becomes (id, date) and the application keeps ids
+-- globally unique. Rows outside the pre-created months land in check_ins_default until their month
+-- is created.
+ALTER TABLE check_ins RENAME TO check_ins_unpartitioned;
+ALTER TABLE check_ins_unpartitioned DROP CONSTRAINT check_ins_pkey;
+ALTER TABLE check_ins_unpartitioned DROP CONSTRAINT uq_check_ins_user_routine_date;
+DROP INDEX idx_check_ins_user_id;
+DROP INDEX idx_check_ins_user_server_updated;
+DROP INDEX idx_check_ins_user_date_server_updated;
+DROP INDEX idx_check_ins_user_date_id_live;
+
+CREATE TABLE check_ins (
+  id UUID NOT NULL,
+  user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  routine_id UUID NOT NULL REFERENCES routines(id) ON DELETE CASCADE,
+  date DATE NOT NULL,
+  completed BOOLEAN NOT NULL DEFAULT FALSE,
+  completed_at TIMESTAMP WITH TIME ZONE,
+  client_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  server_updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  deleted_at TIMESTAMP WITH TIME ZONE,
+  CONSTRAINT check_ins_pkey PRIMARY KEY (id, date),
+  CONSTRAINT uq_check_ins_user_routine_date UNIQUE (user_id, routine_id, date)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE check_ins_default PARTITION OF check_ins DEFAULT;
+
+-- Creates the partition for the month containing month_start; false when it already exists.
+-- Matching rows parked in the default partition are moved into the new partition before it is
+-- attached, because Postgres refuses to attach a range that the default partition still holds.
+CREATE FUNCTION create_check_in_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+  first_day DATE := date_trunc('month', month_start)::DATE;
+  next_first_day DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+  partition_name TEXT := 'check_ins_p' || to_char(first_day, 'YYYYMM');
+BEGIN
+  IF to_regclass(partition_name) IS NOT NULL THEN
+    RETURN FALSE;
+  END IF;
+  EXECUTE format(
+    'CREATE TABLE %I (LIKE check_ins INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+  EXECUTE format(
+    'WITH moved AS (DELETE FROM check_ins_default WHERE date >= %L AND date < %L RETURNING *) '
+      || 'INSERT INTO %I SELECT * FROM moved',
+    first_day, next_first_day, partition_name);
+  EXECUTE format(
+    'ALTER TABLE check_ins ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+    partition_name, first_day, next_first_day);
+  RETURN TRUE;
+END;
+$$;
+
+-- Ensures monthly partitions exist from from_month through months_ahead months later. Serialized
+-- with an advisory lock so concurrent application nodes do not race on the same month.
+CREATE FUNCTION ensure_check_in_partitions(from_month DATE, months_ahead INTEGER) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+  created INTEGER := 0;
+BEGIN
+  PERFORM pg_advisory_xact_lock(hashtext('check_ins_partitions'));
+  FOR offset_months IN 0..months_ahead LOOP
+    IF create_check_in_partition(
+        (date_trunc('month', from_month) + make_interval(months => offset_months))::DATE) THEN
+      created := created + 1;
+    END IF;
+  END LOOP;
+  RETURN created;
+END;
+$$;
+
+-- Existing history gets monthly partitions for up to ten years back; anything older stays in the
+-- default partition.
+DO $$
+DECLARE
+  current_month DATE := date_trunc('month', CURRENT_DATE)::DATE;
+  oldest_date DATE;
+  first_month DATE;
+BEGIN
+  SELECT MIN(date) INTO oldest_date FROM check_ins_unpartitioned;
+  first_month := LEAST(
+    date_trunc('month', GREATEST(COALESCE(oldest_date, CURRENT_DATE), CURRENT_DATE - 3650))::DATE,
+    current_month);
+  PERFORM ensure_check_in_partitions(
+    first_month,
+    ((EXTRACT(YEAR FROM current_month) - EXTRACT(YEAR FROM first_month)) * 12
+      + EXTRACT(MONTH FROM current_month) - EXTRACT(MONTH FROM first_month))::INTEGER + 3);
+END;
+$$;
+
+INSERT INTO check_ins (
+  id, user_id, routine_id, date, completed, completed_at, client_updated_at, server_updated_at,
+  created_at, updated_at, deleted_at)
+SELECT
+  id, user_id, routine_id, date, completed, completed_at, client_updated_at, server_updated_at,
+  created_at, updated_at, deleted_at
+FROM check_ins_unpartitioned;
+
+DROP TABLE check_ins_unpartitioned;
+
+-- Indexes declared on the parent cascade to every current and future partition.
+CREATE INDEX idx_check_ins_user_id ON check_ins(user_id);
+CREATE INDEX idx_check_ins_user_server_updated ON check_ins(user_id, server_updated_at);
+CREATE INDEX idx_check_ins_user_date_server_updated ON check_ins(user_id, date, server_updated_at);
+CREATE INDEX idx_check_ins_user_date_id_live
+  ON check_ins(user_id, date DESC, id DESC) WHERE deleted_at IS NULL;
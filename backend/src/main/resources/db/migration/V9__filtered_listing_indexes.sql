@@ -0,0 +1,8 @@
+-- Partial indexes for the status- and source-filtered listings flagged by QueryPlanRegressionIT:
+-- without them a filtered page walks the owner's whole live history and discards most rows.
+CREATE INDEX idx_goals_user_status_created_id_live
+  ON goals(user_id, status, created_at DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_job_applications_user_status_created_id_live
+  ON job_applications(user_id, status, created_at DESC, id DESC) WHERE deleted_at IS NULL;
+CREATE INDEX idx_job_applications_user_source_created_id_live
+  ON job_applications(user_id, source, created_at DESC, id DESC) WHERE deleted_at IS NULL;
@@ -0,0 +1,95 @@
+package com.focusflow.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+
+/**
+ * Responsibility: Unit tests for replica routing and read-your-writes pinning. Architecture:
+ * Configuration-layer test with mocked datasources and transactions. Why: Ensures reads rotate
+ * across replicas and that a user's committed write keeps their reads on the primary for the
+ * window.
+ */
+class ReplicaRoutingDataSourceTest {
+
+  private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+  private Clock clock;
+  private ReadYourWritesTracker tracker;
+  private ReplicaRoutingDataSource routing;
+
+  @BeforeEach
+  void setUp() {
+    clock = mock(Clock.class);
+    when(clock.instant()).thenReturn(now);
+    tracker = new ReadYourWritesTracker(clock, Duration.ofSeconds(5), 100);
+    routing =
+        new ReplicaRoutingDataSource(
+            mock(DataSource.class),
+            List.of(mock(HikariDataSource.class), mock(HikariDataSource.class)),
+            tracker);
+    routing.afterPropertiesSet();
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken("a@example.com", null, List.of()));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readsRotateAcrossReplicas() {
+    assertThat(routing.determineCurrentLookupKey()).isEqualTo(0);
+    assertThat(routing.determineCurrentLookupKey()).isEqualTo(1);
+    assertThat(routing.determineCurrentLookupKey()).isEqualTo(0);
+  }
+
+  @Test
+  void committedWritePinsUserToPrimaryForWindow() {
+    tracker.afterCommit(transaction(false), null);
+
+    assertThat(routing.determineCurrentLookupKey()).isEqualTo("primary");
+
+    when(clock.instant()).thenReturn(now.plusSeconds(6));
+    assertThat(routing.determineCurrentLookupKey()).isEqualTo(0);
+  }
+
+  @Test
+  void readOnlyAndFailedCommitsDoNotPin() {
+    tracker.afterCommit(transaction(true), null);
+    tracker.afterCommit(transaction(false), new IllegalStateException("commit failed"));
+
+    assertThat(tracker.isCurrentUserPinned()).isFalse();
+  }
+
+  @Test
+  void otherUsersAreNotPinned() {
+    tracker.afterCommit(transaction(false), null);
+
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken("b@example.com", null, List.of()));
+    assertThat(routing.determineCurrentLookupKey()).isEqualTo(0);
+  }
+
+  private TransactionExecution transaction(boolean readOnly) {
+    TransactionExecution transaction = mock(TransactionExecution.class);
+    when(transaction.isNewTransaction()).thenReturn(true);
+    when(transaction.isReadOnly()).thenReturn(readOnly);
+    return transaction;
+  }
+}
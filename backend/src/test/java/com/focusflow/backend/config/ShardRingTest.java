@@ -0,0 +1,71 @@
+package com.focusflow.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.focusflow.backend.id.UuidV7Generator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Responsibility: Unit tests for the consistent-hash shard ring. Architecture: Configuration-layer
+ * test over generated user ids. Why: Ensures users spread evenly over shards and that adding a
+ * shard moves only the users the new shard takes over.
+ */
+class ShardRingTest {
+
+  private static final int USERS = 20_000;
+
+  @Test
+  void spreadsTimeOrderedIdsEvenly() {
+    ShardRing ring = new ShardRing(4, 64);
+    int[] counts = new int[4];
+    for (UUID userId : userIds()) {
+      counts[ring.shardFor(userId)]++;
+    }
+
+    for (int count : counts) {
+      assertThat(count).isBetween(USERS / 4 * 3 / 4, USERS / 4 * 5 / 4);
+    }
+  }
+
+  @Test
+  void addingShardOnlyMovesUsersToTheNewShard() {
+    ShardRing before = new ShardRing(3, 64);
+    ShardRing after = new ShardRing(4, 64);
+    int moved = 0;
+    for (UUID userId : userIds()) {
+      int from = before.shardFor(userId);
+      int to = after.shardFor(userId);
+      if (from != to) {
+        assertThat(to).isEqualTo(3);
+        moved++;
+      }
+    }
+
+    // Ideally a quarter of the users; a modulo scheme would move three quarters.
+    assertThat(moved).isBetween(USERS / 4 * 3 / 4, USERS / 4 * 5 / 4);
+  }
+
+  @Test
+  void singleShardOwnsEveryone() {
+    ShardRing ring = new ShardRing(1, 8);
+
+    assertThat(userIds()).allSatisfy(userId -> assertThat(ring.shardFor(userId)).isZero());
+  }
+
+  @Test
+  void rejectsEmptyRing() {
+    assertThatThrownBy(() -> new ShardRing(0, 64)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static List<UUID> userIds() {
+    List<UUID> ids = new ArrayList<>(USERS);
+    for (int i = 0; i < USERS; i++) {
+      ids.add(UuidV7Generator.SYSTEM.next());
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,186 @@
+package com.focusflow.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.dto.RegisterRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Responsibility: Integration tests for the CSV history import. Architecture: API-layer test
+ * running the COPY staging and set-based merge against the shared PostgreSQL Testcontainer. Why:
+ * Verifies a 100k check-in import completes in seconds, that re-importing changes nothing, and that
+ * imported months get their own partitions.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HistoryImportIT extends IntegrationTestBase {
+
+  private static final Logger log = LoggerFactory.getLogger(HistoryImportIT.class);
+  private static final int ROUTINES = 100;
+  private static final int DAYS = 1_000;
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void importsOneHundredThousandCheckInsAndSkipsThemOnReimport() throws Exception {
+    String token = registerAndGetToken("import@example.com");
+    List<UUID> routineIds = new ArrayList<>();
+    StringBuilder routines = new StringBuilder("id,title,schedule_days\n");
+    for (int i = 0; i < ROUTINES; i++) {
+      UUID id = UUID.randomUUID();
+      routineIds.add(id);
+      routines.append(id).append(",\"Routine ").append(i).append(", daily\",MONDAY FRIDAY\n");
+    }
+    StringBuilder checkIns = new StringBuilder("routine_id,date,completed\n");
+    LocalDate first = LocalDate.of(2020, 1, 1);
+    for (UUID routineId : routineIds) {
+      for (int day = 0; day < DAYS; day++) {
+        checkIns.append(routineId).append(',').append(first.plusDays(day)).append(',');
+        checkIns.append(day % 3 != 0).append('\n');
+      }
+    }
+    MockMultipartFile routinesFile = csv("routines", routines);
+    MockMultipartFile checkInsFile = csv("checkIns", checkIns);
+
+    long started = System.nanoTime();
+    mockMvc
+        .perform(
+            multipart("/api/v1/account/import")
+                .file(routinesFile)
+                .file(checkInsFile)
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.routinesImported").value(ROUTINES))
+        .andExpect(jsonPath("$.checkInsImported").value(ROUTINES * DAYS))
+        .andExpect(jsonPath("$.checkInsSkipped").value(0));
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+    log.info("Imported {} check-ins in {} ms", ROUTINES * DAYS, elapsedMillis);
+
+    assertThat(elapsedMillis).isLessThan(30_000);
+    // Completed days without a completed_at in the file are stamped with the import time.
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from check_ins c join users u on u.id = c.user_id"
+                    + " where u.email = ? and c.completed and c.completed_at is null",
+                Long.class,
+                "import@example.com"))
+        .isZero();
+
+    mockMvc
+        .perform(
+            multipart("/api/v1/account/import")
+                .file(routinesFile)
+                .file(checkInsFile)
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.routinesSkipped").value(ROUTINES))
+        .andExpect(jsonPath("$.checkInsImported").value(0))
+        .andExpect(jsonPath("$.checkInsSkipped").value(ROUTINES * DAYS));
+  }
+
+  @Test
+  void rejectsRoutinesOfAnotherAccountAndLeavesNothingBehind() throws Exception {
+    String owner = registerAndGetToken("import-owner@example.com");
+    String other = registerAndGetToken("import-other@example.com");
+    UUID routineId = UUID.randomUUID();
+    MockMultipartFile routines =
+        csv("routines", "id,title,schedule_days\n" + routineId + ",Run,MONDAY\n");
+    mockMvc
+        .perform(
+            multipart("/api/v1/account/import")
+                .file(routines)
+                .header("Authorization", "Bearer " + owner))
+        .andExpect(status().isOk());
+
+    mockMvc
+        .perform(
+            multipart("/api/v1/account/import")
+                .file(routines)
+                .file(
+                    csv(
+                        "checkIns",
+                        "routine_id,date,completed\n" + routineId + ",2024-01-01,true\n"))
+                .header("Authorization", "Bearer " + other))
+        .andExpect(status().isConflict());
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from check_ins where routine_id = ?", Long.class, routineId))
+        .isZero();
+  }
+
+  @Test
+  void importedHistoryLandsInMonthlyPartitionsRatherThanTheDefault() throws Exception {
+    String token = registerAndGetToken("import-partitions@example.com");
+    UUID routineId = UUID.randomUUID();
+
+    mockMvc
+        .perform(
+            multipart("/api/v1/account/import")
+                .file(csv("routines", "id,title,schedule_days\n" + routineId + ",Run,MONDAY\n"))
+                .file(
+                    csv(
+                        "checkIns",
+                        "routine_id,date,completed\n" + routineId + ",1999-02-03,true\n"))
+                .header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.checkInsImported").value(1));
+
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from check_ins_default where routine_id = ?",
+                Long.class,
+                routineId))
+        .isZero();
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "select count(*) from check_ins_p199902 where routine_id = ?",
+                Long.class,
+                routineId))
+        .isEqualTo(1);
+  }
+
+  private static MockMultipartFile csv(String name, CharSequence content) {
+    return new MockMultipartFile(
+        name, name + ".csv", "text/csv", content.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String registerAndGetToken(String email) throws Exception {
+    RegisterRequest register = new RegisterRequest(email, "Password1!");
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(register)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+    JsonNode json = objectMapper.readTree(result.getResponse().getContentAsString());
+    return json.get("token").asText();
+  }
+}
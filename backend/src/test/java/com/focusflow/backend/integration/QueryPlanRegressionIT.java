@@ -0,0 +1,705 @@
+package com.focusflow.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.entity.GoalStatus;
+import com.focusflow.backend.entity.JobApplicationSource;
+import com.focusflow.backend.entity.JobApplicationStatus;
+import com.focusflow.backend.entity.Routine;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.integration.StatementCapture.CapturedStatement;
+import com.focusflow.backend.repository.CheckInArchiveRepository;
+import com.focusflow.backend.repository.CheckInRepository;
+import com.focusflow.backend.repository.GoalRepository;
+import com.focusflow.backend.repository.JobApplicationRepository;
+import com.focusflow.backend.repository.RoutineRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Responsibility: Guards the query plans of every repository query against a large synthetic
+ * dataset. Architecture: Integration suite on the shared PostgreSQL Testcontainer that invokes each
+ * repository method, captures the statements it executes through {@link StatementCapture}, runs
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} on them and writes the plans to {@code target/query-plans}.
+ * Why: Missing or unusable indexes only show up at production volume, long after the query was
+ * merged.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(StatementCapture.Config.class)
+class QueryPlanRegressionIT extends IntegrationTestBase {
+
+  private static final Logger log = LoggerFactory.getLogger(QueryPlanRegressionIT.class);
+  private static final int USERS = Integer.getInteger("plans.users", 1_000);
+  private static final int HISTORY_DAYS = 365;
+  private static final List<Class<?>> REPOSITORIES =
+      List.of(
+          GoalRepository.class,
+          RoutineRepository.class,
+          CheckInRepository.class,
+          JobApplicationRepository.class);
+  private static final Path REPORT_DIR = Path.of("target", "query-plans");
+  // A sequential scan that reads fewer rows than this is the planner being sensible on a tiny
+  // relation (e.g. an empty future partition), not a missing index.
+  private static final long SEQ_SCAN_ROW_LIMIT = 1_000;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private EntityManager entityManager;
+  @Autowired private GoalRepository goalRepository;
+  @Autowired private RoutineRepository routineRepository;
+  @Autowired private CheckInRepository checkInRepository;
+  @Autowired private CheckInArchiveRepository checkInArchiveRepository;
+  @Autowired private JobApplicationRepository jobApplicationRepository;
+
+  private static Fixture fixture;
+
+  @BeforeEach
+  void seedOnce() {
+    if (fixture != null) {
+      return;
+    }
+    LocalDate today = LocalDate.now();
+    jdbcTemplate.queryForObject(
+        "select ensure_check_in_partitions(?, ?)",
+        Integer.class,
+        Date.valueOf(today.minusDays(HISTORY_DAYS).withDayOfMonth(1)),
+        16);
+    // One heavy account is what exposes filtered scans; the population makes the tables large
+    // enough that the planner prefers indexes for everyone else.
+    seed("power", 1, 5_000, 20, HISTORY_DAYS, 5_000);
+    seed("pop", USERS, 20, 6, 180, 30);
+    for (String table : List.of("users", "goals", "routines", "check_ins", "job_applications")) {
+      jdbcTemplate.execute("vacuum analyze " + table);
+    }
+    fixture =
+        new Fixture(
+            key("power-user-1"),
+            key("pop-user-1"),
+            List.of(key("power-goal-1-1"), key("power-goal-1-2"), key("power-goal-1-3")),
+            List.of(key("power-routine-1-1"), key("power-routine-1-2")),
+            List.of(key("power-checkin-1-1-1"), key("power-checkin-1-2-3")),
+            List.of(key("power-application-1-1"), key("power-application-1-2")),
+            today);
+  }
+
+  @Test
+  void everyRepositoryQueryHasAPlanCase() {
+    Set<String> covered = cases().stream().map(PlanCase::method).collect(Collectors.toSet());
+    Set<String> declared = new TreeSet<>();
+    for (Class<?> repository : REPOSITORIES) {
+      for (Method method : repository.getDeclaredMethods()) {
+        declared.add(repository.getSimpleName() + "." + method.getName());
+      }
+    }
+    declared.removeAll(covered);
+    assertThat(declared).as("repository methods without a plan case").isEmpty();
+  }
+
+  @TestFactory
+  Stream<DynamicTest> plansStayWithinBudget() {
+    return cases().stream()
+        .map(planCase -> DynamicTest.dynamicTest(planCase.name(), () -> verify(planCase)));
+  }
+
+  private void verify(PlanCase planCase) throws IOException {
+    // Bulk updates really run, so both the call and its EXPLAIN ANALYZE are rolled back.
+    List<CapturedStatement> statements =
+        rolledBack(() -> StatementCapture.during(planCase.invocation()));
+    assertThat(statements).as(planCase.name() + " statements").isNotEmpty();
+    for (int i = 0; i < statements.size(); i++) {
+      CapturedStatement statement = statements.get(i);
+      String label = statements.size() == 1 ? planCase.name() : planCase.name() + " #" + (i + 1);
+      String json =
+          rolledBack(
+              () ->
+                  jdbcTemplate.queryForObject(
+                      "explain (analyze, buffers, format json) " + statement.sql(),
+                      String.class,
+                      statement.parameters().toArray()));
+      Files.createDirectories(REPORT_DIR);
+      Files.writeString(REPORT_DIR.resolve(label + ".json"), json);
+      check(label, json, statement.isCount() ? planCase.budget().forCount() : planCase.budget());
+    }
+  }
+
+  private void check(String label, String json, Budget budget) throws IOException {
+    JsonNode plan = objectMapper.readTree(json).get(0).get("Plan");
+    List<JsonNode> nodes = new ArrayList<>();
+    collect(plan, nodes);
+    long buffers =
+        plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+    long filtered = 0;
+    Set<String> partitions = new TreeSet<>();
+    List<String> seqScans = new ArrayList<>();
+    for (JsonNode node : nodes) {
+      long loops = Math.max(1, node.path("Actual Loops").asLong());
+      long removed = node.path("Rows Removed by Filter").asLong() * loops;
+      filtered += removed;
+      String relation = node.path("Relation Name").asText("");
+      if (relation.startsWith("check_ins_")) {
+        partitions.add(relation);
+      }
+      long examined = node.path("Actual Rows").asLong() * loops + removed;
+      if (node.path("Node Type").asText().endsWith("Seq Scan") && examined > SEQ_SCAN_ROW_LIMIT) {
+        seqScans.add(relation + " (" + examined + " rows)");
+      }
+    }
+    log.info(
+        "{}: {} buffers, {} rows filtered, nodes {}",
+        label,
+        buffers,
+        filtered,
+        nodes.stream().map(node -> node.path("Node Type").asText()).toList());
+
+    assertThat(seqScans).as(label + " sequential scans").isEmpty();
+    assertThat(buffers).as(label + " shared buffers").isLessThanOrEqualTo(budget.maxBuffers());
+    assertThat(filtered)
+        .as(label + " rows removed by filter")
+        .isLessThanOrEqualTo(budget.maxFiltered());
+    assertThat(partitions.size())
+        .as(label + " check-in partitions scanned " + partitions)
+        .isLessThanOrEqualTo(budget.maxPartitions());
+  }
+
+  private <T> T rolledBack(Supplier<T> work) {
+    return new TransactionTemplate(transactionManager)
+        .execute(
+            status -> {
+              status.setRollbackOnly();
+              return work.get();
+            });
+  }
+
+  // Only the id is bound, so a reference is enough and costs no query of its own.
+  private User user(UUID id) {
+    return entityManager.getReference(User.class, id);
+  }
+
+  private Routine routine(UUID id) {
+    return entityManager.getReference(Routine.class, id);
+  }
+
+  private List<PlanCase> cases() {
+    Fixture f = fixture;
+    Instant recent = Instant.now().minus(2, ChronoUnit.DAYS);
+    Instant newest = Instant.now().plus(1, ChronoUnit.DAYS);
+    UUID maxId = new UUID(-1L, -1L);
+    LocalDate monthAgo = f.today().minusDays(30);
+    LocalDate today = f.today();
+    Pageable newestFirst = PageRequest.of(0, 20, descending("createdAt"));
+    Pageable latestCheckIns = PageRequest.of(0, 20, descending("date"));
+    Limit pageLimit = Limit.of(21);
+    List<PlanCase> cases = new ArrayList<>();
+
+    // Goals.
+    String goals = "GoalRepository.";
+    cases.add(
+        lookup(
+            goals + "findByIdAndOwner",
+            () -> goalRepository.findByIdAndOwner(f.goals().get(0), user(f.power()))));
+    cases.add(
+        lookup(
+            goals + "findByIdAndOwnerAndDeletedAtIsNull",
+            () ->
+                goalRepository.findByIdAndOwnerAndDeletedAtIsNull(
+                    f.goals().get(0), user(f.power()))));
+    cases.add(
+        lookup(
+            goals + "findByOwnerAndIdIn",
+            () -> goalRepository.findByOwnerAndIdIn(user(f.power()), f.goals())));
+    cases.add(
+        lookup(
+            goals + "findIdsOwnedByOthers",
+            () -> goalRepository.findIdsOwnedByOthers(user(f.typical()), f.goals())));
+    cases.add(
+        page(
+            goals + "findByOwnerAndDeletedAtIsNull",
+            () -> goalRepository.findByOwnerAndDeletedAtIsNull(user(f.power()), newestFirst)));
+    cases.add(
+        page(
+            goals + "findByOwnerAndStatusAndDeletedAtIsNull",
+            () ->
+                goalRepository.findByOwnerAndStatusAndDeletedAtIsNull(
+                    user(f.power()), GoalStatus.COMPLETED, newestFirst)));
+    cases.add(
+        page(
+            goals + "findSliceByOwnerAndDeletedAtIsNull",
+            () -> goalRepository.findSliceByOwnerAndDeletedAtIsNull(user(f.power()), newestFirst)));
+    cases.add(
+        page(
+            goals + "findSliceByOwnerAndStatusAndDeletedAtIsNull",
+            () ->
+                goalRepository.findSliceByOwnerAndStatusAndDeletedAtIsNull(
+                    user(f.power()), GoalStatus.ARCHIVED, newestFirst)));
+    cases.add(
+        page(
+                goals + "findByOwnerAndDeletedAtIsNull",
+                () ->
+                    goalRepository.findByOwnerAndDeletedAtIsNull(
+                        user(f.power()), PageRequest.of(0, 20, ascending("targetDate"))))
+            .named("GoalRepository.findByOwnerAndDeletedAtIsNull (targetDate)"));
+    cases.add(
+        page(
+                goals + "findSliceByOwnerAndStatusAndDeletedAtIsNull",
+                () ->
+                    goalRepository.findSliceByOwnerAndStatusAndDeletedAtIsNull(
+                        user(f.power()),
+                        GoalStatus.COMPLETED,
+                        PageRequest.of(0, 20, descending("targetDate"))))
+            .named("GoalRepository.findSliceByOwnerAndStatusAndDeletedAtIsNull (targetDate)"));
+    cases.add(
+        page(
+            goals + "findPageAfter",
+            () -> goalRepository.findPageAfter(user(f.power()), null, newest, maxId, pageLimit)));
+    cases.add(
+        pull(
+            goals + "findByOwnerAndServerUpdatedAtGreaterThanEqual",
+            () ->
+                goalRepository.findByOwnerAndServerUpdatedAtGreaterThanEqual(
+                    user(f.power()), recent)));
+
+    // Routines.
+    String routines = "RoutineRepository.";
+    cases.add(
+        lookup(
+            routines + "findByIdAndOwner",
+            () -> routineRepository.findByIdAndOwner(f.routines().get(0), user(f.power()))));
+    cases.add(
+        lookup(
+            routines + "findByIdAndOwnerAndDeletedAtIsNull",
+            () ->
+                routineRepository.findByIdAndOwnerAndDeletedAtIsNull(
+                    f.routines().get(0), user(f.power()))));
+    cases.add(
+        lookup(
+            routines + "findByOwnerAndIdIn",
+            () -> routineRepository.findByOwnerAndIdIn(user(f.power()), f.routines())));
+    cases.add(
+        lookup(
+            routines + "findIdsOwnedByOthers",
+            () -> routineRepository.findIdsOwnedByOthers(user(f.typical()), f.routines())));
+    cases.add(
+        lookup(
+            routines + "findByOwnerAndIdInAndDeletedAtIsNull",
+            () ->
+                routineRepository.findByOwnerAndIdInAndDeletedAtIsNull(
+                    user(f.power()), f.routines())));
+    cases.add(
+        page(
+            routines + "findByOwnerAndDeletedAtIsNull",
+            () -> routineRepository.findByOwnerAndDeletedAtIsNull(user(f.power()), newestFirst)));
+    cases.add(
+        page(
+            routines + "findByOwnerAndActiveAndDeletedAtIsNull",
+            () ->
+                routineRepository.findByOwnerAndActiveAndDeletedAtIsNull(
+                    user(f.power()), true, newestFirst)));
+    cases.add(
+        page(
+            routines + "findSliceByOwnerAndDeletedAtIsNull",
+            () ->
+                routineRepository.findSliceByOwnerAndDeletedAtIsNull(
+                    user(f.power()), newestFirst)));
+    cases.add(
+        page(
+            routines + "findSliceByOwnerAndActiveAndDeletedAtIsNull",
+            () ->
+                routineRepository.findSliceByOwnerAndActiveAndDeletedAtIsNull(
+                    user(f.power()), false, newestFirst)));
+    cases.add(
+        page(
+                routines + "findByOwnerAndDeletedAtIsNull",
+                () ->
+                    routineRepository.findByOwnerAndDeletedAtIsNull(
+                        user(f.power()), PageRequest.of(0, 20, ascending("title"))))
+            .named("RoutineRepository.findByOwnerAndDeletedAtIsNull (title)"));
+    cases.add(
+        page(
+            routines + "findPageAfter",
+            () ->
+                routineRepository.findPageAfter(user(f.power()), null, newest, maxId, pageLimit)));
+    cases.add(
+        pull(
+            routines + "findByOwnerAndServerUpdatedAtGreaterThanEqual",
+            () ->
+                routineRepository.findByOwnerAndServerUpdatedAtGreaterThanEqual(
+                    user(f.power()), recent)));
+
+    // Check-ins. Lookups by id alone cannot prune, so they probe every partition's key index.
+    String checkIns = "CheckInRepository.";
+    cases.add(
+        partitionFanOut(
+            checkIns + "findByIdAndOwner",
+            () -> checkInRepository.findByIdAndOwner(f.checkIns().get(0), user(f.power()))));
+    cases.add(
+        partitionFanOut(
+            checkIns + "findByIdAndOwnerAndDeletedAtIsNull",
+            () ->
+                checkInRepository.findByIdAndOwnerAndDeletedAtIsNull(
+                    f.checkIns().get(0), user(f.power()))));
+    cases.add(
+        partitionFanOut(
+            checkIns + "findByOwnerAndIdIn",
+            () -> checkInRepository.findByOwnerAndIdIn(user(f.power()), f.checkIns())));
+    cases.add(
+        partitionFanOut(
+            checkIns + "findIdsOwnedByOthers",
+            () -> checkInRepository.findIdsOwnedByOthers(user(f.typical()), f.checkIns())));
+    cases.add(
+        lookup(
+                checkIns + "findByOwnerAndRoutineIdInAndDateInAndDeletedAtIsNull",
+                () ->
+                    checkInRepository.findByOwnerAndRoutineIdInAndDateInAndDeletedAtIsNull(
+                        user(f.power()), f.routines(), List.of(today, monthAgo)))
+            .withPartitions(2));
+    cases.add(
+        lookup(
+                checkIns + "existsByOwnerAndRoutineAndDateAndDeletedAtIsNull",
+                () ->
+                    checkInRepository.existsByOwnerAndRoutineAndDateAndDeletedAtIsNull(
+                        user(f.power()), routine(f.routines().get(0)), monthAgo))
+            .withPartitions(1));
+    cases.add(
+        lookup(
+                checkIns + "findByOwnerAndRoutineAndDateAndDeletedAtIsNull",
+                () ->
+                    checkInRepository.findByOwnerAndRoutineAndDateAndDeletedAtIsNull(
+                        user(f.power()), routine(f.routines().get(0)), monthAgo))
+            .withPartitions(1));
+    cases.add(
+        page(
+                checkIns + "search",
+                () ->
+                    checkInRepository.search(
+                        user(f.power()), null, monthAgo, today, latestCheckIns))
+            .withPartitions(2));
+    cases.add(
+        page(
+                checkIns + "searchSlice",
+                () ->
+                    checkInRepository.searchSlice(
+                        user(f.power()), f.routines().get(0), monthAgo, today, latestCheckIns))
+            .withPartitions(2));
+    cases.add(
+        page(
+                checkIns + "searchAfter",
+                () ->
+                    checkInRepository.searchAfter(
+                        user(f.power()), null, monthAgo, today, today, maxId, pageLimit))
+            .withPartitions(2));
+    cases.add(
+        page(
+                checkIns + "searchAfter",
+                () ->
+                    checkInRepository.searchAfter(
+                        user(f.power()),
+                        f.routines().get(1),
+                        monthAgo,
+                        today,
+                        today,
+                        maxId,
+                        pageLimit))
+            .named("CheckInRepository.searchAfter (routine)")
+            .withPartitions(2));
+    cases.add(
+        pull(
+            checkIns + "findByOwnerAndServerUpdatedAtGreaterThanEqual",
+            () ->
+                checkInRepository.findByOwnerAndServerUpdatedAtGreaterThanEqual(
+                    user(f.power()), recent)));
+    cases.add(
+        pull(
+                checkIns + "findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual",
+                () ->
+                    checkInRepository.findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(
+                        user(f.power()), monthAgo, today, recent))
+            .withPartitions(2));
+    cases.add(
+        pull(
+            checkIns + "findChangedOutsideWindow",
+            () ->
+                checkInRepository.findChangedOutsideWindow(
+                    user(f.power()), monthAgo, today, recent)));
+    cases.add(
+        routineCascade(
+            checkIns + "softDeleteByRoutine",
+            () ->
+                checkInRepository.softDeleteByRoutine(
+                    user(f.power()), f.routines().get(0), Instant.now(), Instant.now())));
+    cases.add(
+        routineCascade(
+            checkIns + "restoreDeletedWithRoutine",
+            () ->
+                checkInRepository.restoreDeletedWithRoutine(
+                    user(f.power()),
+                    f.routines().get(0),
+                    Instant.parse("2024-01-01T00:00:00Z"),
+                    Instant.now())));
+    // Both tiers: the live half prunes to the requested months, the archive half is a primary key
+    // range on check_in_archives.
+    cases.add(
+        pull(
+                "CheckInArchiveRepository.findMonthlyHistory",
+                () ->
+                    checkInArchiveRepository.findMonthlyHistory(
+                        f.power(),
+                        null,
+                        f.today().withDayOfMonth(1).minusMonths(2),
+                        f.today().withDayOfMonth(1).plusMonths(1)))
+            .withPartitions(3));
+
+    // Job applications.
+    String applications = "JobApplicationRepository.";
+    cases.add(
+        lookup(
+            applications + "findByIdAndOwner",
+            () ->
+                jobApplicationRepository.findByIdAndOwner(
+                    f.applications().get(0), user(f.power()))));
+    cases.add(
+        lookup(
+            applications + "findByIdAndOwnerAndDeletedAtIsNull",
+            () ->
+                jobApplicationRepository.findByIdAndOwnerAndDeletedAtIsNull(
+                    f.applications().get(0), user(f.power()))));
+    cases.add(
+        lookup(
+            applications + "findByOwnerAndIdIn",
+            () -> jobApplicationRepository.findByOwnerAndIdIn(user(f.power()), f.applications())));
+    cases.add(
+        lookup(
+            applications + "findIdsOwnedByOthers",
+            () ->
+                jobApplicationRepository.findIdsOwnedByOthers(
+                    user(f.typical()), f.applications())));
+    cases.add(
+        page(
+            applications + "search",
+            () ->
+                jobApplicationRepository.search(
+                    user(f.power()), JobApplicationStatus.INTERVIEW, null, newestFirst)));
+    cases.add(
+        page(
+            applications + "searchSlice",
+            () ->
+                jobApplicationRepository.searchSlice(
+                    user(f.power()), null, JobApplicationSource.REFERRAL, newestFirst)));
+    cases.add(
+        page(
+                applications + "search",
+                () ->
+                    jobApplicationRepository.search(
+                        user(f.power()),
+                        null,
+                        null,
+                        PageRequest.of(0, 20, descending("appliedDate"))))
+            .named("JobApplicationRepository.search (appliedDate)"));
+    cases.add(
+        page(
+                applications + "searchSlice",
+                () ->
+                    jobApplicationRepository.searchSlice(
+                        user(f.power()),
+                        JobApplicationStatus.INTERVIEW,
+                        null,
+                        PageRequest.of(0, 20, ascending("appliedDate"))))
+            .named("JobApplicationRepository.searchSlice (appliedDate, status)"));
+    cases.add(
+        page(
+                applications + "searchSlice",
+                () ->
+                    jobApplicationRepository.searchSlice(
+                        user(f.power()),
+                        null,
+                        JobApplicationSource.REFERRAL,
+                        PageRequest.of(0, 20, descending("appliedDate"))))
+            .named("JobApplicationRepository.searchSlice (appliedDate, source)"));
+    cases.add(
+        page(
+            applications + "searchAfter",
+            () ->
+                jobApplicationRepository.searchAfter(
+                    user(f.power()), null, null, newest, maxId, pageLimit)));
+    cases.add(
+        pull(
+            applications + "findByOwnerAndServerUpdatedAtGreaterThanEqual",
+            () ->
+                jobApplicationRepository.findByOwnerAndServerUpdatedAtGreaterThanEqual(
+                    user(f.power()), recent)));
+
+    // A typical account must stay cheap too, not just the heavy one.
+    cases.add(
+        page(
+                checkIns + "search",
+                () ->
+                    checkInRepository.search(
+                        user(f.typical()), null, monthAgo, today, latestCheckIns))
+            .named("CheckInRepository.search (typical user)")
+            .withPartitions(2));
+    return cases;
+  }
+
+  // Listings always break ties on id in the sort direction, as SortAllowList does.
+  private static Sort descending(String property) {
+    return Sort.by(Sort.Direction.DESC, property, "id");
+  }
+
+  private static Sort ascending(String property) {
+    return Sort.by(Sort.Direction.ASC, property, "id");
+  }
+
+  private void seed(String prefix, int users, int goals, int routines, int days, int apps) {
+    String user = "md5('" + prefix + "-user-' || u)::uuid";
+    jdbcTemplate.update(
+        ("insert into users (id, email, password_hash) "
+                + "select %2$s, '%1$s-' || u || '@plans.test', 'x' "
+                + "from generate_series(1, %3$d) u")
+            .formatted(prefix, user, users));
+    jdbcTemplate.update(
+        ("insert into goals (id, user_id, title, status, target_date, created_at, "
+                + "server_updated_at, deleted_at) "
+                + "select md5('%1$s-goal-' || u || '-' || g)::uuid, %2$s, 'Goal ' || g, "
+                + "case when g %% 20 = 0 then 'ARCHIVED' when g %% 4 = 0 then 'COMPLETED' "
+                + "else 'ACTIVE' end, current_date + (g * 7) %% 365, "
+                + "now() - g * interval '1 hour', now() - g * interval '1 hour', "
+                + "case when g %% 10 = 0 then now() end "
+                + "from generate_series(1, %3$d) u, generate_series(1, %4$d) g")
+            .formatted(prefix, user, users, goals));
+    jdbcTemplate.update(
+        ("insert into routines (id, user_id, title, schedule_days, is_active, created_at, "
+                + "server_updated_at, deleted_at) "
+                + "select md5('%1$s-routine-' || u || '-' || r)::uuid, %2$s, 'Routine ' || r, "
+                + "127, r %% 4 <> 0, now() - r * interval '1 day', "
+                + "now() - r * interval '1 day', case when r %% 7 = 0 then now() end "
+                + "from generate_series(1, %3$d) u, generate_series(1, %4$d) r")
+            .formatted(prefix, user, users, routines));
+    jdbcTemplate.update(
+        ("insert into check_ins (id, user_id, routine_id, date, completed, created_at, "
+                + "server_updated_at, deleted_at) "
+                + "select md5('%1$s-checkin-' || u || '-' || r || '-' || d)::uuid, %2$s, "
+                + "md5('%1$s-routine-' || u || '-' || r)::uuid, current_date - d, d %% 3 <> 0, "
+                + "now() - d * interval '1 day', now() - d * interval '1 day', "
+                + "case when d %% 25 = 0 then now() - d * interval '1 day' end "
+                + "from generate_series(1, %3$d) u, generate_series(1, %4$d) r, "
+                + "generate_series(1, %5$d) d")
+            .formatted(prefix, user, users, routines, days));
+    jdbcTemplate.update(
+        ("insert into job_applications (id, user_id, company, role, source, status, "
+                + "applied_date, created_at, server_updated_at, deleted_at) "
+                + "select md5('%1$s-application-' || u || '-' || a)::uuid, %2$s, "
+                + "'Company ' || a, 'Role', "
+                + "(array['LINKEDIN', 'INDEED', 'WEBSITE', 'REFERRAL', 'OTHER'])[1 + a %% 5], "
+                + "(array['DRAFT', 'APPLIED', 'INTERVIEW', 'OFFER', 'REJECTED', 'ARCHIVED'])"
+                + "[1 + (a / 5) %% 6], current_date - (a * 3) %% 730, "
+                + "now() - a * interval '1 hour', now() - a * interval '1 hour', "
+                + "case when a %% 10 = 0 then now() end "
+                + "from generate_series(1, %3$d) u, generate_series(1, %4$d) a")
+            .formatted(prefix, user, users, apps));
+  }
+
+  private UUID key(String seed) {
+    return jdbcTemplate.queryForObject("select md5(?)::uuid", UUID.class, seed);
+  }
+
+  private static void collect(JsonNode node, List<JsonNode> nodes) {
+    nodes.add(node);
+    for (JsonNode child : node.path("Plans")) {
+      collect(child, nodes);
+    }
+  }
+
+  // Budgets leave headroom over the measured plans; a missing index overshoots them by far more.
+  private static PlanCase lookup(String method, Runnable invocation) {
+    return new PlanCase(method, method, invocation, new Budget(60, 20, 1));
+  }
+
+  private static PlanCase partitionFanOut(String method, Runnable invocation) {
+    return new PlanCase(method, method, invocation, new Budget(200, 20, Integer.MAX_VALUE));
+  }
+
+  private static PlanCase page(String method, Runnable invocation) {
+    return new PlanCase(method, method, invocation, new Budget(150, 50, 1));
+  }
+
+  // A routine cascade updates every check-in of one routine, so its budgets are that routine's
+  // history, including the index entries each updated row writes, rather than a page.
+  private static PlanCase routineCascade(String method, Runnable invocation) {
+    return new PlanCase(
+        method,
+        method,
+        invocation,
+        new Budget(30L * HISTORY_DAYS, 2 * HISTORY_DAYS, Integer.MAX_VALUE));
+  }
+
+  private static PlanCase pull(String method, Runnable invocation) {
+    return new PlanCase(method, method, invocation, new Budget(600, 50, Integer.MAX_VALUE));
+  }
+
+  private record Fixture(
+      UUID power,
+      UUID typical,
+      List<UUID> goals,
+      List<UUID> routines,
+      List<UUID> checkIns,
+      List<UUID> applications,
+      LocalDate today) {}
+
+  private record Budget(long maxBuffers, long maxFiltered, int maxPartitions) {
+
+    /** Page totals count every matching row, so they get a larger buffer budget. */
+    Budget forCount() {
+      return new Budget(Math.max(maxBuffers, 400), maxFiltered, maxPartitions);
+    }
+  }
+
+  private record PlanCase(String method, String name, Runnable invocation, Budget budget) {
+
+    PlanCase named(String label) {
+      return new PlanCase(method, label, invocation, budget);
+    }
+
+    PlanCase withPartitions(int partitions) {
+      return new PlanCase(
+          method,
+          name,
+          invocation,
+          new Budget(budget.maxBuffers(), budget.maxFiltered(), partitions));
+    }
+  }
+}
@@ -0,0 +1,183 @@
+package com.focusflow.backend.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.dto.GoalSyncRequest;
+import com.focusflow.backend.dto.RegisterRequest;
+import com.focusflow.backend.dto.SyncPushRequest;
+import com.focusflow.backend.entity.GoalStatus;
+import com.focusflow.backend.service.ShardRebalanceService;
+import com.focusflow.backend.service.UserShardResolver;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Responsibility: Integration tests for user-hash sharding across several databases. Architecture:
+ * API-layer test against a directory and two shard Testcontainers, inspecting each database
+ * directly. Why: Verifies that user data lands on the ring shard, every shard is migrated, and the
+ * rebalancer moves users whose data sits elsewhere.
+ */
+@SpringBootTest(
+    properties = {
+      "app.datasource.shards.enabled=true",
+      "app.datasource.shards.placement-cache.ttl-seconds=0",
+      "app.datasource.shards.rebalance.enabled=true",
+      "app.datasource.shards.rebalance.interval-millis=3600000",
+      "app.datasource.shards.rebalance.drain-margin-millis=0"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Testcontainers
+class ShardingIT {
+
+  @Container
+  static final PostgreSQLContainer<?> DIRECTORY =
+      new PostgreSQLContainer<>("postgres:16").withDatabaseName("focusflow_directory");
+
+  @Container
+  static final PostgreSQLContainer<?> SHARD_1 =
+      new PostgreSQLContainer<>("postgres:16").withDatabaseName("focusflow_shard1");
+
+  @Container
+  static final PostgreSQLContainer<?> SHARD_2 =
+      new PostgreSQLContainer<>("postgres:16").withDatabaseName("focusflow_shard2");
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private UserShardResolver resolver;
+  @Autowired private ShardRebalanceService rebalanceService;
+
+  @DynamicPropertySource
+  static void registerDatabaseProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", DIRECTORY::getJdbcUrl);
+    registry.add("spring.datasource.username", DIRECTORY::getUsername);
+    registry.add("spring.datasource.password", DIRECTORY::getPassword);
+    registry.add(
+        "app.datasource.shards.urls", () -> SHARD_1.getJdbcUrl() + "," + SHARD_2.getJdbcUrl());
+  }
+
+  @Test
+  void everyShardIsMigrated() {
+    for (PostgreSQLContainer<?> database : List.of(DIRECTORY, SHARD_1, SHARD_2)) {
+      assertThat(
+              jdbc(database)
+                  .queryForObject(
+                      "select count(*) from flyway_schema_history where success", Integer.class))
+          .isPositive();
+    }
+  }
+
+  @Test
+  void userDataLandsOnTheRingShard() throws Exception {
+    Registered user = registerOnShard("ring", 1);
+    UUID goalId = UUID.randomUUID();
+
+    pushGoal(user.token(), goalId);
+
+    assertThat(goalCount(SHARD_1, user.id())).isEqualTo(1);
+    assertThat(goalCount(DIRECTORY, user.id())).isZero();
+    assertThat(goalCount(SHARD_2, user.id())).isZero();
+    assertThat(
+            jdbc(DIRECTORY)
+                .queryForObject(
+                    "select shard from user_shards where user_id = ?", Integer.class, user.id()))
+        .isEqualTo(1);
+    mockMvc
+        .perform(get("/api/v1/goals").header("Authorization", "Bearer " + user.token()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(goalId.toString()));
+  }
+
+  @Test
+  void rebalanceMovesUsersOffTheDirectory() throws Exception {
+    Registered user = registerOnShard("legacy", 2);
+    // Without a placement row the user is treated as a pre-sharding account on the directory.
+    jdbc(DIRECTORY).update("delete from user_shards where user_id = ?", user.id());
+    UUID goalId = UUID.randomUUID();
+    pushGoal(user.token(), goalId);
+    assertThat(goalCount(DIRECTORY, user.id())).isEqualTo(1);
+
+    rebalanceService.rebalance();
+
+    assertThat(goalCount(SHARD_2, user.id())).isEqualTo(1);
+    assertThat(goalCount(DIRECTORY, user.id())).isZero();
+    mockMvc
+        .perform(get("/api/v1/goals").header("Authorization", "Bearer " + user.token()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].id").value(goalId.toString()));
+  }
+
+  private Registered registerOnShard(String prefix, int shard) throws Exception {
+    // Ids are server-generated, so register until one hashes onto the wanted shard.
+    for (int attempt = 0; ; attempt++) {
+      RegisterRequest register =
+          new RegisterRequest(prefix + attempt + "@example.com", "Password1!");
+      MvcResult result =
+          mockMvc
+              .perform(
+                  post("/api/v1/auth/register")
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .content(objectMapper.writeValueAsString(register)))
+              .andExpect(status().isOk())
+              .andReturn();
+      JsonNode json = objectMapper.readTree(result.getResponse().getContentAsString());
+      UUID userId = UUID.fromString(json.get("userId").asText());
+      if (resolver.targetShard(userId) == shard) {
+        return new Registered(userId, json.get("token").asText());
+      }
+    }
+  }
+
+  private void pushGoal(String token, UUID goalId) throws Exception {
+    SyncPushRequest push =
+        new SyncPushRequest(
+            List.of(
+                new GoalSyncRequest(
+                    goalId, "Focus", null, null, GoalStatus.ACTIVE, null, Instant.now(), null)),
+            List.of(),
+            List.of(),
+            List.of());
+    mockMvc
+        .perform(
+            post("/api/v1/sync/push")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(push)))
+        .andExpect(status().isOk());
+  }
+
+  private static int goalCount(PostgreSQLContainer<?> database, UUID userId) {
+    return jdbc(database)
+        .queryForObject("select count(*) from goals where user_id = ?", Integer.class, userId);
+  }
+
+  private static JdbcTemplate jdbc(PostgreSQLContainer<?> database) {
+    return new JdbcTemplate(
+        new DriverManagerDataSource(
+            database.getJdbcUrl(), database.getUsername(), database.getPassword()));
+  }
+
+  private record Registered(UUID id, String token) {}
+}
@@ -0,0 +1,167 @@
+package com.focusflow.backend.integration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Responsibility: Records the SQL and bound parameters of every prepared statement executed while a
+ * capture is open on the current thread. Architecture: Test-only JDBC proxy around the application
+ * datasource, installed by {@link Config}. Why: Plan tests EXPLAIN the statements Hibernate and
+ * JdbcTemplate actually issue, so a changed query or mapping cannot drift from a hand-written copy.
+ */
+final class StatementCapture {
+
+  private static final ThreadLocal<List<CapturedStatement>> CURRENT = new ThreadLocal<>();
+  private static final Set<String> EXECUTE =
+      Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+
+  private StatementCapture() {}
+
+  /** Runs {@code work} and returns the statements it executed on this thread, in order. */
+  static List<CapturedStatement> during(Runnable work) {
+    List<CapturedStatement> captured = new ArrayList<>();
+    CURRENT.set(captured);
+    try {
+      work.run();
+    } finally {
+      CURRENT.remove();
+    }
+    return captured;
+  }
+
+  static DataSource wrap(DataSource target) {
+    return new DelegatingDataSource(target) {
+      @Override
+      public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+      }
+
+      @Override
+      public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+      }
+    };
+  }
+
+  private static Connection connection(Connection target) {
+    return proxy(
+        Connection.class,
+        () -> target,
+        (method, args) -> {
+          Object result = invoke(target, method, args);
+          if (method.getName().equals("prepareStatement")) {
+            return statement((PreparedStatement) result, (String) args[0]);
+          }
+          return result;
+        });
+  }
+
+  private static PreparedStatement statement(PreparedStatement target, String sql) {
+    SortedMap<Integer, Object> parameters = new TreeMap<>();
+    return proxy(
+        PreparedStatement.class,
+        () -> target,
+        (method, args) -> {
+          String name = method.getName();
+          if (name.startsWith("set")
+              && args != null
+              && args.length >= 2
+              && args[0] instanceof Integer index) {
+            parameters.put(index, parameter(name, args));
+          } else if (name.equals("clearParameters")) {
+            parameters.clear();
+          } else if (EXECUTE.contains(name) && (args == null || args.length == 0)) {
+            List<CapturedStatement> captured = CURRENT.get();
+            if (captured != null) {
+              captured.add(new CapturedStatement(sql, new ArrayList<>(parameters.values())));
+            }
+          }
+          return invoke(target, method, args);
+        });
+  }
+
+  // Keeps the declared SQL type so typed nulls, such as an absent filter, replay the same way.
+  private static Object parameter(String setter, Object[] args) {
+    if (setter.equals("setNull")) {
+      return new SqlParameterValue((Integer) args[1], null);
+    }
+    if (setter.equals("setObject") && args.length >= 3) {
+      if (args[2] instanceof Integer sqlType) {
+        return new SqlParameterValue(sqlType, args[1]);
+      }
+      if (args[2] instanceof SQLType sqlType && sqlType.getVendorTypeNumber() != null) {
+        return new SqlParameterValue(sqlType.getVendorTypeNumber(), args[1]);
+      }
+    }
+    return args[1];
+  }
+
+  private static <T> T proxy(Class<T> type, Supplier<T> target, Handler handler) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            StatementCapture.class.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              if (method.getName().equals("toString") && method.getParameterCount() == 0) {
+                return "Capturing " + target.get();
+              }
+              return handler.handle(method, args);
+            }));
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  @FunctionalInterface
+  private interface Handler {
+    Object handle(Method method, Object[] args) throws Throwable;
+  }
+
+  /** One executed statement with its parameters in bind order, ready to replay. */
+  record CapturedStatement(String sql, List<Object> parameters) {
+
+    boolean isCount() {
+      return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select count(");
+    }
+  }
+
+  /** Wraps the application datasource so every connection handed out can be captured. */
+  @TestConfiguration(proxyBeanMethods = false)
+  static class Config {
+
+    @Bean
+    static BeanPostProcessor statementCapturingDataSource() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          return bean instanceof DataSource dataSource && beanName.equals("dataSource")
+              ? wrap(dataSource)
+              : bean;
+        }
+      };
+    }
+  }
+}
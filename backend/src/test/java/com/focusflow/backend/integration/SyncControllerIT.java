@@ -1,18 +1,29 @@
 package com.focusflow.backend.integration;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.dto.CheckInSyncRequest;
 import com.focusflow.backend.dto.GoalSyncRequest;
 import com.focusflow.backend.dto.RegisterRequest;
+import com.focusflow.backend.dto.RoutineSyncRequest;
+import com.focusflow.backend.dto.SyncExchangeRequest;
 import com.focusflow.backend.dto.SyncPushRequest;
 import com.focusflow.backend.entity.GoalStatus;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -25,7 +36,8 @@ import org.springframework.test.web.servlet.MvcResult;
 /**
  * Responsibility: Integration tests for sync endpoints and conflict handling. Architecture:
  * API-layer test exercising sync workflows across service and repository layers. Why: Verifies that
- * older client updates are rejected with conflict payloads.
+ * older client updates are rejected with conflict payloads, routine tombstones cascade, and pushed
+ * rows are written in JDBC batches.
  */
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -34,10 +46,11 @@ class SyncControllerIT extends IntegrationTestBase {
 
   @Autowired private MockMvc mockMvc;
   @Autowired private ObjectMapper objectMapper;
+  @Autowired private EntityManagerFactory entityManagerFactory;
 
   @Test
   void pushRejectsOlderClientUpdatesWithConflicts() throws Exception {
-    String token = registerAndGetToken();
+    String token = registerAndGetToken("sync@example.com");
 
     UUID goalId = UUID.randomUUID();
     Instant freshClientTime = Instant.now().minusSeconds(60);
@@ -91,8 +104,187 @@ class SyncControllerIT extends IntegrationTestBase {
         .andExpect(jsonPath("$.conflicts[0].client.id").value(goalId.toString()));
   }
 
-  private String registerAndGetToken() throws Exception {
-    RegisterRequest register = new RegisterRequest("sync@example.com", "Password1!");
+  @Test
+  void exchangeAppliesPushAndOmitsEchoedRowsFromPull() throws Exception {
+    String token = registerAndGetToken("exchange@example.com");
+
+    UUID existingGoalId = UUID.randomUUID();
+    Instant clientTime = Instant.now().minusSeconds(60);
+    SyncPushRequest seed =
+        new SyncPushRequest(
+            List.of(
+                new GoalSyncRequest(
+                    existingGoalId, "Seed", null, null, GoalStatus.ACTIVE, null, clientTime, null)),
+            List.of(),
+            List.of(),
+            List.of());
+
+    mockMvc
+        .perform(
+            post("/api/v1/sync/push")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seed)))
+        .andExpect(status().isOk());
+
+    UUID pushedGoalId = UUID.randomUUID();
+    SyncExchangeRequest exchange =
+        new SyncExchangeRequest(
+            new SyncPushRequest(
+                List.of(
+                    new GoalSyncRequest(
+                        pushedGoalId,
+                        "Pushed",
+                        null,
+                        null,
+                        GoalStatus.ACTIVE,
+                        null,
+                        Instant.now(),
+                        null)),
+                List.of(),
+                List.of(),
+                List.of()),
+            null,
+            null);
+
+    mockMvc
+        .perform(
+            post("/api/v1/sync/exchange")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(exchange)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.push.goals[0].id").value(pushedGoalId.toString()))
+        .andExpect(jsonPath("$.pull.goals.length()").value(1))
+        .andExpect(jsonPath("$.pull.goals[0].id").value(existingGoalId.toString()));
+  }
+
+  @Test
+  void routineTombstoneCascadesToCheckInsAndUndeleteRestoresThem() throws Exception {
+    String token = registerAndGetToken("cascade@example.com");
+    UUID routineId = UUID.randomUUID();
+    UUID checkInId = UUID.randomUUID();
+    UUID deletedCheckInId = UUID.randomUUID();
+    LocalDate today = LocalDate.now();
+    Instant created = Instant.now().minusSeconds(60);
+
+    push(
+        token,
+        new SyncPushRequest(
+            List.of(),
+            List.of(routine(routineId, Instant.now(), null)),
+            List.of(
+                new CheckInSyncRequest(checkInId, routineId, today, true, null, created, null),
+                new CheckInSyncRequest(
+                    deletedCheckInId, routineId, today.minusDays(1), true, null, created, null)),
+            List.of()));
+    push(
+        token,
+        new SyncPushRequest(
+            List.of(),
+            List.of(),
+            List.of(
+                new CheckInSyncRequest(
+                    deletedCheckInId,
+                    routineId,
+                    today.minusDays(1),
+                    true,
+                    null,
+                    Instant.now(),
+                    Instant.now())),
+            List.of()));
+
+    Instant deletedAt = Instant.now();
+    push(
+        token,
+        new SyncPushRequest(
+            List.of(), List.of(routine(routineId, deletedAt, deletedAt)), List.of(), List.of()));
+    mockMvc
+        .perform(get("/api/v1/checkins").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content").isEmpty());
+
+    push(
+        token,
+        new SyncPushRequest(
+            List.of(), List.of(routine(routineId, Instant.now(), null)), List.of(), List.of()));
+    // Only the check-in removed with the routine comes back; the one deleted on its own stays.
+    mockMvc
+        .perform(get("/api/v1/checkins").header("Authorization", "Bearer " + token))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.length()").value(1))
+        .andExpect(jsonPath("$.content[0].id").value(checkInId.toString()));
+  }
+
+  @Test
+  void pushRefusesAGoalIdOwnedByAnotherAccount() throws Exception {
+    String owner = registerAndGetToken("goal-owner@example.com");
+    String other = registerAndGetToken("goal-other@example.com");
+    UUID goalId = UUID.randomUUID();
+    push(owner, new SyncPushRequest(List.of(goal(goalId)), List.of(), List.of(), List.of()));
+
+    mockMvc
+        .perform(
+            post("/api/v1/sync/push")
+                .header("Authorization", "Bearer " + other)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new SyncPushRequest(
+                            List.of(goal(goalId)), List.of(), List.of(), List.of()))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.goals").isEmpty())
+        .andExpect(jsonPath("$.conflicts[0].id").value(goalId.toString()))
+        .andExpect(jsonPath("$.conflicts[0].reason").value("INVALID_ID"));
+  }
+
+  @Test
+  void pushIssuesTheSameStatementsForOneGoalOrMany() throws Exception {
+    String token = registerAndGetToken("batch@example.com");
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    push(
+        token,
+        new SyncPushRequest(List.of(goal(UUID.randomUUID())), List.of(), List.of(), List.of()));
+
+    statistics.clear();
+    push(
+        token,
+        new SyncPushRequest(List.of(goal(UUID.randomUUID())), List.of(), List.of(), List.of()));
+    long single = statistics.getPrepareStatementCount();
+    List<GoalSyncRequest> many = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      many.add(goal(UUID.randomUUID()));
+    }
+    statistics.clear();
+    push(token, new SyncPushRequest(many, List.of(), List.of(), List.of()));
+
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(30);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(single);
+  }
+
+  private static GoalSyncRequest goal(UUID id) {
+    return new GoalSyncRequest(
+        id, "Focus", null, null, GoalStatus.ACTIVE, null, Instant.now().minusSeconds(60), null);
+  }
+
+  private static RoutineSyncRequest routine(UUID id, Instant clientUpdatedAt, Instant deletedAt) {
+    return new RoutineSyncRequest(
+        id, "Stretch", null, List.of(DayOfWeek.MONDAY), true, clientUpdatedAt, deletedAt);
+  }
+
+  private void push(String token, SyncPushRequest request) throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/sync/push")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.conflicts").isEmpty());
+  }
+
+  private String registerAndGetToken(String email) throws Exception {
+    RegisterRequest register = new RegisterRequest(email, "Password1!");
     MvcResult result =
         mockMvc
             .perform(
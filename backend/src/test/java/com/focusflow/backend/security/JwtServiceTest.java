@@ -0,0 +1,67 @@
+package com.focusflow.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.focusflow.backend.entity.User;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Responsibility: Unit tests for JWT issuance and cached verification. Architecture: Security-layer
+ * test using a controllable clock. Why: Ensures cached verifications never outlive the token's
+ * expiry and tampered tokens are rejected.
+ */
+class JwtServiceTest {
+
+  private static final String SECRET = "test-secret-test-secret-test-secret-32";
+
+  private final AtomicReference<Instant> now =
+      new AtomicReference<>(Instant.parse("2024-01-01T00:00:00Z"));
+  private final Clock clock =
+      new Clock() {
+        @Override
+        public ZoneId getZone() {
+          return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+          return this;
+        }
+
+        @Override
+        public Instant instant() {
+          return now.get();
+        }
+      };
+
+  @Test
+  void verifyReturnsClaimsAndStopsAtExpiryEvenWhenCached() {
+    JwtService jwtService = new JwtService(SECRET, 10, 100, clock);
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    String token = jwtService.generateToken(user);
+
+    assertThat(jwtService.verify(token))
+        .get()
+        .extracting(VerifiedToken::userId)
+        .isEqualTo(user.getId());
+    assertThat(jwtService.isTokenValid(token, user)).isTrue();
+
+    now.set(now.get().plusSeconds(11 * 60));
+    assertThat(jwtService.verify(token)).isEmpty();
+  }
+
+  @Test
+  void verifyRejectsTamperedTokens() {
+    JwtService jwtService = new JwtService(SECRET, 10, 100, clock);
+    String token = jwtService.generateToken(new User(UUID.randomUUID(), "a@example.com", "hash"));
+    String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+    assertThat(jwtService.verify(tampered)).isEmpty();
+  }
+}
@@ -0,0 +1,78 @@
+package com.focusflow.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Responsibility: Unit tests for bounded password hashing. Architecture: Security-layer test using
+ * real BCrypt and an in-memory meter registry. Why: Ensures hashing is timed, cost upgrades are
+ * detected, and saturation fails fast.
+ */
+class PasswordHashingServiceTest {
+
+  @Test
+  void hashesRecordsTimingAndDetectsWeakerCost() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PasswordHashingService service =
+        new PasswordHashingService(new BCryptPasswordEncoder(5), registry, 1, 4, 5000, 5);
+
+    String hash = service.encode("Password1!");
+
+    assertThat(service.matches("Password1!", hash)).isTrue();
+    assertThat(service.needsUpgrade(new BCryptPasswordEncoder(4).encode("Password1!"))).isTrue();
+    assertThat(service.needsUpgrade(hash)).isFalse();
+    assertThat(registry.get("auth.password.hash").tag("operation", "encode").timer().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  @Timeout(30)
+  void rejectsFastWhenPoolAndQueueAreFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PasswordEncoder blocking =
+        new BCryptPasswordEncoder(4) {
+          @Override
+          public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+              release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+          }
+        };
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PasswordHashingService service = new PasswordHashingService(blocking, registry, 1, 1, 5000, 7);
+    Gauge queued = registry.get("auth.password.hash.queued").gauge();
+
+    // The first hash holds the only worker; the second then takes the only queue slot.
+    Thread first = new Thread(() -> service.encode("a"));
+    first.start();
+    started.await();
+    Thread second = new Thread(() -> service.encode("b"));
+    second.start();
+    while (queued.value() < 1) {
+      Thread.onSpinWait();
+    }
+
+    assertThatThrownBy(() -> service.encode("c"))
+        .isInstanceOf(ServiceOverloadedException.class)
+        .extracting("retryAfterSeconds")
+        .isEqualTo(7L);
+    release.countDown();
+    first.join();
+    second.join();
+  }
+}
@@ -0,0 +1,75 @@
+package com.focusflow.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Responsibility: Unit tests for the striped token bucket registry. Architecture: Security-layer
+ * test driven with explicit nanosecond timestamps. Why: Ensures bursts, refill, isolation, and idle
+ * eviction behave without relying on wall-clock timing.
+ */
+class TokenBucketRegistryTest {
+
+  private static final RateLimitGroup GROUP = new RateLimitGroup("test", 3, 1);
+
+  private final TokenBucketRegistry registry = new TokenBucketRegistry(4, 60, 1000);
+
+  @Test
+  void allowsBurstUpToCapacityThenReportsWait() {
+    long now = 0;
+    assertThat(registry.tryConsume(GROUP, "user-1", now)).isZero();
+    assertThat(registry.tryConsume(GROUP, "user-1", now)).isZero();
+    assertThat(registry.tryConsume(GROUP, "user-1", now)).isZero();
+
+    long wait = registry.tryConsume(GROUP, "user-1", now);
+    assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Test
+  void refillsOverTime() {
+    for (int i = 0; i < 3; i++) {
+      registry.tryConsume(GROUP, "user-1", 0);
+    }
+
+    assertThat(registry.tryConsume(GROUP, "user-1", TimeUnit.MILLISECONDS.toNanos(500)))
+        .isPositive();
+    assertThat(registry.tryConsume(GROUP, "user-1", TimeUnit.SECONDS.toNanos(1))).isZero();
+  }
+
+  @Test
+  void keepsClientsAndGroupsIndependent() {
+    for (int i = 0; i < 3; i++) {
+      registry.tryConsume(GROUP, "user-1", 0);
+    }
+
+    assertThat(registry.tryConsume(GROUP, "user-2", 0)).isZero();
+    assertThat(registry.tryConsume(new RateLimitGroup("other", 1, 1), "user-1", 0)).isZero();
+  }
+
+  @Test
+  void evictsIdleBucketsWhenStripeIsFull() {
+    TokenBucketRegistry small = new TokenBucketRegistry(1, 1, 2);
+    small.tryConsume(GROUP, "a", 0);
+    small.tryConsume(GROUP, "b", 0);
+
+    small.tryConsume(GROUP, "c", TimeUnit.SECONDS.toNanos(5));
+
+    assertThat(small.size()).isEqualTo(1);
+  }
+
+  @Test
+  void sharesAnOverflowBucketWhenStripeStaysFull() {
+    TokenBucketRegistry small = new TokenBucketRegistry(1, 60, 2);
+    small.tryConsume(GROUP, "a", 0);
+    small.tryConsume(GROUP, "b", 0);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(small.tryConsume(GROUP, "fresh-" + i, 0)).isZero();
+    }
+
+    assertThat(small.tryConsume(GROUP, "fresh-3", 0)).isPositive();
+    assertThat(small.size()).isEqualTo(2);
+  }
+}
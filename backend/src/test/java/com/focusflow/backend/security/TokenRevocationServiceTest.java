@@ -0,0 +1,82 @@
+package com.focusflow.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.entity.RevokedToken;
+import com.focusflow.backend.repository.RevokedTokenRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Responsibility: Unit tests for token revocation checks. Architecture: Security-layer test with a
+ * mocked revocation repository. Why: Ensures unrevoked tokens never reach the DB and revoked ones
+ * are confirmed there.
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Mock private RevokedTokenRepository repository;
+
+  private TokenRevocationService service;
+
+  @BeforeEach
+  void setUp() {
+    service = new TokenRevocationService(repository, Clock.fixed(NOW, ZoneOffset.UTC), 1000, 0.001);
+  }
+
+  @Test
+  void unrevokedTokenSkipsDatabase() {
+    when(repository.findLiveTokenIds(NOW)).thenReturn(List.of(UUID.randomUUID()));
+
+    assertThat(service.isRevoked(token(UUID.randomUUID()))).isFalse();
+
+    verify(repository, never()).existsById(any());
+  }
+
+  @Test
+  void revokedTokenIsConfirmedAgainstDatabase() {
+    UUID tokenId = UUID.randomUUID();
+    when(repository.findLiveTokenIds(NOW)).thenReturn(List.of(tokenId));
+    when(repository.existsById(tokenId)).thenReturn(true);
+
+    assertThat(service.isRevoked(token(tokenId))).isTrue();
+  }
+
+  @Test
+  void revokePersistsAndUpdatesLocalFilter() {
+    UUID tokenId = UUID.randomUUID();
+    when(repository.findLiveTokenIds(NOW)).thenReturn(List.of());
+    when(repository.existsById(tokenId)).thenReturn(false).thenReturn(true);
+
+    service.revoke(token(tokenId));
+
+    verify(repository).save(any(RevokedToken.class));
+    assertThat(service.isRevoked(token(tokenId))).isTrue();
+  }
+
+  @Test
+  void tokensWithoutIdAreNeverRevoked() {
+    assertThat(service.isRevoked(token(null))).isFalse();
+
+    verify(repository, never()).findLiveTokenIds(any());
+  }
+
+  private VerifiedToken token(UUID tokenId) {
+    return new VerifiedToken(
+        tokenId, UUID.randomUUID(), "user@example.com", 0, NOW.plusSeconds(900));
+  }
+}
@@ -0,0 +1,45 @@
+package com.focusflow.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.repository.UserRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Responsibility: Unit tests for the token generation cache. Architecture: Security-layer test with
+ * a mocked user repository. Why: Ensures repeat authentications skip the DB until the entry is
+ * invalidated.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalCacheTest {
+
+  @Mock private UserRepository userRepository;
+
+  @Test
+  void servesGenerationFromCacheUntilInvalidated() {
+    UUID userId = UUID.randomUUID();
+    Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    UserPrincipalCache cache = new UserPrincipalCache(userRepository, clock, 60, 100);
+    when(userRepository.findTokenGenerationById(userId))
+        .thenReturn(Optional.of(0))
+        .thenReturn(Optional.of(1));
+
+    assertThat(cache.currentGeneration(userId)).contains(0);
+    assertThat(cache.currentGeneration(userId)).contains(0);
+    cache.invalidate(userId);
+    assertThat(cache.currentGeneration(userId)).contains(1);
+
+    verify(userRepository, times(2)).findTokenGenerationById(userId);
+  }
+}
@@ -0,0 +1,149 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.dto.AccountDeletionResponse;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.AccountDeletionRepository;
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeBatch;
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeTable;
+import com.focusflow.backend.repository.UserRepository;
+import com.focusflow.backend.repository.UserShardRepository;
+import com.focusflow.backend.security.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Responsibility: Unit tests for account deletion. Architecture: Service-layer test with mocked
+ * repositories and caches. Why: Ensures the account is disabled up front and its rows are purged
+ * table by table in keyset batches before the user row goes.
+ */
+class AccountDeletionServiceTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneOffset.UTC);
+  private UserRepository userRepository;
+  private AccountDeletionRepository repository;
+  private RefreshTokenService refreshTokenService;
+  private UserPrincipalCache principalCache;
+  private RoutineLookupCache routineLookupCache;
+  private AccountDeletionService deletionService;
+
+  @BeforeEach
+  void setUp() {
+    userRepository = mock(UserRepository.class);
+    repository = mock(AccountDeletionRepository.class);
+    refreshTokenService = mock(RefreshTokenService.class);
+    principalCache = mock(UserPrincipalCache.class);
+    routineLookupCache = mock(RoutineLookupCache.class);
+    deletionService =
+        new AccountDeletionService(
+            userRepository,
+            repository,
+            refreshTokenService,
+            principalCache,
+            routineLookupCache,
+            new UserShardResolver(
+                mock(UserShardRepository.class), clock, false, List.of(), 64, 30, 1000, 5),
+            new SimpleMeterRegistry(),
+            clock,
+            2,
+            0,
+            300);
+    when(repository.purgeBatch(any(), any(), any(), anyInt())).thenReturn(Optional.empty());
+  }
+
+  @Test
+  void requestDisablesAccountAndEndsSessions() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+    AccountDeletionResponse response = deletionService.requestDeletion(user);
+
+    assertThat(response.disabledAt()).isEqualTo(Instant.now(clock));
+    assertThat(user.isEnabled()).isFalse();
+    assertThat(user.getEmail()).isNotEqualTo("user@example.com");
+    assertThat(user.getTokenGeneration()).isEqualTo(1);
+    verify(repository).create(user.getId(), Instant.now(clock));
+    verify(refreshTokenService).revokeAll(user.getId());
+    verify(principalCache).invalidate(user.getId());
+    verify(routineLookupCache).evictOwner(user.getId());
+  }
+
+  @Test
+  void requestInvalidatesTheCachedPrincipalOnlyOnceCommitted() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      deletionService.requestDeletion(user);
+
+      verify(principalCache, never()).invalidate(any());
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    verify(principalCache).invalidate(user.getId());
+  }
+
+  @Test
+  void purgeWalksEachTableByKeysetThenDeletesUser() {
+    UUID userId = UUID.randomUUID();
+    PurgeTable checkIns = AccountDeletionRepository.PURGE_ORDER.get(0);
+    Object[] firstKey = {"2023-01-01", UUID.randomUUID()};
+    Object[] secondKey = {"2023-01-02", UUID.randomUUID()};
+    when(repository.claimNext(any(), any()))
+        .thenReturn(Optional.of(userId))
+        .thenReturn(Optional.empty());
+    when(repository.purgeBatch(eq(checkIns), eq(userId), isNull(), eq(2)))
+        .thenReturn(Optional.of(new PurgeBatch(2, firstKey)));
+    when(repository.purgeBatch(checkIns, userId, firstKey, 2))
+        .thenReturn(Optional.of(new PurgeBatch(1, secondKey)));
+
+    deletionService.purgePending();
+
+    verify(repository).purgeBatch(checkIns, userId, secondKey, 2);
+    verify(repository).recordProgress(eq(userId), eq("check_ins"), eq(2L), any());
+    verify(repository).recordProgress(eq(userId), eq("check_ins"), eq(1L), any());
+    for (PurgeTable table : AccountDeletionRepository.PURGE_ORDER) {
+      verify(repository).purgeBatch(eq(table), eq(userId), isNull(), eq(2));
+    }
+    verify(repository).deleteUser(userId);
+    verify(repository).complete(userId, Instant.now(clock));
+  }
+
+  @Test
+  void failedPurgeLeavesJobForRetry() {
+    UUID userId = UUID.randomUUID();
+    when(repository.claimNext(any(), any())).thenReturn(Optional.of(userId));
+    when(repository.purgeBatch(any(), eq(userId), any(), anyInt()))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    assertThatCode(deletionService::purgePending).doesNotThrowAnyException();
+
+    verify(repository, never()).recordProgress(any(), anyString(), anyLong(), any());
+    verify(repository, never()).deleteUser(userId);
+    verify(repository, never()).complete(any(), any());
+  }
+}
@@ -0,0 +1,155 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.dto.CheckInMonthResponse;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.CheckInArchiveRepository;
+import com.focusflow.backend.repository.UserShardRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Unit tests for check-in archiving and the monthly history read. Architecture:
+ * Service-layer test with a mocked archive repository. Why: Ensures only months past the cutoff are
+ * folded, users are walked in batches, and history ranges are normalized and bounded.
+ */
+class CheckInArchiveServiceTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2024-03-15T02:30:00Z"), ZoneOffset.UTC);
+  private CheckInArchiveRepository repository;
+  private final UserShardResolver resolver =
+      new UserShardResolver(
+          mock(UserShardRepository.class), clock, false, List.of(), 64, 30, 1000, 5);
+  private CheckInArchiveService archiveService;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(CheckInArchiveRepository.class);
+    archiveService = new CheckInArchiveService(repository, resolver, clock, true, 12, 2, 120);
+    user = new User(UUID.randomUUID(), "user@example.com", "hash");
+  }
+
+  @Test
+  void foldsEveryMonthBeforeCutoffInUserBatches() {
+    LocalDate month = LocalDate.of(2023, 1, 1);
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    UUID third = UUID.randomUUID();
+    when(repository.findMonthsBefore(LocalDate.of(2023, 3, 1))).thenReturn(List.of(month));
+    when(repository.findUserIdsAfter(null, 2)).thenReturn(List.of(first, second));
+    when(repository.findUserIdsAfter(second, 2)).thenReturn(List.of(third));
+
+    archiveService.archiveOldCheckIns();
+
+    verify(repository).foldMonth(List.of(first, second), month, clock.instant());
+    verify(repository).foldMonth(List.of(third), month, clock.instant());
+    verify(repository, never()).findUserIdsAfter(eq(third), anyInt());
+    verify(repository).dropPartitionIfEmpty(month);
+  }
+
+  @Test
+  void continuesWithNextMonthAfterFailure() {
+    LocalDate failing = LocalDate.of(2022, 12, 1);
+    LocalDate next = LocalDate.of(2023, 1, 1);
+    UUID userId = UUID.randomUUID();
+    when(repository.findMonthsBefore(any())).thenReturn(List.of(failing, next));
+    when(repository.findUserIdsAfter(null, 2)).thenReturn(List.of(userId));
+    when(repository.foldMonth(List.of(userId), failing, clock.instant()))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    assertThatCode(archiveService::archiveOldCheckIns).doesNotThrowAnyException();
+
+    verify(repository, never()).dropPartitionIfEmpty(failing);
+    verify(repository).dropPartitionIfEmpty(next);
+  }
+
+  @Test
+  void doesNothingWhenDisabled() {
+    archiveService = new CheckInArchiveService(repository, resolver, clock, false, 12, 2, 120);
+
+    archiveService.archiveOldCheckIns();
+
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void historyDefaultsToTheLastTwelveMonths() {
+    archiveService.monthlyHistory(user, null, null, null);
+
+    verify(repository)
+        .findMonthlyHistory(user.getId(), null, LocalDate.of(2023, 4, 1), LocalDate.of(2024, 4, 1));
+  }
+
+  @Test
+  void historyNormalizesDatesToWholeMonths() {
+    UUID routineId = UUID.randomUUID();
+
+    archiveService.monthlyHistory(
+        user, routineId, LocalDate.of(2022, 5, 20), LocalDate.of(2022, 6, 3));
+
+    verify(repository)
+        .findMonthlyHistory(
+            user.getId(), routineId, LocalDate.of(2022, 5, 1), LocalDate.of(2022, 7, 1));
+  }
+
+  @Test
+  void historyRejectsReversedAndOversizedRanges() {
+    assertThatThrownBy(
+            () ->
+                archiveService.monthlyHistory(
+                    user, null, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 31)))
+        .isInstanceOf(ResponseStatusException.class);
+    assertThatThrownBy(
+            () ->
+                archiveService.monthlyHistory(
+                    user, null, LocalDate.of(2014, 3, 1), LocalDate.of(2024, 3, 1)))
+        .isInstanceOf(ResponseStatusException.class);
+    assertThatCode(
+            () ->
+                archiveService.monthlyHistory(
+                    user, null, LocalDate.of(2014, 4, 1), LocalDate.of(2024, 3, 1)))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  void monthBitmapsDecodeToDates() {
+    CheckInMonthResponse month =
+        CheckInMonthResponse.of(
+            UUID.randomUUID(), LocalDate.of(2023, 1, 1), (1 << 30) | 0b101, (1 << 30) | 0b111);
+
+    assertThat(month.completedCount()).isEqualTo(3);
+    assertThat(month.recordedCount()).isEqualTo(4);
+    assertThat(month.completedDates())
+        .containsExactly(
+            LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 3), LocalDate.of(2023, 1, 31));
+  }
+
+  @Test
+  void liveHorizonIsTheArchiveCutoffWhileArchivingIsEnabled() {
+    CheckInArchiveService disabled =
+        new CheckInArchiveService(repository, resolver, clock, false, 12, 2, 120);
+
+    assertThat(archiveService.liveHorizon()).isEqualTo(LocalDate.of(2023, 3, 1));
+    assertThat(disabled.liveHorizon()).isNull();
+  }
+}
@@ -0,0 +1,58 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.repository.CheckInPartitionRepository;
+import com.focusflow.backend.repository.UserShardRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Responsibility: Unit tests for check-in partition maintenance. Architecture: Service-layer test
+ * with a mocked partition repository. Why: Ensures the window covers the previous month through the
+ * configured horizon and that failures never escape the scheduler.
+ */
+class CheckInPartitionServiceTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2024-03-01T00:30:00Z"), ZoneOffset.UTC);
+  private CheckInPartitionRepository repository;
+  private CheckInPartitionService partitionService;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(CheckInPartitionRepository.class);
+    partitionService =
+        new CheckInPartitionService(
+            repository,
+            new UserShardResolver(
+                mock(UserShardRepository.class), clock, false, List.of(), 64, 30, 1000, 5),
+            clock,
+            3);
+  }
+
+  @Test
+  void ensuresPreviousMonthThroughConfiguredHorizon() {
+    partitionService.ensureFuturePartitions();
+
+    verify(repository).ensurePartitions(LocalDate.of(2024, 2, 1), 4);
+  }
+
+  @Test
+  void swallowsDatabaseFailures() {
+    when(repository.ensurePartitions(any(), anyInt()))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    assertThatCode(partitionService::ensureFuturePartitions).doesNotThrowAnyException();
+  }
+}
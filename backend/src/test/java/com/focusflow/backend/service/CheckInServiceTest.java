@@ -1,13 +1,21 @@
 package com.focusflow.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.focusflow.backend.dto.CheckInRequest;
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.entity.CheckIn;
 import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
+import com.focusflow.backend.id.UuidV7Generator;
 import com.focusflow.backend.mapper.CheckInMapper;
 import com.focusflow.backend.repository.CheckInRepository;
 import com.focusflow.backend.repository.RoutineRepository;
@@ -15,6 +23,8 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,17 +32,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Responsibility: Unit tests for check-in service business rules. Architecture: Service-layer test
- * verifying completion timestamp logic. Why: Ensures check-ins record completion times consistently
- * for sync.
+ * verifying completion timestamp and keyset scroll logic. Why: Ensures check-ins record completion
+ * times consistently for sync and that scroll pages neither skip nor repeat days.
  */
 @ExtendWith(MockitoExtension.class)
 class CheckInServiceTest {
 
   @Mock private CheckInRepository checkInRepository;
   @Mock private RoutineRepository routineRepository;
+  @Mock private CheckInArchiveService checkInArchiveService;
 
   private CheckInService checkInService;
   private Clock clock;
@@ -41,13 +56,19 @@ class CheckInServiceTest {
   void setUp() {
     clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
     checkInService =
-        new CheckInService(checkInRepository, routineRepository, new CheckInMapper(), clock);
-    when(checkInRepository.save(any(CheckIn.class)))
-        .thenAnswer(invocation -> invocation.getArgument(0));
+        new CheckInService(
+            checkInRepository,
+            new RoutineLookupCache(routineRepository, clock, 60, 1000),
+            checkInArchiveService,
+            new CheckInMapper(),
+            new UuidV7Generator(clock),
+            clock);
   }
 
   @Test
   void createCheckInSetsCompletionTimestamp() {
+    when(checkInRepository.save(any(CheckIn.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     User user = new User(UUID.randomUUID(), "user@example.com", "hash");
     Routine routine = new Routine();
     routine.setId(UUID.randomUUID());
@@ -68,4 +89,92 @@ class CheckInServiceTest {
     assertThat(checkIn.getCompletedAt()).isEqualTo(Instant.now(clock));
     assertThat(checkIn.getServerUpdatedAt()).isEqualTo(Instant.now(clock));
   }
+
+  @Test
+  void listingStartsNoEarlierThanTheArchiveHorizon() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    LocalDate horizon = LocalDate.of(2023, 1, 1);
+    when(checkInArchiveService.liveHorizon()).thenReturn(horizon);
+
+    checkInService.sliceCheckIns(user, null, null, null, PageRequest.of(0, 20));
+    checkInService.sliceCheckIns(user, null, LocalDate.of(2023, 5, 1), null, PageRequest.of(0, 20));
+
+    verify(checkInRepository)
+        .searchSlice(eq(user), isNull(), eq(horizon), eq(CheckIn.MAX_DATE), any());
+    verify(checkInRepository)
+        .searchSlice(eq(user), isNull(), eq(LocalDate.of(2023, 5, 1)), eq(CheckIn.MAX_DATE), any());
+  }
+
+  @Test
+  void scrollWalksDuplicateDatesAcrossPagesWithoutGapsOrRepeats() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    LocalDate day = LocalDate.of(2023, 12, 1);
+    List<CheckIn> checkIns =
+        List.of(
+            checkIn(day.plusDays(1), 1),
+            checkIn(day, 7),
+            checkIn(day, 6),
+            checkIn(day, 2),
+            checkIn(day.minusDays(1), 9));
+    when(checkInRepository.searchAfter(
+            eq(user), isNull(), eq(CheckIn.MIN_DATE), eq(CheckIn.MAX_DATE), any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                seek(
+                    checkIns,
+                    invocation.getArgument(4),
+                    invocation.getArgument(5),
+                    invocation.getArgument(6)));
+
+    CursorPage<CheckIn> first = checkInService.scrollCheckIns(user, null, null, null, null, 2);
+    CursorPage<CheckIn> second =
+        checkInService.scrollCheckIns(user, null, null, null, first.nextCursor(), 2);
+    CursorPage<CheckIn> third =
+        checkInService.scrollCheckIns(user, null, null, null, second.nextCursor(), 2);
+
+    assertThat(first.items()).containsExactly(checkIns.get(0), checkIns.get(1));
+    assertThat(KeysetCursor.decode(first.nextCursor()))
+        .isEqualTo(new KeysetCursor(day.toString(), checkIns.get(1).getId()));
+    assertThat(second.items()).containsExactly(checkIns.get(2), checkIns.get(3));
+    assertThat(third.items()).containsExactly(checkIns.get(4));
+    assertThat(third.hasNext()).isFalse();
+    verify(checkInRepository, times(3))
+        .searchAfter(any(), any(), any(), any(), any(), any(), eq(Limit.of(3)));
+  }
+
+  @Test
+  void scrollRejectsATamperedCursorWithBadRequest() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+
+    for (String cursor :
+        List.of(
+            "!!!", KeysetCursor.encode(Instant.parse("2024-01-01T00:00:00Z"), UUID.randomUUID()))) {
+      assertThatThrownBy(() -> checkInService.scrollCheckIns(user, null, null, null, cursor, 2))
+          .isInstanceOfSatisfying(
+              ResponseStatusException.class,
+              ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+    verifyNoInteractions(checkInRepository);
+  }
+
+  private static CheckIn checkIn(LocalDate date, long id) {
+    CheckIn checkIn = new CheckIn();
+    checkIn.setId(new UUID(0, id));
+    checkIn.setDate(date);
+    return checkIn;
+  }
+
+  // Mirrors searchAfter: rows strictly after the cursor in (date, id) descending order.
+  private static List<CheckIn> seek(
+      List<CheckIn> checkIns, LocalDate afterDate, UUID afterId, Limit limit) {
+    return checkIns.stream()
+        .filter(
+            checkIn ->
+                checkIn.getDate().isBefore(afterDate)
+                    || (checkIn.getDate().equals(afterDate)
+                        && checkIn.getId().compareTo(afterId) < 0))
+        .sorted(Comparator.comparing(CheckIn::getDate).thenComparing(CheckIn::getId).reversed())
+        .limit(limit.max())
+        .toList();
+  }
 }
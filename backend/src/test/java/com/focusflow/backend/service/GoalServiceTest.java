@@ -1,29 +1,44 @@
 package com.focusflow.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.GoalRequest;
 import com.focusflow.backend.entity.Goal;
 import com.focusflow.backend.entity.GoalStatus;
 import com.focusflow.backend.entity.User;
+import com.focusflow.backend.id.UuidV7Generator;
 import com.focusflow.backend.mapper.GoalMapper;
 import com.focusflow.backend.repository.GoalRepository;
 import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Responsibility: Unit tests for goal service business rules. Architecture: Service-layer test
- * verifying timestamp and completion logic. Why: Ensures goal sync metadata is applied consistently
- * without hitting the database.
+ * verifying timestamp, completion and keyset scroll logic. Why: Ensures goal sync metadata is
+ * applied consistently and scroll pages neither skip nor repeat rows, without hitting the database.
  */
 @ExtendWith(MockitoExtension.class)
 class GoalServiceTest {
@@ -36,12 +51,13 @@ class GoalServiceTest {
   @BeforeEach
   void setUp() {
     clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
-    goalService = new GoalService(goalRepository, new GoalMapper(), clock);
-    when(goalRepository.save(any(Goal.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    goalService =
+        new GoalService(goalRepository, new GoalMapper(), new UuidV7Generator(clock), clock);
   }
 
   @Test
   void createGoalSetsServerAndClientTimestamps() {
+    when(goalRepository.save(any(Goal.class))).thenAnswer(invocation -> invocation.getArgument(0));
     User user = new User(UUID.randomUUID(), "user@example.com", "hash");
     GoalRequest request = new GoalRequest("Read", null, null, GoalStatus.COMPLETED, null, null);
 
@@ -52,4 +68,91 @@ class GoalServiceTest {
     assertThat(goal.getCompletedAt()).isEqualTo(Instant.now(clock));
     assertThat(goal.getOwner()).isEqualTo(user);
   }
+
+  @Test
+  void scrollWalksTiedTimestampsAcrossPagesWithoutGapsOrRepeats() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    Instant tied = Instant.parse("2023-12-01T00:00:00Z");
+    List<Goal> goals =
+        List.of(
+            goal(tied.plusSeconds(60), 1),
+            goal(tied, 5),
+            goal(tied, 4),
+            goal(tied, 3),
+            goal(tied.minusSeconds(60), 9));
+    when(goalRepository.findPageAfter(eq(user), isNull(), any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                seek(
+                    goals,
+                    invocation.getArgument(2),
+                    invocation.getArgument(3),
+                    invocation.getArgument(4)));
+
+    CursorPage<Goal> first = goalService.scrollGoals(user, null, null, 2);
+    CursorPage<Goal> second = goalService.scrollGoals(user, null, first.nextCursor(), 2);
+    CursorPage<Goal> third = goalService.scrollGoals(user, null, second.nextCursor(), 2);
+
+    // The first page ends inside the run of tied timestamps, so the id alone decides the boundary.
+    assertThat(first.items()).containsExactly(goals.get(0), goals.get(1));
+    assertThat(KeysetCursor.decode(first.nextCursor()))
+        .isEqualTo(new KeysetCursor(tied.toString(), goals.get(1).getId()));
+    assertThat(second.items()).containsExactly(goals.get(2), goals.get(3));
+    assertThat(third.items()).containsExactly(goals.get(4));
+    assertThat(third.hasNext()).isFalse();
+    assertThat(third.nextCursor()).isNull();
+    verify(goalRepository, times(3))
+        .findPageAfter(eq(user), isNull(), any(), any(), eq(Limit.of(3)));
+  }
+
+  @Test
+  void scrollHasNoNextPageWhenTheLookAheadRowIsMissing() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    Instant createdAt = Instant.parse("2023-12-01T00:00:00Z");
+    List<Goal> goals = List.of(goal(createdAt, 2), goal(createdAt, 1));
+    when(goalRepository.findPageAfter(
+            user, null, KeysetCursor.MAX_INSTANT, KeysetCursor.MAX_ID, Limit.of(3)))
+        .thenReturn(goals);
+
+    CursorPage<Goal> page = goalService.scrollGoals(user, null, null, 2);
+
+    assertThat(page.items()).containsExactlyElementsOf(goals);
+    assertThat(page.hasNext()).isFalse();
+    assertThat(page.nextCursor()).isNull();
+  }
+
+  @Test
+  void scrollRejectsATamperedCursorWithBadRequest() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+
+    for (String cursor :
+        List.of("!!!", KeysetCursor.encode(LocalDate.of(2024, 1, 1), UUID.randomUUID()))) {
+      assertThatThrownBy(() -> goalService.scrollGoals(user, null, cursor, 2))
+          .isInstanceOfSatisfying(
+              ResponseStatusException.class,
+              ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+    verifyNoInteractions(goalRepository);
+  }
+
+  private static Goal goal(Instant createdAt, long id) {
+    Goal goal = new Goal();
+    goal.setId(new UUID(0, id));
+    ReflectionTestUtils.setField(goal, "createdAt", createdAt);
+    return goal;
+  }
+
+  // Mirrors findPageAfter: rows strictly after the cursor in (createdAt, id) descending order.
+  private static List<Goal> seek(
+      List<Goal> goals, Instant afterCreatedAt, UUID afterId, Limit limit) {
+    return goals.stream()
+        .filter(
+            goal ->
+                goal.getCreatedAt().isBefore(afterCreatedAt)
+                    || (goal.getCreatedAt().equals(afterCreatedAt)
+                        && goal.getId().compareTo(afterId) < 0))
+        .sorted(Comparator.comparing(Goal::getCreatedAt).thenComparing(Goal::getId).reversed())
+        .limit(limit.max())
+        .toList();
+  }
 }
@@ -0,0 +1,264 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.config.ShardContext;
+import com.focusflow.backend.dto.HistoryImportResponse;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.exception.ConflictException;
+import com.focusflow.backend.repository.CheckInPartitionRepository;
+import com.focusflow.backend.repository.HistoryImportRepository;
+import com.focusflow.backend.repository.UserShardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Unit tests for CSV history imports. Architecture: Service-layer test with a
+ * mocked import repository capturing what is streamed into COPY. Why: Ensures rows are validated
+ * while streaming and reach staging in COPY's CSV form, so the set-based merge only sees clean
+ * data.
+ */
+class HistoryImportServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+  private static final UUID EXISTING = UUID.fromString("00000000-0000-0000-0000-0000000000e1");
+  private static final UUID IMPORTED = UUID.fromString("00000000-0000-0000-0000-0000000000a1");
+
+  private final User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+  private final ByteArrayOutputStream stagedRoutines = new ByteArrayOutputStream();
+  private final ByteArrayOutputStream stagedCheckIns = new ByteArrayOutputStream();
+  private HistoryImportRepository repository;
+  private CheckInPartitionRepository partitionRepository;
+  private HistoryImportService importService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    repository = mock(HistoryImportRepository.class);
+    partitionRepository = mock(CheckInPartitionRepository.class);
+    when(repository.findLiveRoutineIds(user.getId())).thenReturn(new HashSet<>(Set.of(EXISTING)));
+    when(repository.findForeignRoutineIds(eq(user.getId()), anyCollection())).thenReturn(List.of());
+    when(repository.copyRoutines()).thenReturn(stagedRoutines);
+    when(repository.copyCheckIns()).thenReturn(stagedCheckIns);
+    UserShardResolver resolver =
+        new UserShardResolver(
+            mock(UserShardRepository.class), Clock.systemUTC(), false, List.of(), 64, 30, 1000, 5);
+    AtomicLong ids = new AtomicLong();
+    importService =
+        new HistoryImportService(
+            repository,
+            partitionRepository,
+            resolver,
+            mock(PlatformTransactionManager.class),
+            () -> new UUID(0, ids.incrementAndGet()),
+            Clock.fixed(NOW, ZoneOffset.UTC),
+            new SimpleMeterRegistry(),
+            1,
+            3,
+            30);
+  }
+
+  @Test
+  void streamsValidatedRowsIntoStagingAndReportsTheMerge() {
+    when(repository.mergeRoutines(user.getId(), NOW)).thenReturn(1);
+    when(repository.mergeCheckIns(user.getId(), NOW)).thenReturn(2);
+
+    HistoryImportResponse response =
+        importService.importHistory(
+            user,
+            csv(
+                "id,title,color_tag,schedule_days,is_active,created_at\r\n"
+                    + IMPORTED
+                    + ",\"Read, then \"\"write\"\"\",,MONDAY FRIDAY,,2020-01-01T00:00:00Z\r\n"),
+            csv(
+                "routineId,date,completed,completedAt\n"
+                    + IMPORTED
+                    + ",2021-03-04,true,2021-03-04T20:00:00Z\n"
+                    + "\n"
+                    + EXISTING
+                    + ",2021-03-04,yes,\n"
+                    + IMPORTED
+                    + ",2021-03-05,false,2021-03-05T20:00:00Z\n"));
+
+    assertThat(response).isEqualTo(new HistoryImportResponse(1, 0, 2, 1));
+    verify(partitionRepository).ensurePartitions(LocalDate.of(2021, 3, 1), 0);
+    assertThat(stagedRoutines.toString(StandardCharsets.UTF_8))
+        .isEqualTo(IMPORTED + ",\"Read, then \"\"write\"\"\",,17,true\n");
+    assertThat(stagedCheckIns.toString(StandardCharsets.UTF_8))
+        .isEqualTo(
+            new UUID(0, 1)
+                + ","
+                + IMPORTED
+                + ",2021-03-04,true,2021-03-04T20:00:00Z\n"
+                + new UUID(0, 2)
+                + ","
+                + EXISTING
+                + ",2021-03-04,true,2024-06-01T12:00:00Z\n"
+                + new UUID(0, 3)
+                + ","
+                + IMPORTED
+                + ",2021-03-05,false,\n");
+  }
+
+  @Test
+  void createsPartitionsForTheImportedMonthsBeforeMerging() {
+    importService.importHistory(
+        user,
+        null,
+        csv(
+            "routine_id,date,completed\n"
+                + EXISTING
+                + ",2019-11-20,true\n"
+                + EXISTING
+                + ",2015-03-04,true\n"
+                + EXISTING
+                + ",2016-01-31,false\n"));
+
+    InOrder order = inOrder(partitionRepository, repository);
+    order.verify(partitionRepository).ensurePartitions(LocalDate.of(2015, 3, 1), 56);
+    order.verify(repository).mergeCheckIns(user.getId(), NOW);
+  }
+
+  @Test
+  void rejectsDuplicateDaysForOneRoutineWithTheLineNumber() {
+    assertThatThrownBy(
+            () ->
+                importService.importHistory(
+                    user,
+                    null,
+                    csv(
+                        "routine_id,date,completed\n"
+                            + EXISTING
+                            + ",2021-03-04,true\n"
+                            + EXISTING
+                            + ",2021-03-05,true\n"
+                            + EXISTING
+                            + ",2021-03-04,false\n")))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("Line 4: duplicate check-in");
+    verify(repository, never()).mergeCheckIns(any(), any());
+  }
+
+  @Test
+  void rejectsCheckInsOfRoutinesTheUserDoesNotOwn() {
+    assertThatThrownBy(
+            () ->
+                importService.importHistory(
+                    user,
+                    null,
+                    csv("routine_id,date,completed\n" + UUID.randomUUID() + ",2021-03-04,true\n")))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("Line 2: routine");
+    verify(repository, never()).mergeCheckIns(any(), any());
+  }
+
+  @Test
+  void rejectsRoutineIdsUsedByAnotherAccount() {
+    when(repository.findForeignRoutineIds(eq(user.getId()), anyCollection()))
+        .thenReturn(List.of(IMPORTED));
+
+    assertThatThrownBy(
+            () ->
+                importService.importHistory(
+                    user, csv("id,title,schedule_days\n" + IMPORTED + ",Run,MONDAY\n"), null))
+        .isInstanceOf(ConflictException.class);
+    verify(repository, never()).mergeRoutines(any(), any());
+  }
+
+  @Test
+  void rejectsDatesOutsideTheAcceptedRange() {
+    for (String date : List.of("1969-12-31", "2025-06-02", "+5000000-01-01", "+6000000-01-01")) {
+      assertThatThrownBy(
+              () ->
+                  importService.importHistory(
+                      user,
+                      null,
+                      csv("routine_id,date,completed\n" + EXISTING + "," + date + ",true\n")))
+          .isInstanceOf(ResponseStatusException.class)
+          .hasMessageContaining("Line 2: date must not be");
+    }
+    verify(repository, never()).mergeCheckIns(any(), any());
+  }
+
+  @Test
+  void rejectsRoutineIdsUsedByAnotherAccountOnAnotherShard() {
+    UserShardResolver sharded =
+        new UserShardResolver(
+            mock(UserShardRepository.class),
+            Clock.systemUTC(),
+            true,
+            List.of("jdbc:postgresql://shard1/focusflow"),
+            64,
+            30,
+            1000,
+            5);
+    when(repository.findForeignRoutineIds(eq(user.getId()), anyCollection()))
+        .thenAnswer(
+            invocation ->
+                Integer.valueOf(1).equals(ShardContext.current()) ? List.of(IMPORTED) : List.of());
+    HistoryImportService shardedImport =
+        new HistoryImportService(
+            repository,
+            partitionRepository,
+            sharded,
+            mock(PlatformTransactionManager.class),
+            UUID::randomUUID,
+            Clock.fixed(NOW, ZoneOffset.UTC),
+            new SimpleMeterRegistry(),
+            1,
+            3,
+            30);
+
+    assertThatThrownBy(
+            () ->
+                shardedImport.importHistory(
+                    user, csv("id,title,schedule_days\n" + IMPORTED + ",Run,MONDAY\n"), null))
+        .isInstanceOf(ConflictException.class);
+    verify(repository, never()).mergeRoutines(any(), any());
+  }
+
+  @Test
+  void rejectsFilesOverTheRowLimitAndMissingColumns() {
+    String row = EXISTING + ",2021-03-0%d,true\n";
+    StringBuilder tooMany = new StringBuilder("routine_id,date,completed\n");
+    for (int day = 1; day <= 4; day++) {
+      tooMany.append(row.formatted(day));
+    }
+
+    assertThatThrownBy(() -> importService.importHistory(user, null, csv(tooMany.toString())))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("at most 3 rows");
+    assertThatThrownBy(() -> importService.importHistory(user, null, csv("routine_id,completed\n")))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("missing column date");
+  }
+
+  private static InputStreamSource csv(String content) {
+    return () -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
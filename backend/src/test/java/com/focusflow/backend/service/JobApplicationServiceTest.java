@@ -1,30 +1,42 @@
 package com.focusflow.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.focusflow.backend.dto.CursorPage;
 import com.focusflow.backend.dto.JobApplicationRequest;
 import com.focusflow.backend.entity.JobApplication;
 import com.focusflow.backend.entity.JobApplicationSource;
 import com.focusflow.backend.entity.JobApplicationStatus;
 import com.focusflow.backend.entity.User;
+import com.focusflow.backend.id.UuidV7Generator;
 import com.focusflow.backend.mapper.JobApplicationMapper;
 import com.focusflow.backend.repository.JobApplicationRepository;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 /**
  * Responsibility: Unit tests for job application service business rules. Architecture:
- * Service-layer test verifying sync timestamp updates. Why: Ensures application records carry
- * consistent server timestamps.
+ * Service-layer test verifying sync timestamp updates and keyset scrolling. Why: Ensures
+ * application records carry consistent server timestamps and that tied creation times still page
+ * cleanly.
  */
 @ExtendWith(MockitoExtension.class)
 class JobApplicationServiceTest {
@@ -38,13 +50,17 @@ class JobApplicationServiceTest {
   void setUp() {
     clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
     jobApplicationService =
-        new JobApplicationService(jobApplicationRepository, new JobApplicationMapper(), clock);
-    when(jobApplicationRepository.save(any(JobApplication.class)))
-        .thenAnswer(invocation -> invocation.getArgument(0));
+        new JobApplicationService(
+            jobApplicationRepository,
+            new JobApplicationMapper(),
+            new UuidV7Generator(clock),
+            clock);
   }
 
   @Test
   void createApplicationSetsServerTimestamp() {
+    when(jobApplicationRepository.save(any(JobApplication.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
     User user = new User(UUID.randomUUID(), "user@example.com", "hash");
     JobApplicationRequest request =
         new JobApplicationRequest(
@@ -63,4 +79,56 @@ class JobApplicationServiceTest {
     assertThat(application.getServerUpdatedAt()).isEqualTo(Instant.now(clock));
     assertThat(application.getOwner()).isEqualTo(user);
   }
+
+  @Test
+  void scrollBreaksCreatedAtTiesByIdAcrossPages() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    Instant tied = Instant.parse("2023-12-01T00:00:00Z");
+    List<JobApplication> applications =
+        List.of(application(tied, 8), application(tied, 5), application(tied, 3));
+    when(jobApplicationRepository.searchAfter(
+            eq(user), isNull(), isNull(), any(), any(), eq(Limit.of(3))))
+        .thenAnswer(
+            invocation -> {
+              Instant afterCreatedAt = invocation.getArgument(3);
+              UUID afterId = invocation.getArgument(4);
+              return applications.stream()
+                  .filter(
+                      application ->
+                          application.getCreatedAt().isBefore(afterCreatedAt)
+                              || (application.getCreatedAt().equals(afterCreatedAt)
+                                  && application.getId().compareTo(afterId) < 0))
+                  .limit(3)
+                  .toList();
+            });
+
+    CursorPage<JobApplication> first =
+        jobApplicationService.scrollApplications(user, null, null, null, 2);
+    CursorPage<JobApplication> second =
+        jobApplicationService.scrollApplications(user, null, null, first.nextCursor(), 2);
+
+    assertThat(first.items()).containsExactly(applications.get(0), applications.get(1));
+    assertThat(first.hasNext()).isTrue();
+    assertThat(second.items()).containsExactly(applications.get(2));
+    assertThat(second.hasNext()).isFalse();
+  }
+
+  @Test
+  void scrollRejectsATamperedCursorWithBadRequest() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    String cursor = KeysetCursor.encode("yesterday", UUID.randomUUID());
+
+    assertThatThrownBy(() -> jobApplicationService.scrollApplications(user, null, null, cursor, 2))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    verifyNoInteractions(jobApplicationRepository);
+  }
+
+  private static JobApplication application(Instant createdAt, long id) {
+    JobApplication application = new JobApplication();
+    application.setId(new UUID(0, id));
+    ReflectionTestUtils.setField(application, "createdAt", createdAt);
+    return application;
+  }
 }
@@ -0,0 +1,65 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.focusflow.backend.dto.CursorPage;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Unit tests for keyset cursor encoding and page assembly. Architecture:
+ * Service-layer helper test without persistence. Why: Ensures cursors round-trip and that the
+ * look-ahead row decides whether another page exists.
+ */
+class KeysetCursorTest {
+
+  @Test
+  void cursorRoundTripsSortKeyAndId() {
+    UUID id = UUID.randomUUID();
+    KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(LocalDate.of(2024, 3, 1), id));
+
+    assertThat(KeysetCursor.dateKey(cursor)).isEqualTo(LocalDate.of(2024, 3, 1));
+    assertThat(KeysetCursor.idKey(cursor)).isEqualTo(id);
+  }
+
+  @Test
+  void missingCursorStartsFromSentinels() {
+    assertThat(KeysetCursor.decode(null)).isNull();
+    assertThat(KeysetCursor.dateKey(null)).isEqualTo(KeysetCursor.MAX_DATE);
+    assertThat(KeysetCursor.idKey(null)).isEqualTo(KeysetCursor.MAX_ID);
+  }
+
+  @Test
+  void malformedCursorIsRejected() {
+    assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void pageUsesLookAheadRowForNextCursor() {
+    List<Integer> rows = IntStream.rangeClosed(1, 4).boxed().toList();
+
+    CursorPage<Integer> page =
+        KeysetCursor.page(rows, 3, value -> value, value -> new UUID(0, value));
+
+    assertThat(page.items()).containsExactly(1, 2, 3);
+    assertThat(page.hasNext()).isTrue();
+    KeysetCursor next = KeysetCursor.decode(page.nextCursor());
+    assertThat(next.key()).isEqualTo("3");
+    assertThat(next.id()).isEqualTo(new UUID(0, 3));
+  }
+
+  @Test
+  void lastPageHasNoCursor() {
+    CursorPage<Integer> page =
+        KeysetCursor.page(List.of(1, 2), 3, value -> value, value -> new UUID(0, value));
+
+    assertThat(page.hasNext()).isFalse();
+    assertThat(page.nextCursor()).isNull();
+  }
+}
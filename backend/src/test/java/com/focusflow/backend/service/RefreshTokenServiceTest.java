@@ -0,0 +1,103 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.entity.RefreshToken;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.RefreshTokenRepository;
+import com.focusflow.backend.service.RefreshTokenService.IssuedRefreshToken;
+import com.focusflow.backend.service.RefreshTokenService.Rotation;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Unit tests for refresh token issuance and rotation. Architecture: Service-layer
+ * test with a mocked repository. Why: Ensures tokens are stored hashed, rotate once, and that reuse
+ * revokes the whole family.
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+  @Mock private RefreshTokenRepository repository;
+
+  private RefreshTokenService service;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    service = new RefreshTokenService(repository, clock, 30);
+    user = new User(UUID.randomUUID(), "user@example.com", "hash");
+  }
+
+  @Test
+  void issueStoresDigestNotRawToken() {
+    IssuedRefreshToken issued = service.issue(user);
+
+    ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(repository).save(saved.capture());
+    assertThat(saved.getValue().getTokenHash()).hasSize(64).isNotEqualTo(issued.value());
+    assertThat(issued.expiresAt()).isEqualTo(NOW.plusSeconds(30L * 24 * 3600));
+  }
+
+  @Test
+  void rotateIssuesSuccessorInSameFamily() {
+    UUID familyId = UUID.randomUUID();
+    RefreshToken current =
+        new RefreshToken(UUID.randomUUID(), user, familyId, "h", 0, NOW.plusSeconds(60));
+    when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+    when(repository.markRotated(eq(current.getId()), any(), eq(NOW))).thenReturn(1);
+
+    Rotation rotation = service.rotate("raw");
+
+    assertThat(rotation.user()).isSameAs(user);
+    ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+    verify(repository).save(saved.capture());
+    assertThat(saved.getValue().getFamilyId()).isEqualTo(familyId);
+  }
+
+  @Test
+  void reusedTokenRevokesFamily() {
+    UUID familyId = UUID.randomUUID();
+    RefreshToken current =
+        new RefreshToken(UUID.randomUUID(), user, familyId, "h", 0, NOW.plusSeconds(60));
+    when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+    when(repository.markRotated(eq(current.getId()), any(), eq(NOW))).thenReturn(0);
+
+    assertThatThrownBy(() -> service.rotate("raw")).isInstanceOf(ResponseStatusException.class);
+
+    verify(repository).revokeFamily(familyId, NOW);
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void tokenFromOlderGenerationIsRejected() {
+    user.incrementTokenGeneration();
+    RefreshToken current =
+        new RefreshToken(UUID.randomUUID(), user, UUID.randomUUID(), "h", 0, NOW.plusSeconds(60));
+    when(repository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+
+    assertThatThrownBy(() -> service.rotate("raw")).isInstanceOf(ResponseStatusException.class);
+
+    verify(repository, never()).markRotated(any(), any(), any());
+  }
+}
@@ -0,0 +1,127 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.entity.Routine;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.RoutineRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Responsibility: Unit tests for the owner-scoped routine lookup cache. Architecture: Service-layer
+ * test with a mocked routine repository. Why: Ensures cached routines skip the database and that
+ * writes and other owners never see a stale or foreign entry.
+ */
+@ExtendWith(MockitoExtension.class)
+class RoutineLookupCacheTest {
+
+  @Mock private RoutineRepository routineRepository;
+
+  private final User owner = new User(UUID.randomUUID(), "user@example.com", "hash");
+  private final Routine routine = new Routine();
+  private RoutineLookupCache cache;
+
+  @BeforeEach
+  void setUp() {
+    Clock clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    cache = new RoutineLookupCache(routineRepository, clock, 60, 1000);
+    routine.setId(UUID.randomUUID());
+    routine.setOwner(owner);
+  }
+
+  @Test
+  void secondLookupUsesReferenceInsteadOfQuery() {
+    when(routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routine.getId(), owner))
+        .thenReturn(Optional.of(routine));
+    when(routineRepository.getReferenceById(routine.getId())).thenReturn(routine);
+
+    assertThat(cache.findLive(owner, routine.getId())).contains(routine);
+    assertThat(cache.findLive(owner, routine.getId())).contains(routine);
+
+    verify(routineRepository, times(1)).findByIdAndOwnerAndDeletedAtIsNull(any(), any());
+  }
+
+  @Test
+  void evictForcesReload() {
+    when(routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routine.getId(), owner))
+        .thenReturn(Optional.of(routine))
+        .thenReturn(Optional.empty());
+
+    cache.findLive(owner, routine.getId());
+    cache.evict(owner.getId(), routine.getId());
+
+    assertThat(cache.findLive(owner, routine.getId())).isEmpty();
+  }
+
+  @Test
+  void lookupDoesNotCacheARoutineEvictedWhileItsTransactionWasOpen() {
+    when(routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routine.getId(), owner))
+        .thenReturn(Optional.of(routine))
+        .thenReturn(Optional.empty());
+    TransactionSynchronizationManager.initSynchronization();
+    List<TransactionSynchronization> pending;
+    try {
+      cache.findLive(owner, routine.getId());
+      pending = TransactionSynchronizationManager.getSynchronizations();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // A concurrent request deletes the routine before the reading transaction commits.
+    cache.evict(owner.getId(), routine.getId());
+    pending.forEach(TransactionSynchronization::afterCommit);
+
+    assertThat(cache.findLive(owner, routine.getId())).isEmpty();
+  }
+
+  @Test
+  void entriesAreScopedToOwner() {
+    User other = new User(UUID.randomUUID(), "other@example.com", "hash");
+    when(routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routine.getId(), owner))
+        .thenReturn(Optional.of(routine));
+    when(routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routine.getId(), other))
+        .thenReturn(Optional.empty());
+
+    cache.findLive(owner, routine.getId());
+
+    assertThat(cache.findLive(other, routine.getId())).isEmpty();
+  }
+
+  @Test
+  void batchLookupQueriesOnlyMisses() {
+    Routine uncached = new Routine();
+    uncached.setId(UUID.randomUUID());
+    when(routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routine.getId(), owner))
+        .thenReturn(Optional.of(routine));
+    when(routineRepository.getReferenceById(routine.getId())).thenReturn(routine);
+    when(routineRepository.findByOwnerAndIdInAndDeletedAtIsNull(eq(owner), anyCollection()))
+        .thenReturn(List.of(uncached));
+
+    cache.findLive(owner, routine.getId());
+    Map<UUID, Routine> found = cache.findLive(owner, Set.of(routine.getId(), uncached.getId()));
+
+    assertThat(found).containsKeys(routine.getId(), uncached.getId());
+    verify(routineRepository)
+        .findByOwnerAndIdInAndDeletedAtIsNull(owner, List.of(uncached.getId()));
+  }
+}
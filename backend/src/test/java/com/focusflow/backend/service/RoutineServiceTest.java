@@ -2,19 +2,23 @@ package com.focusflow.backend.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.focusflow.backend.dto.RoutineRequest;
 import com.focusflow.backend.entity.Routine;
 import com.focusflow.backend.entity.User;
+import com.focusflow.backend.id.UuidV7Generator;
 import com.focusflow.backend.mapper.RoutineMapper;
 import com.focusflow.backend.mapper.ScheduleDaysMapper;
+import com.focusflow.backend.repository.CheckInRepository;
 import com.focusflow.backend.repository.RoutineRepository;
 import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,13 +28,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 /**
  * Responsibility: Unit tests for routine service business rules. Architecture: Service-layer test
- * verifying schedule bitmask mapping. Why: Ensures API schedule arrays map deterministically to
- * database storage.
+ * verifying schedule bitmask mapping and delete cascades. Why: Ensures API schedule arrays map
+ * deterministically to database storage and deleted routines leave no live check-ins.
  */
 @ExtendWith(MockitoExtension.class)
 class RoutineServiceTest {
 
   @Mock private RoutineRepository routineRepository;
+  @Mock private CheckInRepository checkInRepository;
 
   private RoutineService routineService;
   private Clock clock;
@@ -38,7 +43,14 @@ class RoutineServiceTest {
   @BeforeEach
   void setUp() {
     clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
-    routineService = new RoutineService(routineRepository, new RoutineMapper(), clock);
+    routineService =
+        new RoutineService(
+            routineRepository,
+            checkInRepository,
+            new RoutineMapper(),
+            new RoutineLookupCache(routineRepository, clock, 60, 1000),
+            new UuidV7Generator(clock),
+            clock);
     when(routineRepository.save(any(Routine.class)))
         .thenAnswer(invocation -> invocation.getArgument(0));
   }
@@ -54,4 +66,20 @@ class RoutineServiceTest {
     assertThat(routine.getScheduleDays()).isEqualTo(ScheduleDaysMapper.toMask(schedule));
     assertThat(routine.getServerUpdatedAt()).isEqualTo(Instant.now(clock));
   }
+
+  @Test
+  void deleteRoutineSoftDeletesItsCheckInsWithTheSameStamp() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+    Routine routine = new Routine();
+    routine.setId(UUID.randomUUID());
+    routine.setOwner(user);
+    when(routineRepository.findByIdAndOwnerAndDeletedAtIsNull(routine.getId(), user))
+        .thenReturn(Optional.of(routine));
+
+    routineService.deleteRoutine(user, routine.getId());
+
+    Instant now = Instant.now(clock);
+    assertThat(routine.getDeletedAt()).isEqualTo(now);
+    verify(checkInRepository).softDeleteByRoutine(user, routine.getId(), now, now);
+  }
 }
@@ -0,0 +1,164 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.config.ShardContext;
+import com.focusflow.backend.repository.AccountDeletionRepository;
+import com.focusflow.backend.repository.AccountDeletionRepository.PurgeTable;
+import com.focusflow.backend.repository.ShardTransferRepository;
+import com.focusflow.backend.repository.UserShardRepository;
+import com.focusflow.backend.repository.UserShardRepository.Placement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Responsibility: Unit tests for moving users between shards. Architecture: Service-layer test with
+ * mocked placement, transfer and purge repositories. Why: Ensures misplaced users are copied to
+ * their ring shard before the placement flips, and that the source is cleaned up afterwards.
+ */
+class ShardRebalanceServiceTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneOffset.UTC);
+  private UserShardRepository userShardRepository;
+  private ShardTransferRepository transferRepository;
+  private AccountDeletionRepository accountDeletionRepository;
+  private UserShardResolver resolver;
+  private ShardRebalanceService rebalanceService;
+
+  @BeforeEach
+  void setUp() {
+    userShardRepository = mock(UserShardRepository.class);
+    transferRepository = mock(ShardTransferRepository.class);
+    accountDeletionRepository = mock(AccountDeletionRepository.class);
+    resolver =
+        new UserShardResolver(
+            userShardRepository, clock, true, List.of("jdbc:shard1", "jdbc:shard2"), 64, 0, 10, 5);
+    rebalanceService =
+        new ShardRebalanceService(
+            resolver,
+            userShardRepository,
+            transferRepository,
+            accountDeletionRepository,
+            new SimpleMeterRegistry(),
+            clock,
+            true,
+            100,
+            10,
+            500,
+            300,
+            0);
+    when(userShardRepository.claimStaleMoves(any(), any(), anyInt())).thenReturn(List.of());
+    when(transferRepository.readBatch(any(), any(), any(), anyInt())).thenReturn(List.of());
+    when(accountDeletionRepository.purgeBatch(any(), any(), any(), anyInt()))
+        .thenReturn(Optional.empty());
+    when(userShardRepository.completeMove(any(), anyInt())).thenReturn(true);
+  }
+
+  @Test
+  void copiesMisplacedUserToRingShardThenPurgesSource() {
+    UUID userId = userOnShard(2);
+    PurgeTable routines = table("routines");
+    Map<String, Object> row = Map.of("id", UUID.randomUUID(), "user_id", userId);
+    when(userShardRepository.findPlacementsAfter(null, 100))
+        .thenReturn(List.of(new Placement(userId, 0, null)));
+    when(userShardRepository.markMoving(userId, 0, 2, clock.instant())).thenReturn(true);
+    when(transferRepository.readBatch(eq(routines), eq(userId), any(), anyInt()))
+        .thenAnswer(
+            invocation ->
+                Integer.valueOf(0).equals(ShardContext.current()) ? List.of(row) : List.of());
+    List<String> events = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              events.add("insert " + ShardContext.current());
+              return 1;
+            })
+        .when(transferRepository)
+        .insertRows(routines, List.of(row));
+    doAnswer(
+            invocation -> {
+              events.add("complete");
+              return true;
+            })
+        .when(userShardRepository)
+        .completeMove(userId, 2);
+    doAnswer(
+            invocation -> {
+              events.add("purge " + ShardContext.current());
+              return Optional.empty();
+            })
+        .when(accountDeletionRepository)
+        .purgeBatch(eq(routines), eq(userId), any(), anyInt());
+
+    rebalanceService.rebalance();
+
+    verify(userShardRepository).insertUserMirror(userId, clock.instant());
+    // Leftovers on the target are cleared first; the directory source is purged after the flip.
+    assertThat(events).containsExactly("purge 2", "insert 2", "complete", "purge 0");
+    verify(userShardRepository, never()).deleteUserMirror(userId);
+  }
+
+  @Test
+  void leavesCorrectlyPlacedUsersAlone() {
+    UUID userId = userOnShard(1);
+    when(userShardRepository.findPlacementsAfter(null, 100))
+        .thenReturn(List.of(new Placement(userId, 1, null)));
+
+    rebalanceService.rebalance();
+
+    verify(userShardRepository, never()).markMoving(any(), anyInt(), anyInt(), any());
+    verify(userShardRepository, never()).completeMove(any(), anyInt());
+  }
+
+  @Test
+  void resumesStaleMovesAndRemovesSourceMirror() {
+    UUID userId = userOnShard(2);
+    when(userShardRepository.claimStaleMoves(any(), any(), anyInt()))
+        .thenReturn(List.of(new Placement(userId, 1, 2)));
+    when(userShardRepository.findPlacementsAfter(null, 100)).thenReturn(List.of());
+    List<Integer> mirrorDeletedOn = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              mirrorDeletedOn.add(ShardContext.current());
+              return null;
+            })
+        .when(userShardRepository)
+        .deleteUserMirror(userId);
+
+    rebalanceService.rebalance();
+
+    verify(userShardRepository).completeMove(userId, 2);
+    assertThat(mirrorDeletedOn).containsExactly(1);
+  }
+
+  private UUID userOnShard(int shard) {
+    UUID userId;
+    do {
+      userId = UUID.randomUUID();
+    } while (resolver.targetShard(userId) != shard);
+    return userId;
+  }
+
+  private static PurgeTable table(String name) {
+    return AccountDeletionRepository.PURGE_ORDER.stream()
+        .filter(table -> table.name().equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,62 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Unit tests for listing sort allow-lists. Architecture: Service-layer test over
+ * plain Pageables. Why: Ensures only index-backed orderings reach the repositories and that page
+ * sizes stay capped.
+ */
+class SortAllowListTest {
+
+  private final SortAllowList sorts = SortAllowList.of(Direction.DESC, "createdAt", "targetDate");
+
+  @Test
+  void unsortedRequestsGetTheDefaultOrderWithIdTieBreaker() {
+    Pageable applied = sorts.apply(PageRequest.of(2, 30));
+
+    assertThat(applied.getPageNumber()).isEqualTo(2);
+    assertThat(applied.getPageSize()).isEqualTo(30);
+    assertThat(applied.getSort()).isEqualTo(Sort.by(Direction.DESC, "createdAt", "id"));
+  }
+
+  @Test
+  void allowedSortKeepsItsDirectionForBothKeys() {
+    Pageable applied = sorts.apply(PageRequest.of(0, 20, Sort.by("targetDate").ascending()));
+
+    assertThat(applied.getSort()).isEqualTo(Sort.by(Direction.ASC, "targetDate", "id"));
+  }
+
+  @Test
+  void caseInsensitiveVariantIsReducedToThePlainOrder() {
+    Pageable applied =
+        sorts.apply(
+            PageRequest.of(0, 20, Sort.by(Sort.Order.desc("targetDate").ignoreCase().nullsLast())));
+
+    assertThat(applied.getSort()).isEqualTo(Sort.by(Direction.DESC, "targetDate", "id"));
+  }
+
+  @Test
+  void rejectsUnindexedAndCompoundSorts() {
+    assertThatThrownBy(() -> sorts.apply(PageRequest.of(0, 20, Sort.by("description"))))
+        .isInstanceOf(ResponseStatusException.class)
+        .hasMessageContaining("createdAt, targetDate");
+    assertThatThrownBy(() -> sorts.apply(PageRequest.of(0, 20, Sort.by("targetDate", "title"))))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void capsPageSizeAndPagesUnpagedRequests() {
+    assertThat(sorts.apply(PageRequest.of(0, 5000)).getPageSize()).isEqualTo(KeysetCursor.MAX_SIZE);
+    assertThat(sorts.apply(Pageable.unpaged()).getPageSize())
+        .isEqualTo(SortAllowList.DEFAULT_PAGE_SIZE);
+  }
+}
@@ -0,0 +1,91 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.focusflow.backend.dto.GoalResponse;
+import com.focusflow.backend.dto.GoalSyncRequest;
+import com.focusflow.backend.dto.SyncConflict;
+import com.focusflow.backend.dto.SyncConflictEvent;
+import com.focusflow.backend.entity.GoalStatus;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.repository.SyncConflictLogRepository;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Unit tests for sync conflict telemetry buffering. Architecture: Service-layer
+ * test with a mocked conflict log repository. Why: Ensures conflicts are flushed in batches with
+ * the fields that actually diverged.
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncConflictTelemetryServiceTest {
+
+  @Mock private SyncConflictLogRepository repository;
+  @Captor private ArgumentCaptor<List<SyncConflictEvent>> eventsCaptor;
+
+  private SyncConflictTelemetryService telemetryService;
+  private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    telemetryService =
+        new SyncConflictTelemetryService(
+            repository,
+            objectMapper,
+            Clock.fixed(now, ZoneOffset.UTC),
+            100,
+            50,
+            30,
+            Set.of("ops@example.com"));
+  }
+
+  @Test
+  void flushWritesBufferedConflictsWithDivergingFields() {
+    UUID userId = UUID.randomUUID();
+    UUID goalId = UUID.randomUUID();
+    GoalResponse server =
+        new GoalResponse(
+            goalId, "Server title", null, null, GoalStatus.ACTIVE, null, now, now, now, now, null);
+    GoalSyncRequest client =
+        new GoalSyncRequest(
+            goalId, "Client title", null, null, GoalStatus.ACTIVE, null, now.minusSeconds(5), null);
+
+    telemetryService.record(
+        userId,
+        "ios-2.3.1",
+        List.of(new SyncConflict("GOAL", goalId, "SERVER_NEWER", server, client)));
+    telemetryService.flush();
+
+    verify(repository).insertBatch(eventsCaptor.capture());
+    SyncConflictEvent event = eventsCaptor.getValue().get(0);
+    assertThat(event.userId()).isEqualTo(userId);
+    assertThat(event.fields()).isEqualTo("title");
+    assertThat(event.clientVersion()).isEqualTo("ios-2.3.1");
+    assertThat(event.occurredAt()).isEqualTo(now);
+  }
+
+  @Test
+  void reportIsRestrictedToConfiguredAdmins() {
+    User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+
+    assertThatThrownBy(() -> telemetryService.report(user, null, null))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+}
@@ -0,0 +1,75 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Responsibility: Unit tests for sync pacing hints and load shedding. Architecture: Service-layer
+ * test using a mocked connection pool. Why: Ensures hints track user activity and that saturated
+ * pools reject sync with a retry delay.
+ */
+class SyncPacingServiceTest {
+
+  private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+  private final Clock clock = Clock.fixed(now, ZoneOffset.UTC);
+  private HikariPoolMXBean pool;
+  private SyncPacingService pacingService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    pool = mock(HikariPoolMXBean.class);
+    HikariDataSource hikari = mock(HikariDataSource.class);
+    when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+    when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+    when(pool.getTotalConnections()).thenReturn(10);
+    pacingService = new SyncPacingService(dataSource, clock, 30, 900, 0.9, 15, 1000);
+  }
+
+  @Test
+  void activeUsersGetMinimumIntervalAndIdleUsersBackOff() {
+    UUID active = UUID.randomUUID();
+    UUID idle = UUID.randomUUID();
+
+    assertThat(pacingService.nextSyncAfter(active, true)).isEqualTo(now.plusSeconds(30));
+    assertThat(pacingService.nextSyncAfter(idle, false)).isEqualTo(now.plusSeconds(225));
+  }
+
+  @Test
+  void connectionQueueStretchesHintsAndRejectsWhenOverloaded() {
+    UUID user = UUID.randomUUID();
+    when(pool.getThreadsAwaitingConnection()).thenReturn(5);
+
+    assertThat(pacingService.nextSyncAfter(user, true)).isEqualTo(now.plus(Duration.ofSeconds(75)));
+
+    when(pool.getThreadsAwaitingConnection()).thenReturn(10);
+    assertThatThrownBy(() -> pacingService.ensureCapacity())
+        .isInstanceOf(ServiceOverloadedException.class)
+        .extracting("retryAfterSeconds")
+        .isEqualTo(15L);
+  }
+
+  @Test
+  void busyConnectionsWithoutQueueingDoNotShedSync() {
+    when(pool.getActiveConnections()).thenReturn(9);
+    when(pool.getThreadsAwaitingConnection()).thenReturn(0);
+
+    pacingService.ensureCapacity();
+    assertThat(pacingService.nextSyncAfter(UUID.randomUUID(), true)).isEqualTo(now.plusSeconds(30));
+  }
+}
@@ -0,0 +1,89 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.focusflow.backend.dto.SyncPullResponse;
+import com.focusflow.backend.dto.SyncScope;
+import com.focusflow.backend.entity.User;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Responsibility: Unit tests for single-flight sync pull coalescing. Architecture: Service-layer
+ * test with a mocked SyncService. Why: Ensures concurrent identical pulls share one execution and
+ * that pushes evict shared results.
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncPullCoalescerTest {
+
+  @Mock private SyncService syncService;
+
+  private SyncPullCoalescer coalescer;
+  private final User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+  private final SyncPullResponse response =
+      new SyncPullResponse(
+          List.of(),
+          List.of(),
+          List.of(),
+          List.of(),
+          Instant.EPOCH,
+          Instant.EPOCH,
+          SyncScope.all());
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    coalescer = new SyncPullCoalescer(syncService, objectMapper, 60_000);
+  }
+
+  @Test
+  void concurrentIdenticalPullsShareOneExecution() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(syncService.pull(eq(user), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              entered.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return response;
+            });
+
+    CompletableFuture<byte[]> leader =
+        CompletableFuture.supplyAsync(() -> coalescer.pull(user, null, SyncScope.all()));
+    assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<byte[]> follower =
+        CompletableFuture.supplyAsync(() -> coalescer.pull(user, null, SyncScope.all()));
+    release.countDown();
+
+    assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+    verify(syncService, times(1)).pull(eq(user), any(), any());
+  }
+
+  @Test
+  void evictForcesFreshExecution() {
+    when(syncService.pull(eq(user), any(), any())).thenReturn(response);
+
+    coalescer.pull(user, null, SyncScope.all());
+    coalescer.pull(user, null, SyncScope.all());
+    coalescer.evict(user.getId());
+    coalescer.pull(user, null, SyncScope.all());
+
+    verify(syncService, times(2)).pull(eq(user), any(), any());
+  }
+}
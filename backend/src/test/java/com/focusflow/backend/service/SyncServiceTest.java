@@ -0,0 +1,283 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.dto.CheckInResponse;
+import com.focusflow.backend.dto.CheckInSyncRequest;
+import com.focusflow.backend.dto.GoalSyncRequest;
+import com.focusflow.backend.dto.JobApplicationSyncRequest;
+import com.focusflow.backend.dto.RoutineSyncRequest;
+import com.focusflow.backend.dto.SyncConflict;
+import com.focusflow.backend.dto.SyncEntityType;
+import com.focusflow.backend.dto.SyncPullResponse;
+import com.focusflow.backend.dto.SyncPushRequest;
+import com.focusflow.backend.dto.SyncPushResponse;
+import com.focusflow.backend.dto.SyncScope;
+import com.focusflow.backend.entity.CheckIn;
+import com.focusflow.backend.entity.GoalStatus;
+import com.focusflow.backend.entity.JobApplicationSource;
+import com.focusflow.backend.entity.JobApplicationStatus;
+import com.focusflow.backend.entity.Routine;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.mapper.CheckInMapper;
+import com.focusflow.backend.mapper.GoalMapper;
+import com.focusflow.backend.mapper.JobApplicationMapper;
+import com.focusflow.backend.mapper.RoutineMapper;
+import com.focusflow.backend.repository.CheckInRepository;
+import com.focusflow.backend.repository.GoalRepository;
+import com.focusflow.backend.repository.JobApplicationRepository;
+import com.focusflow.backend.repository.RoutineRepository;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Responsibility: Unit tests for sync push and pull rules. Architecture: Service-layer test with
+ * mocked repositories and real mappers. Why: Ensures scoped pulls query only what the scope asks
+ * for without leaving scoped clients holding stale rows, and that archived days stay consistent.
+ */
+class SyncServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+  private static final Instant SINCE = Instant.parse("2024-05-01T00:00:00Z");
+  private static final LocalDate FROM = LocalDate.of(2024, 5, 1);
+  private static final LocalDate TO = LocalDate.of(2024, 5, 31);
+
+  private final User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+  private GoalRepository goalRepository;
+  private RoutineRepository routineRepository;
+  private CheckInRepository checkInRepository;
+  private JobApplicationRepository jobApplicationRepository;
+  private CheckInArchiveService checkInArchiveService;
+  private SyncService syncService;
+
+  @BeforeEach
+  void setUp() {
+    goalRepository = mock(GoalRepository.class);
+    routineRepository = mock(RoutineRepository.class);
+    checkInRepository = mock(CheckInRepository.class);
+    jobApplicationRepository = mock(JobApplicationRepository.class);
+    checkInArchiveService = mock(CheckInArchiveService.class);
+    Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    syncService =
+        new SyncService(
+            goalRepository,
+            routineRepository,
+            checkInRepository,
+            jobApplicationRepository,
+            new GoalMapper(),
+            new RoutineMapper(),
+            new CheckInMapper(),
+            new JobApplicationMapper(),
+            new RoutineLookupCache(routineRepository, clock, 60, 1000),
+            mock(SyncPacingService.class),
+            checkInArchiveService,
+            clock,
+            false);
+  }
+
+  @Test
+  void typesLimitWhichEntitiesArePulled() {
+    SyncPullResponse response =
+        syncService.pull(user, SINCE, SyncScope.of(EnumSet.of(SyncEntityType.ROUTINE), null, null));
+
+    assertThat(response.scope().types()).containsExactly(SyncEntityType.ROUTINE);
+    verify(routineRepository).findByOwnerAndServerUpdatedAtGreaterThanEqual(user, SINCE);
+    verifyNoInteractions(goalRepository, checkInRepository, jobApplicationRepository);
+  }
+
+  @Test
+  void checkInsFromAloneLeavesTheWindowOpenAtTheEnd() {
+    syncService.pull(user, null, SyncScope.of(EnumSet.of(SyncEntityType.CHECK_IN), FROM, null));
+
+    verify(checkInRepository)
+        .findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(
+            user, FROM, CheckIn.MAX_DATE, Instant.EPOCH);
+  }
+
+  @Test
+  void checkInsToAloneLeavesTheWindowOpenAtTheStart() {
+    syncService.pull(user, null, SyncScope.of(EnumSet.of(SyncEntityType.CHECK_IN), null, TO));
+
+    verify(checkInRepository)
+        .findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(
+            user, CheckIn.MIN_DATE, TO, Instant.EPOCH);
+  }
+
+  @Test
+  void initialWindowedPullReturnsOnlyTheWindow() {
+    syncService.pull(user, null, SyncScope.of(EnumSet.of(SyncEntityType.CHECK_IN), FROM, TO));
+
+    verify(checkInRepository)
+        .findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(user, FROM, TO, Instant.EPOCH);
+    verify(checkInRepository, never()).findChangedOutsideWindow(any(), any(), any(), any());
+  }
+
+  @Test
+  void incrementalWindowedPullAlsoReturnsRowsThatLeftTheWindow() {
+    CheckIn inside = checkIn(LocalDate.of(2024, 5, 10), null);
+    CheckIn movedOut = checkIn(LocalDate.of(2024, 7, 1), null);
+    CheckIn deletedOutside = checkIn(LocalDate.of(2024, 4, 2), NOW);
+    when(checkInRepository.findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(
+            user, FROM, TO, SINCE))
+        .thenReturn(List.of(inside));
+    when(checkInRepository.findChangedOutsideWindow(user, FROM, TO, SINCE))
+        .thenReturn(List.of(movedOut, deletedOutside));
+
+    SyncPullResponse response =
+        syncService.pull(user, SINCE, SyncScope.of(EnumSet.of(SyncEntityType.CHECK_IN), FROM, TO));
+
+    assertThat(response.checkIns())
+        .extracting(CheckInResponse::id)
+        .containsExactly(inside.getId(), movedOut.getId(), deletedOutside.getId());
+    assertThat(response.scope().checkInsFrom()).isEqualTo(FROM);
+    assertThat(response.scope().checkInsTo()).isEqualTo(TO);
+  }
+
+  @Test
+  void checkInWindowStartsNoEarlierThanTheArchiveHorizon() {
+    LocalDate horizon = LocalDate.of(2023, 6, 1);
+    when(checkInArchiveService.liveHorizon()).thenReturn(horizon);
+
+    SyncPullResponse full = syncService.pull(user, null, SyncScope.all());
+    SyncPullResponse later =
+        syncService.pull(user, null, SyncScope.of(EnumSet.of(SyncEntityType.CHECK_IN), FROM, TO));
+
+    verify(checkInRepository)
+        .findByOwnerAndDateBetweenAndServerUpdatedAtGreaterThanEqual(
+            user, horizon, CheckIn.MAX_DATE, Instant.EPOCH);
+    verify(checkInRepository, never()).findByOwnerAndServerUpdatedAtGreaterThanEqual(any(), any());
+    assertThat(full.scope().checkInsFrom()).isEqualTo(horizon);
+    assertThat(later.scope().checkInsFrom()).isEqualTo(FROM);
+  }
+
+  @Test
+  void deletingACheckInFoldedIntoTheArchiveClearsItsDay() {
+    UUID routineId = UUID.randomUUID();
+    LocalDate date = LocalDate.of(2022, 3, 4);
+
+    SyncPushResponse response =
+        syncService.push(
+            user,
+            new SyncPushRequest(
+                List.of(),
+                List.of(),
+                List.of(
+                    new CheckInSyncRequest(
+                        UUID.randomUUID(), routineId, date, true, null, NOW, NOW)),
+                List.of()));
+
+    verify(checkInArchiveService).forgetArchivedDay(user, routineId, date);
+    verify(checkInRepository, never()).save(any());
+    assertThat(response.conflicts()).isEmpty();
+  }
+
+  @Test
+  void rejectsAWindowThatEndsBeforeItStarts() {
+    assertThatThrownBy(
+            () ->
+                syncService.pull(
+                    user, SINCE, SyncScope.of(EnumSet.of(SyncEntityType.CHECK_IN), TO, FROM)))
+        .isInstanceOf(ResponseStatusException.class);
+  }
+
+  @Test
+  void pushRefusesIdsHeldByAnotherAccountWithOneLookupPerType() {
+    UUID goalId = UUID.randomUUID();
+    UUID routineId = UUID.randomUUID();
+    UUID applicationId = UUID.randomUUID();
+    when(goalRepository.findIdsOwnedByOthers(user, Set.of(goalId))).thenReturn(Set.of(goalId));
+    when(routineRepository.findIdsOwnedByOthers(user, Set.of(routineId)))
+        .thenReturn(Set.of(routineId));
+    when(jobApplicationRepository.findIdsOwnedByOthers(user, Set.of(applicationId)))
+        .thenReturn(Set.of(applicationId));
+    SyncPushRequest request =
+        new SyncPushRequest(
+            List.of(
+                new GoalSyncRequest(
+                    goalId, "Focus", null, null, GoalStatus.ACTIVE, null, NOW, null)),
+            List.of(
+                new RoutineSyncRequest(
+                    routineId, "Run", null, List.of(DayOfWeek.MONDAY), true, NOW, null)),
+            List.of(),
+            List.of(
+                new JobApplicationSyncRequest(
+                    applicationId,
+                    "Acme",
+                    "Engineer",
+                    null,
+                    JobApplicationSource.OTHER,
+                    JobApplicationStatus.APPLIED,
+                    null,
+                    null,
+                    null,
+                    NOW,
+                    null)));
+
+    SyncPushResponse response = syncService.push(user, request);
+
+    assertThat(response.conflicts())
+        .extracting(SyncConflict::id, SyncConflict::reason)
+        .containsExactly(
+            tuple(goalId, "INVALID_ID"),
+            tuple(routineId, "INVALID_ID"),
+            tuple(applicationId, "INVALID_ID"));
+    verify(goalRepository, never()).save(any());
+    verify(routineRepository, never()).save(any());
+    verify(jobApplicationRepository, never()).save(any());
+    verify(goalRepository, times(1)).findIdsOwnedByOthers(any(), any());
+  }
+
+  @Test
+  void pushSkipsTheOwnershipLookupWhenEveryIdIsKnown() {
+    Routine routine = checkIn(FROM, null).getRoutine();
+    routine.setServerUpdatedAt(SINCE);
+    when(routineRepository.findByOwnerAndIdIn(user, Set.of(routine.getId())))
+        .thenReturn(List.of(routine));
+    when(routineRepository.save(any(Routine.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    syncService.push(
+        user,
+        new SyncPushRequest(
+            List.of(),
+            List.of(
+                new RoutineSyncRequest(
+                    routine.getId(), "Run", null, List.of(DayOfWeek.MONDAY), true, NOW, null)),
+            List.of(),
+            List.of()));
+
+    verify(routineRepository, never()).findIdsOwnedByOthers(any(), any());
+  }
+
+  private CheckIn checkIn(LocalDate date, Instant deletedAt) {
+    Routine routine = new Routine();
+    routine.setId(UUID.randomUUID());
+    routine.setOwner(user);
+    CheckIn checkIn = new CheckIn();
+    checkIn.setId(UUID.randomUUID());
+    checkIn.setOwner(user);
+    checkIn.setRoutine(routine);
+    checkIn.setDate(date);
+    checkIn.setDeletedAt(deletedAt);
+    return checkIn;
+  }
+}
@@ -0,0 +1,173 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.focusflow.backend.dto.ExportFormat;
+import com.focusflow.backend.entity.User;
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import com.focusflow.backend.repository.UserExportRepository;
+import com.focusflow.backend.repository.UserShardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Responsibility: Unit tests for streaming account exports. Architecture: Service-layer test with a
+ * mocked export repository feeding fake result sets. Why: Ensures every table becomes one file in
+ * the ZIP, values are escaped correctly, and concurrent exports are capped without leaking slots.
+ */
+class UserExportServiceTest {
+
+  private final User user = new User(UUID.randomUUID(), "user@example.com", "hash");
+  private UserExportRepository repository;
+  private UserExportService exportService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    repository = mock(UserExportRepository.class);
+    UserShardResolver resolver =
+        new UserShardResolver(
+            mock(UserShardRepository.class), Clock.systemUTC(), false, List.of(), 64, 30, 1000, 5);
+    exportService =
+        new UserExportService(
+            repository,
+            resolver,
+            mock(PlatformTransactionManager.class),
+            new ObjectMapper(),
+            new SimpleMeterRegistry(),
+            1,
+            60);
+    doAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(2).extractData(empty()))
+        .when(repository)
+        .stream(any(), eq(user.getId()), any());
+    Map<String, Object> goal = new LinkedHashMap<>();
+    goal.put("id", UUID.fromString("00000000-0000-0000-0000-000000000001"));
+    goal.put("title", "Run, \"fast\"");
+    goal.put("target_date", null);
+    goal.put("created_at", Timestamp.from(Instant.parse("2024-01-02T03:04:05Z")));
+    doAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(2).extractData(rows(goal)))
+        .when(repository)
+        .stream(eq(UserExportRepository.TABLES.get(0)), eq(user.getId()), any());
+  }
+
+  @Test
+  void csvExportHasOneEscapedFilePerTable() throws Exception {
+    Map<String, String> files = unzip(export(ExportFormat.CSV));
+
+    assertThat(files.keySet())
+        .containsExactly(
+            "goals.csv",
+            "routines.csv",
+            "check_ins.csv",
+            "archived_check_ins.csv",
+            "job_applications.csv");
+    assertThat(files.get("goals.csv"))
+        .isEqualTo(
+            "id,title,target_date,created_at\r\n"
+                + "00000000-0000-0000-0000-000000000001,\"Run, \"\"fast\"\"\",,"
+                + "2024-01-02T03:04:05Z\r\n");
+  }
+
+  @Test
+  void ndjsonExportWritesOneObjectPerLine() throws Exception {
+    String goals = unzip(export(ExportFormat.NDJSON)).get("goals.ndjson");
+
+    assertThat(goals).endsWith("\n").doesNotContain("\n\n");
+    JsonNode row = new ObjectMapper().readTree(goals.trim());
+    assertThat(row.get("title").asText()).isEqualTo("Run, \"fast\"");
+    assertThat(row.get("target_date").isNull()).isTrue();
+    assertThat(row.get("created_at").asText()).isEqualTo("2024-01-02T03:04:05Z");
+  }
+
+  @Test
+  void rejectsExportsBeyondTheConcurrencyLimitUntilOneFinishes() throws Exception {
+    UserExportService.UserExport running = exportService.open(user, ExportFormat.CSV);
+
+    assertThatThrownBy(() -> exportService.open(user, ExportFormat.CSV))
+        .isInstanceOf(ServiceOverloadedException.class);
+
+    running.writeTo(new ByteArrayOutputStream());
+    assertThat(exportService.open(user, ExportFormat.CSV)).isNotNull();
+  }
+
+  @Test
+  void abandoningAnUnwrittenExportFreesItsSlotOnce() throws Exception {
+    UserExportService.UserExport abandoned = exportService.open(user, ExportFormat.CSV);
+
+    abandoned.abandon();
+    abandoned.abandon();
+    UserExportService.UserExport next = exportService.open(user, ExportFormat.CSV);
+
+    assertThatThrownBy(() -> exportService.open(user, ExportFormat.CSV))
+        .isInstanceOf(ServiceOverloadedException.class);
+    assertThatThrownBy(() -> abandoned.writeTo(new ByteArrayOutputStream()))
+        .isInstanceOf(IllegalStateException.class);
+    next.writeTo(new ByteArrayOutputStream());
+    next.abandon();
+    assertThat(exportService.open(user, ExportFormat.CSV)).isNotNull();
+  }
+
+  private byte[] export(ExportFormat format) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exportService.open(user, format).writeTo(out);
+    return out.toByteArray();
+  }
+
+  private static Map<String, String> unzip(byte[] zip) throws Exception {
+    Map<String, String> files = new LinkedHashMap<>();
+    try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+      ZipEntry entry;
+      while ((entry = in.getNextEntry()) != null) {
+        files.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    return files;
+  }
+
+  private static ResultSet empty() throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    ResultSetMetaData meta = mock(ResultSetMetaData.class);
+    when(rs.getMetaData()).thenReturn(meta);
+    when(meta.getColumnCount()).thenReturn(0);
+    return rs;
+  }
+
+  /** A one-row result set with the given columns in order. */
+  private static ResultSet rows(Map<String, Object> row) throws Exception {
+    ResultSet rs = mock(ResultSet.class);
+    ResultSetMetaData meta = mock(ResultSetMetaData.class);
+    List<String> columns = List.copyOf(row.keySet());
+    when(rs.getMetaData()).thenReturn(meta);
+    when(meta.getColumnCount()).thenReturn(columns.size());
+    for (int i = 0; i < columns.size(); i++) {
+      when(meta.getColumnLabel(i + 1)).thenReturn(columns.get(i));
+      when(rs.getObject(i + 1)).thenReturn(row.get(columns.get(i)));
+    }
+    when(rs.next()).thenReturn(true, false);
+    return rs;
+  }
+}
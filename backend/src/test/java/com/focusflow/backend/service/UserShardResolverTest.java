@@ -0,0 +1,110 @@
+package com.focusflow.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.focusflow.backend.config.ShardContext;
+import com.focusflow.backend.exception.ServiceOverloadedException;
+import com.focusflow.backend.repository.UserShardRepository;
+import com.focusflow.backend.repository.UserShardRepository.Placement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Responsibility: Unit tests for user placement lookup and shard-scoped execution. Architecture:
+ * Service-layer test with a mocked placement repository. Why: Ensures placements are cached, moving
+ * users are refused and new users are placed with a stand-in row on their shard.
+ */
+class UserShardResolverTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2024-03-01T12:00:00Z"), ZoneOffset.UTC);
+  private UserShardRepository repository;
+  private UserShardResolver resolver;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(UserShardRepository.class);
+    resolver =
+        new UserShardResolver(
+            repository, clock, true, List.of("jdbc:shard1", "jdbc:shard2"), 64, 30, 1000, 5);
+  }
+
+  @Test
+  void unplacedUsersLiveOnTheDirectoryAndLookupsAreCached() {
+    UUID userId = UUID.randomUUID();
+    when(repository.find(userId)).thenReturn(Optional.empty());
+
+    assertThat(resolver.shardFor(userId)).isZero();
+    assertThat(resolver.shardFor(userId)).isZero();
+    verify(repository, times(1)).find(userId);
+
+    resolver.invalidate(userId);
+    resolver.shardFor(userId);
+    verify(repository, times(2)).find(userId);
+  }
+
+  @Test
+  void movingUsersAreAskedToRetry() {
+    UUID userId = UUID.randomUUID();
+    when(repository.find(userId)).thenReturn(Optional.of(new Placement(userId, 0, 2)));
+
+    assertThatThrownBy(() -> resolver.shardFor(userId))
+        .isInstanceOf(ServiceOverloadedException.class)
+        .extracting(ex -> ((ServiceOverloadedException) ex).getRetryAfterSeconds())
+        .isEqualTo(5L);
+  }
+
+  @Test
+  void newUsersArePlacedOnTheirRingShardWithAMirrorRow() {
+    UUID userId = userOnShard(2);
+    AtomicReference<Integer> mirrorShard = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              mirrorShard.set(ShardContext.current());
+              return null;
+            })
+        .when(repository)
+        .insertUserMirror(userId, clock.instant());
+
+    resolver.assignNewUser(userId);
+
+    assertThat(mirrorShard.get()).isEqualTo(2);
+    verify(repository).assign(userId, 2);
+    assertThat(ShardContext.current()).isNull();
+  }
+
+  @Test
+  void disabledResolverRunsEverythingOnTheDirectory() {
+    UserShardResolver disabled =
+        new UserShardResolver(repository, clock, false, List.of("jdbc:shard1"), 64, 30, 1000, 5);
+    UUID userId = UUID.randomUUID();
+
+    disabled.assignNewUser(userId);
+
+    assertThat(disabled.shardIds()).containsExactly(0);
+    assertThat(disabled.shardFor(userId)).isZero();
+    assertThat(disabled.callOnShard(0, ShardContext::current)).isNull();
+    verify(repository, never()).assign(userId, 0);
+  }
+
+  private UUID userOnShard(int shard) {
+    UUID userId;
+    do {
+      userId = UUID.randomUUID();
+    } while (resolver.targetShard(userId) != shard);
+    return userId;
+  }
+}
@@ -62,7 +62,7 @@ class ApplicationRepositoryImpl implements ApplicationRepository {
   }) async {
     final now = DateTime.now().toUtc();
     final application = Application(
-      id: _uuid.v4(),
+      id: _uuid.v7(),
       company: company,
       role: role,
       source: source,
@@ -61,7 +61,7 @@ class GoalRepositoryImpl implements GoalRepository {
   }) async {
     final now = DateTime.now().toUtc();
     final goal = Goal(
-      id: _uuid.v4(),
+      id: _uuid.v7(),
       title: title,
       description: description,
       status: status,
@@ -97,7 +97,7 @@ class RoutineRepositoryImpl implements RoutineRepository {
     if (isCompleted) {
       if (existing == null) {
         final completion = RoutineCompletion(
-          id: _uuid.v4(),
+          id: _uuid.v7(),
           routineId: routineId,
           date: day,
           completedAt: now,
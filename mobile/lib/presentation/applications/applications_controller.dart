@@ -72,7 +72,7 @@ class ApplicationsController
   }) async {
     final now = DateTime.now().toUtc();
     final application = Application(
-      id: _uuid.v4(),
+      id: _uuid.v7(),
       company: company,
       role: role,
       source: source,
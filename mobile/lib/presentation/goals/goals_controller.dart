@@ -53,7 +53,7 @@ class GoalsController extends StateNotifier<AsyncValue<GoalsViewState>> {
   }) async {
     final now = DateTime.now().toUtc();
     final goal = Goal(
-      id: _uuid.v4(),
+      id: _uuid.v7(),
       title: title,
       description: description,
       status: status,
@@ -65,7 +65,7 @@ class RoutinesController
   }) async {
     final now = DateTime.now().toUtc();
     final routine = Routine(
-      id: _uuid.v4(),
+      id: _uuid.v7(),
       title: title,
       notes: notes,
       activeDays: activeDays,